@@ -0,0 +1,151 @@
+package io.huskit.common.concurrent;
+
+import io.huskit.common.function.MemoizedSupplier;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for blocking I/O, like socket reads or reading process output, that should not run
+ * on {@link java.util.concurrent.ForkJoinPool#commonPool()}, which is sized to CPU count and shared with
+ * build tools and user code.
+ * <p>
+ * On Java 21+ virtual thread per task executor is used. Library targets Java 11, so it is looked up reflectively.
+ * On older versions a cached pool of daemon threads is used, bounded by {@code maxThreads}, with extra tasks queued.
+ * <p>
+ * Bounded pool is meant for short calls only. Tasks that block for as long as stream is open, like log follows,
+ * event subscriptions or process output readers, run on {@link #streams()}, so that they cannot take every thread
+ * of bounded pool and leave short calls waiting in its queue.
+ */
+public final class IoExecutors {
+
+    private static final int DEFAULT_MAX_THREADS = 64;
+    private static final MemoizedSupplier<ExecutorService> SHARED = MemoizedSupplier.of(
+            () -> newExecutor("huskit-io", DEFAULT_MAX_THREADS)
+    );
+    private static final MemoizedSupplier<ExecutorService> STREAMS = MemoizedSupplier.of(
+            () -> newStreamExecutor("huskit-stream")
+    );
+    private static final MemoizedSupplier<ScheduledExecutorService> SCHEDULER = MemoizedSupplier.of(() -> {
+        var scheduler = new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("huskit-timer"));
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    });
+
+    private IoExecutors() {
+    }
+
+    /**
+     * Executor shared by all containers clients, unless another one is configured.
+     */
+    public static ExecutorService shared() {
+        return SHARED.get();
+    }
+
+    /**
+     * Executor for long-lived stream readers. Starts new thread whenever all existing ones are busy, and never
+     * queues tasks, so every stream gets its own thread for as long as it is read.
+     */
+    public static ExecutorService streams() {
+        return STREAMS.get();
+    }
+
+    /**
+     * Single thread scheduler for short timer tasks, like enforcing deadlines of blocking calls.
+     * Tasks should only trigger work elsewhere, not do blocking I/O themselves.
+     */
+    public static ScheduledExecutorService scheduler() {
+        return SCHEDULER.get();
+    }
+
+    public static ExecutorService newExecutor(String threadNamePrefix, int maxThreads) {
+        var virtualFactory = virtualThreadPerTaskFactory();
+        if (virtualFactory != null) {
+            try {
+                return (ExecutorService) virtualFactory.invoke(null);
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to create virtual thread executor", e);
+            }
+        }
+        return newBoundedCachedPool(threadNamePrefix, maxThreads);
+    }
+
+    public static ExecutorService newStreamExecutor(String threadNamePrefix) {
+        var virtualFactory = virtualThreadPerTaskFactory();
+        if (virtualFactory != null) {
+            try {
+                return (ExecutorService) virtualFactory.invoke(null);
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to create virtual thread executor", e);
+            }
+        }
+        return newGrowingCachedPool(threadNamePrefix);
+    }
+
+    public static boolean isVirtualThreadsAvailable() {
+        return virtualThreadPerTaskFactory() != null;
+    }
+
+    static ExecutorService newBoundedCachedPool(String threadNamePrefix, int maxThreads) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("Max threads should be positive, but got " + maxThreads);
+        }
+        var executor = new ThreadPoolExecutor(
+                maxThreads,
+                maxThreads,
+                60,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new DaemonThreadFactory(threadNamePrefix)
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    static ExecutorService newGrowingCachedPool(String threadNamePrefix) {
+        return new ThreadPoolExecutor(
+                0,
+                Integer.MAX_VALUE,
+                60,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new DaemonThreadFactory(threadNamePrefix)
+        );
+    }
+
+    @Nullable
+    private static Method virtualThreadPerTaskFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        String prefix;
+        AtomicInteger counter = new AtomicInteger();
+
+        DaemonThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            var thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -20,11 +21,16 @@ public final class ParallelFnRunner<T, R> {
     private static final Duration TIMEOUT = Duration.ofSeconds(10);
     List<Supplier<T>> suppliers;
     Duration timeout;
+    Executor executor;
 
     public ParallelFnRunner(List<Supplier<T>> suppliers) {
         this(suppliers, TIMEOUT);
     }
 
+    public ParallelFnRunner(List<Supplier<T>> suppliers, Duration timeout) {
+        this(suppliers, timeout, IoExecutors.shared());
+    }
+
     @SneakyThrows
     @SuppressWarnings("unchecked")
     public List<R> doParallel(Function<T, R> function) {
@@ -40,7 +46,7 @@ public final class ParallelFnRunner<T, R> {
                 futures[idx] = CompletableFuture.runAsync(() -> {
                     var value = suppliers.get(idx).get();
                     results[idx] = function.apply(value);
-                });
+                }, executor);
             }
             CompletableFuture.allOf(futures).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
             return Arrays.asList((R[]) results);
@@ -0,0 +1,275 @@
+package io.huskit.common.io;
+
+import lombok.experimental.NonFinal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded byte queue for exactly one writer thread and one reader thread.
+ * <p>
+ * Positions are plain counters published through volatile fields, so reads and writes never take a lock and
+ * only touch the other side when it is actually waiting. Reader blocks in {@link #read(byte[], int, int)} while
+ * the buffer is empty, writer blocks in {@link #write(byte[], int, int)} while it is full, which gives natural
+ * back-pressure to fast producers. {@link #tryRead(byte[], int, int)} and {@link #tryWrite(byte[], int, int)}
+ * are non-blocking variants.
+ * <p>
+ * {@link #closeWrite()} marks end of data - reader drains remaining bytes and then gets {@code -1}.
+ * {@link #close()} is called by reader when it is no longer interested, after which writes fail.
+ */
+public final class ByteRingBuffer {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+    byte[] bytes;
+    int mask;
+    @NonFinal
+    volatile long writePosition;
+    @NonFinal
+    volatile long readPosition;
+    @NonFinal
+    volatile boolean isWriteClosed;
+    @NonFinal
+    volatile boolean isClosed;
+    @NonFinal
+    volatile Thread waitingReader;
+    @NonFinal
+    volatile Thread waitingWriter;
+
+    /**
+     * @param capacity minimal capacity in bytes, rounded up to the power of two
+     */
+    public ByteRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException(String.format(
+                    "Ring buffer capacity should be between 1 and %s, but got %s", MAX_CAPACITY, capacity
+            ));
+        }
+        var size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.bytes = new byte[size];
+        this.mask = size - 1;
+    }
+
+    public int capacity() {
+        return bytes.length;
+    }
+
+    public int available() {
+        return (int) (writePosition - readPosition);
+    }
+
+    /**
+     * Reads available bytes, waiting until there is at least one.
+     *
+     * @return number of bytes read, or {@code -1} if writer closed the buffer and all bytes were read
+     */
+    public int read(byte[] target, int offset, int length) throws InterruptedIOException {
+        Objects.checkFromIndexSize(offset, length, target.length);
+        if (length == 0) {
+            return 0;
+        }
+        while (true) {
+            var count = tryRead(target, offset, length);
+            if (count != 0) {
+                return count;
+            }
+            waitingReader = Thread.currentThread();
+            try {
+                if (available() == 0 && !isWriteClosed && !isClosed) {
+                    park();
+                }
+            } finally {
+                waitingReader = null;
+            }
+        }
+    }
+
+    /**
+     * Reads bytes that are already available without waiting.
+     *
+     * @return number of bytes read, {@code 0} if none are available yet, or {@code -1} if writer closed
+     * the buffer and all bytes were read
+     */
+    public int tryRead(byte[] target, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, target.length);
+        if (isClosed) {
+            return -1;
+        }
+        var read = readPosition;
+        var available = (int) (writePosition - read);
+        if (available == 0) {
+            if (!isWriteClosed) {
+                return 0;
+            }
+            // writer could have published last bytes right before closing
+            available = (int) (writePosition - read);
+            if (available == 0) {
+                return -1;
+            }
+        }
+        var count = Math.min(length, available);
+        var index = (int) read & mask;
+        var first = Math.min(count, bytes.length - index);
+        System.arraycopy(bytes, index, target, offset, first);
+        System.arraycopy(bytes, 0, target, offset + first, count - first);
+        readPosition = read + count;
+        unpark(waitingWriter);
+        return count;
+    }
+
+    /**
+     * Writes all bytes, waiting for free space when buffer is full.
+     */
+    public void write(byte[] source, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, source.length);
+        while (length > 0) {
+            var count = tryWrite(source, offset, length);
+            offset += count;
+            length -= count;
+            if (length > 0 && count == 0) {
+                waitingWriter = Thread.currentThread();
+                try {
+                    if (isFull() && !isClosed) {
+                        park();
+                    }
+                } finally {
+                    waitingWriter = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes as many bytes as fit into free space without waiting.
+     *
+     * @return number of bytes written
+     */
+    public int tryWrite(byte[] source, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, source.length);
+        if (isClosed) {
+            throw new IOException("Ring buffer is closed by reader");
+        }
+        if (isWriteClosed) {
+            throw new IOException("Ring buffer is closed for writing");
+        }
+        var write = writePosition;
+        var count = Math.min(length, bytes.length - (int) (write - readPosition));
+        if (count == 0) {
+            return 0;
+        }
+        var index = (int) write & mask;
+        var first = Math.min(count, bytes.length - index);
+        System.arraycopy(source, offset, bytes, index, first);
+        System.arraycopy(source, offset + first, bytes, 0, count - first);
+        writePosition = write + count;
+        unpark(waitingReader);
+        return count;
+    }
+
+    /**
+     * Signals end of data. Bytes written so far are still available to the reader.
+     */
+    public void closeWrite() {
+        isWriteClosed = true;
+        unpark(waitingReader);
+    }
+
+    /**
+     * Discards buffer, waking up both sides. Subsequent reads return {@code -1} and writes fail.
+     */
+    public void close() {
+        isClosed = true;
+        isWriteClosed = true;
+        unpark(waitingReader);
+        unpark(waitingWriter);
+    }
+
+    public InputStream inputStream() {
+        return new RingInputStream(this);
+    }
+
+    public OutputStream outputStream() {
+        return new RingOutputStream(this);
+    }
+
+    private boolean isFull() {
+        return writePosition - readPosition == bytes.length;
+    }
+
+    private void park() throws InterruptedIOException {
+        LockSupport.park(this);
+        if (Thread.interrupted()) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting on ring buffer");
+        }
+    }
+
+    private void unpark(Thread thread) {
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private static final class RingInputStream extends InputStream {
+
+        ByteRingBuffer ring;
+        byte[] single = new byte[1];
+
+        RingInputStream(ByteRingBuffer ring) {
+            this.ring = ring;
+        }
+
+        @Override
+        public int read() throws IOException {
+            var count = ring.read(single, 0, 1);
+            return count == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) throws IOException {
+            return ring.read(bytes, off, len);
+        }
+
+        @Override
+        public int available() {
+            return ring.available();
+        }
+
+        @Override
+        public void close() {
+            ring.close();
+        }
+    }
+
+    private static final class RingOutputStream extends OutputStream {
+
+        ByteRingBuffer ring;
+        byte[] single = new byte[1];
+
+        RingOutputStream(ByteRingBuffer ring) {
+            this.ring = ring;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            single[0] = (byte) b;
+            ring.write(single, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int off, int len) throws IOException {
+            ring.write(bytes, off, len);
+        }
+
+        @Override
+        public void close() {
+            ring.closeWrite();
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package io.huskit.common.port;
+
+import io.huskit.common.concurrent.IoExecutors;
+import io.huskit.common.function.MemoizedSupplier;
+import lombok.experimental.NonFinal;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waits until TCP ports accept connections, see {@link PortProbeSpec} for what counts as ready.
+ * <p>
+ * All probes are served by single thread with non-blocking connects on one {@link Selector}, so waiting for
+ * any number of ports of any number of starting containers costs one thread. Failed attempt is repeated after
+ * backoff, that starts at {@code initialBackoff} and doubles up to {@code maxBackoff}. Retries are scheduled
+ * on {@link IoExecutors#scheduler()}, which only hands them back to probe thread.
+ */
+public final class PortProbe {
+
+    private static final MemoizedSupplier<PortProbe> SHARED = MemoizedSupplier.of(() -> new PortProbe("huskit-port-probe"));
+    Selector selector;
+    Queue<Runnable> tasks;
+    Set<Attempt> active;
+    Thread thread;
+
+    PortProbe(String threadName) {
+        try {
+            this.selector = Selector.open();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.tasks = new ConcurrentLinkedQueue<>();
+        this.active = new HashSet<>();
+        this.thread = new Thread(this::loop, threadName);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public static PortProbe shared() {
+        return SHARED.get();
+    }
+
+    /**
+     * @return future completed when port is ready, or failed with {@link IllegalStateException} after timeout;
+     * cancelling it stops probing
+     */
+    public CompletableFuture<Void> await(InetSocketAddress address, PortProbeSpec spec) {
+        var probe = new Probe(address, spec);
+        var timeout = IoExecutors.scheduler().schedule(
+                () -> probe.result.completeExceptionally(new IllegalStateException(String.format(
+                        "Port [%s:%s] did not become ready within %s", address.getHostString(), address.getPort(), spec.timeout()
+                ))),
+                spec.timeout().toNanos(),
+                TimeUnit.NANOSECONDS
+        );
+        probe.result.whenComplete((v, e) -> {
+            timeout.cancel(false);
+            execute(() -> {
+                var attempt = probe.attempt;
+                if (attempt != null) {
+                    finish(attempt);
+                }
+            });
+        });
+        execute(() -> attempt(probe));
+        return probe.result;
+    }
+
+    /**
+     * @return future completed when all ports are ready; if any of them fails, others are cancelled
+     */
+    public CompletableFuture<Void> awaitAll(List<InetSocketAddress> addresses, PortProbeSpec spec) {
+        var futures = new ArrayList<CompletableFuture<Void>>(addresses.size());
+        for (var address : addresses) {
+            futures.add(await(address, spec));
+        }
+        var all = CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+        for (var future : futures) {
+            future.whenComplete((v, e) -> {
+                if (e != null) {
+                    futures.forEach(f -> f.cancel(false));
+                    all.completeExceptionally(e);
+                }
+            });
+        }
+        all.whenComplete((v, e) -> {
+            if (e != null) {
+                futures.forEach(f -> f.cancel(false));
+            }
+        });
+        return all;
+    }
+
+    void close() {
+        try {
+            selector.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void execute(Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    private void loop() {
+        while (true) {
+            try {
+                selector.select(nextWakeupMillis());
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+                var selected = selector.selectedKeys();
+                for (var key : selected) {
+                    if (key.isValid()) {
+                        handle(key, (Attempt) key.attachment());
+                    }
+                }
+                selected.clear();
+                expire();
+            } catch (ClosedSelectorException e) {
+                return;
+            } catch (IOException e) {
+                if (!selector.isOpen()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private long nextWakeupMillis() {
+        if (active.isEmpty()) {
+            return 0;
+        }
+        var now = System.nanoTime();
+        var next = Long.MAX_VALUE;
+        for (var attempt : active) {
+            next = Math.min(next, attempt.deadlineNanos - now);
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(next) + 1);
+    }
+
+    private void attempt(Probe probe) {
+        if (probe.result.isDone()) {
+            return;
+        }
+        SocketChannel channel;
+        try {
+            channel = SocketChannel.open();
+        } catch (IOException e) {
+            retry(probe);
+            return;
+        }
+        var attempt = new Attempt(probe, channel);
+        probe.attempt = attempt;
+        active.add(attempt);
+        try {
+            channel.configureBlocking(false);
+            if (channel.connect(probe.address)) {
+                connected(attempt);
+            } else {
+                attempt.await(SelectionKey.OP_CONNECT, probe.spec.attemptTimeout());
+            }
+        } catch (IOException e) {
+            failed(attempt);
+        } catch (RuntimeException e) {
+            finish(attempt);
+            probe.result.completeExceptionally(e);
+        }
+    }
+
+    private void handle(SelectionKey key, Attempt attempt) {
+        try {
+            if (key.isConnectable()) {
+                attempt.channel.finishConnect();
+                connected(attempt);
+            } else if (key.isWritable()) {
+                attempt.channel.write(attempt.out);
+                if (!attempt.out.hasRemaining()) {
+                    attempt.stage = Stage.RESPONSE;
+                    attempt.await(SelectionKey.OP_READ, attempt.probe.spec.attemptTimeout());
+                }
+            } else if (key.isReadable()) {
+                var read = attempt.channel.read(ByteBuffer.allocate(16));
+                if (read > 0) {
+                    succeeded(attempt);
+                } else if (read < 0) {
+                    failed(attempt);
+                }
+            }
+        } catch (IOException e) {
+            failed(attempt);
+        }
+    }
+
+    private void connected(Attempt attempt) throws IOException {
+        var spec = attempt.probe.spec;
+        var handshake = spec.handshake();
+        if (handshake == null) {
+            attempt.stage = Stage.SETTLE;
+            attempt.await(SelectionKey.OP_READ, spec.settle());
+        } else if (handshake.length == 0) {
+            attempt.stage = Stage.RESPONSE;
+            attempt.await(SelectionKey.OP_READ, spec.attemptTimeout());
+        } else {
+            attempt.stage = Stage.HANDSHAKE;
+            attempt.out = ByteBuffer.wrap(handshake);
+            attempt.await(SelectionKey.OP_WRITE, spec.attemptTimeout());
+        }
+    }
+
+    private void expire() {
+        if (active.isEmpty()) {
+            return;
+        }
+        var now = System.nanoTime();
+        for (var attempt : new ArrayList<>(active)) {
+            if (now - attempt.deadlineNanos >= 0) {
+                if (attempt.stage == Stage.SETTLE) {
+                    succeeded(attempt);
+                } else {
+                    failed(attempt);
+                }
+            }
+        }
+    }
+
+    private void succeeded(Attempt attempt) {
+        finish(attempt);
+        attempt.probe.result.complete(null);
+    }
+
+    private void failed(Attempt attempt) {
+        finish(attempt);
+        retry(attempt.probe);
+    }
+
+    private void retry(Probe probe) {
+        if (probe.result.isDone()) {
+            return;
+        }
+        IoExecutors.scheduler().schedule(() -> execute(() -> attempt(probe)), probe.nextBackoffNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void finish(Attempt attempt) {
+        active.remove(attempt);
+        if (attempt.probe.attempt == attempt) {
+            attempt.probe.attempt = null;
+        }
+        try {
+            attempt.channel.close();
+        } catch (IOException ignore) {
+            // nothing to do, attempt is over anyway
+        }
+    }
+
+    private enum Stage {
+        CONNECT,
+        HANDSHAKE,
+        RESPONSE,
+        SETTLE
+    }
+
+    private static final class Probe {
+
+        InetSocketAddress address;
+        PortProbeSpec spec;
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        @NonFinal
+        long backoffNanos;
+        @NonFinal
+        @Nullable
+        Attempt attempt;
+
+        Probe(InetSocketAddress address, PortProbeSpec spec) {
+            this.address = address;
+            this.spec = spec;
+            this.backoffNanos = spec.initialBackoff().toNanos();
+        }
+
+        long nextBackoffNanos() {
+            var current = backoffNanos;
+            backoffNanos = Math.min(current * 2, spec.maxBackoff().toNanos());
+            return current;
+        }
+    }
+
+    private final class Attempt {
+
+        Probe probe;
+        SocketChannel channel;
+        @NonFinal
+        Stage stage = Stage.CONNECT;
+        @NonFinal
+        long deadlineNanos;
+        @NonFinal
+        ByteBuffer out = ByteBuffer.allocate(0);
+
+        Attempt(Probe probe, SocketChannel channel) {
+            this.probe = probe;
+            this.channel = channel;
+        }
+
+        void await(int ops, Duration timeout) throws IOException {
+            deadlineNanos = System.nanoTime() + timeout.toNanos();
+            channel.register(selector, ops, this);
+        }
+    }
+}
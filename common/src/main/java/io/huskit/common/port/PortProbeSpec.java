@@ -0,0 +1,35 @@
+package io.huskit.common.port;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.With;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+
+/**
+ * How {@link PortProbe} decides that port is ready.
+ * <p>
+ * Without handshake, port is ready when connection is accepted and stays open for {@code settle} time. Docker's
+ * port proxy accepts connections on host port even before anything listens inside container, and closes them
+ * right away, so bare accepted connection is not enough. With handshake, its bytes are sent after connect,
+ * and port is ready as soon as any response byte arrives. Empty handshake sends nothing and waits for
+ * server to speak first, like databases that send greeting on connect.
+ */
+@With
+@Getter
+@RequiredArgsConstructor
+public final class PortProbeSpec {
+
+    Duration timeout;
+    Duration initialBackoff;
+    Duration maxBackoff;
+    Duration attemptTimeout;
+    Duration settle;
+    @Nullable
+    byte[] handshake;
+
+    public PortProbeSpec(Duration timeout) {
+        this(timeout, Duration.ofMillis(10), Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofMillis(50), null);
+    }
+}
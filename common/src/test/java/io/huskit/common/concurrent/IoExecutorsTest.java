@@ -0,0 +1,111 @@
+package io.huskit.common.concurrent;
+
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IoExecutorsTest implements UnitTest {
+
+    @Test
+    void shared__should_return_same_executor() {
+        assertThat(IoExecutors.shared()).isSameAs(IoExecutors.shared());
+    }
+
+    @Test
+    void is_virtual_threads_available__should_match_runtime_version() {
+        assertThat(IoExecutors.isVirtualThreadsAvailable()).isEqualTo(Runtime.version().feature() >= 21);
+    }
+
+    @Test
+    void bounded_cached_pool__should_use_named_daemon_threads() throws Exception {
+        var subject = IoExecutors.newBoundedCachedPool("test-io", 2);
+        try {
+            var thread = CompletableFuture.supplyAsync(Thread::currentThread, subject).get(5, TimeUnit.SECONDS);
+
+            assertThat(thread.isDaemon()).isTrue();
+            assertThat(thread.getName()).isEqualTo("test-io-1");
+        } finally {
+            subject.shutdownNow();
+        }
+    }
+
+    @Test
+    void bounded_cached_pool__should_queue_tasks_above_max_threads() throws Exception {
+        var subject = (ThreadPoolExecutor) IoExecutors.newBoundedCachedPool("test-io", 2);
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(2);
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        try {
+            var futures = new CompletableFuture<?>[5];
+            for (var i = 0; i < futures.length; i++) {
+                futures[i] = CompletableFuture.runAsync(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                }, subject);
+            }
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(subject.getQueue()).hasSize(3);
+
+            release.countDown();
+            CompletableFuture.allOf(futures).get(5, TimeUnit.SECONDS);
+
+            assertThat(maxRunning).hasValue(2);
+        } finally {
+            subject.shutdownNow();
+        }
+    }
+
+    @Test
+    void bounded_cached_pool__when_invalid_max_threads__then_throw() {
+        assertThatThrownBy(() -> IoExecutors.newBoundedCachedPool("test-io", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void streams__should_return_same_executor() {
+        assertThat(IoExecutors.streams()).isSameAs(IoExecutors.streams());
+    }
+
+    @Test
+    void growing_cached_pool__should_run_every_blocked_task_on_its_own_thread() throws Exception {
+        var subject = (ThreadPoolExecutor) IoExecutors.newGrowingCachedPool("test-stream");
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(100);
+        try {
+            var futures = new CompletableFuture<?>[100];
+            for (var i = 0; i < futures.length; i++) {
+                futures[i] = CompletableFuture.runAsync(() -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, subject);
+            }
+
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(subject.getQueue()).isEmpty();
+            assertThat(subject.getPoolSize()).isEqualTo(100);
+            release.countDown();
+            CompletableFuture.allOf(futures).get(5, TimeUnit.SECONDS);
+        } finally {
+            subject.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.huskit.common.io;
+
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ByteRingBufferTest implements UnitTest {
+
+    @Test
+    void new_buffer__capacity_rounded_up_to_power_of_two() {
+        assertThat(new ByteRingBuffer(1).capacity()).isEqualTo(1);
+        assertThat(new ByteRingBuffer(1000).capacity()).isEqualTo(1024);
+        assertThat(new ByteRingBuffer(4096).capacity()).isEqualTo(4096);
+    }
+
+    @Test
+    void new_buffer__when_invalid_capacity__then_throw() {
+        assertThatThrownBy(() -> new ByteRingBuffer(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void try_read__when_empty__then_zero_and_after_close_write__then_eof() throws Exception {
+        var subject = new ByteRingBuffer(8);
+        var target = new byte[8];
+
+        assertThat(subject.tryRead(target, 0, 8)).isZero();
+        subject.closeWrite();
+        assertThat(subject.tryRead(target, 0, 8)).isEqualTo(-1);
+    }
+
+    @Test
+    void read__when_data_wraps_around__then_returned_in_order() throws Exception {
+        var subject = new ByteRingBuffer(8);
+        var target = new byte[8];
+        subject.write(new byte[]{1, 2, 3, 4, 5, 6}, 0, 6);
+        assertThat(subject.read(target, 0, 4)).isEqualTo(4);
+
+        assertThat(subject.tryWrite(new byte[]{7, 8, 9, 10, 11, 12, 13}, 0, 7)).isEqualTo(6);
+        assertThat(subject.available()).isEqualTo(8);
+        assertThat(subject.read(target, 0, 8)).isEqualTo(8);
+
+        assertThat(target).containsExactly(5, 6, 7, 8, 9, 10, 11, 12);
+    }
+
+    @Test
+    void read__when_write_closed__then_remaining_bytes_read_before_eof() throws Exception {
+        var subject = new ByteRingBuffer(8);
+        var target = new byte[8];
+        subject.write(new byte[]{1, 2}, 0, 2);
+        subject.closeWrite();
+
+        assertThat(subject.read(target, 0, 8)).isEqualTo(2);
+        assertThat(subject.read(target, 0, 8)).isEqualTo(-1);
+        assertThatThrownBy(() -> subject.write(new byte[]{1}, 0, 1))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void write__when_larger_than_capacity__then_producer_waits_for_consumer() throws Exception {
+        var subject = new ByteRingBuffer(64);
+        var data = new byte[5 * 1024 * 1024];
+        new Random(42).nextBytes(data);
+        var producer = CompletableFuture.runAsync(() -> {
+            try (var out = subject.outputStream()) {
+                for (var offset = 0; offset < data.length; offset += 1000) {
+                    out.write(data, offset, Math.min(1000, data.length - offset));
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        var received = new ByteArrayOutputStream();
+        try (var in = subject.inputStream()) {
+            in.transferTo(received);
+        }
+
+        producer.get(10, TimeUnit.SECONDS);
+        assertThat(received.toByteArray()).isEqualTo(data);
+    }
+
+    @Test
+    void write__when_reader_closes__then_waiting_writer_fails() throws Exception {
+        var subject = new ByteRingBuffer(4);
+        var producer = CompletableFuture.runAsync(() -> {
+            try {
+                subject.write(new byte[16], 0, 16);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (subject.available() < 4) {
+            Thread.onSpinWait();
+        }
+
+        subject.close();
+
+        assertThatThrownBy(() -> producer.get(10, TimeUnit.SECONDS))
+                .hasRootCauseInstanceOf(IOException.class)
+                .hasRootCauseMessage("Ring buffer is closed by reader");
+    }
+
+    @Test
+    void read__when_interrupted__then_throw_interrupted_io_exception() throws Exception {
+        var subject = new ByteRingBuffer(4);
+        var started = new CountDownLatch(1);
+        var error = new CompletableFuture<Throwable>();
+        var reader = new Thread(() -> {
+            started.countDown();
+            try {
+                subject.read(new byte[4], 0, 4);
+                error.complete(null);
+            } catch (Throwable e) {
+                error.complete(e);
+            }
+        });
+        reader.start();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        reader.interrupt();
+
+        assertThat(error.get(10, TimeUnit.SECONDS)).isInstanceOf(InterruptedIOException.class);
+    }
+}
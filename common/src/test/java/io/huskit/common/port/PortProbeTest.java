@@ -0,0 +1,141 @@
+package io.huskit.common.port;
+
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PortProbeTest implements UnitTest {
+
+    @Test
+    void await__when_port_listening__then_completes() throws Exception {
+        var subject = new PortProbe("test-port-probe");
+        try (var server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            var accepting = CompletableFuture.runAsync(() -> acceptAndHold(server));
+
+            subject.await(address(server.getLocalPort()), new PortProbeSpec(Duration.ofSeconds(5))).get(5, TimeUnit.SECONDS);
+
+            accepting.cancel(true);
+        } finally {
+            subject.close();
+        }
+    }
+
+    @Test
+    void await__when_port_starts_listening_later__then_completes_after_retries() throws Exception {
+        var subject = new PortProbe("test-port-probe");
+        try {
+            int port;
+            try (var free = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+                port = free.getLocalPort();
+            }
+            var result = subject.await(address(port), new PortProbeSpec(Duration.ofSeconds(5)));
+            Thread.sleep(100);
+            assertThat(result).isNotDone();
+
+            try (var server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+                CompletableFuture.runAsync(() -> acceptAndHold(server));
+
+                result.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            subject.close();
+        }
+    }
+
+    @Test
+    void await__when_connections_closed_right_away__then_fails_after_timeout() throws Exception {
+        var subject = new PortProbe("test-port-probe");
+        try (var server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            CompletableFuture.runAsync(() -> {
+                while (!server.isClosed()) {
+                    try {
+                        server.accept().close();
+                    } catch (Exception e) {
+                        return;
+                    }
+                }
+            });
+            var result = subject.await(address(server.getLocalPort()), new PortProbeSpec(Duration.ofMillis(300)));
+
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause()
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("did not become ready within PT0.3S");
+        } finally {
+            subject.close();
+        }
+    }
+
+    @Test
+    void await__when_handshake_answered__then_completes() throws Exception {
+        var subject = new PortProbe("test-port-probe");
+        try (var server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            var received = new CompletableFuture<String>();
+            CompletableFuture.runAsync(() -> {
+                try (var socket = server.accept()) {
+                    var bytes = socket.getInputStream().readNBytes(4);
+                    received.complete(new String(bytes, StandardCharsets.UTF_8));
+                    socket.getOutputStream().write("PONG".getBytes(StandardCharsets.UTF_8));
+                    socket.getInputStream().read();
+                } catch (Exception e) {
+                    received.completeExceptionally(e);
+                }
+            });
+            var spec = new PortProbeSpec(Duration.ofSeconds(5)).withHandshake("PING".getBytes(StandardCharsets.UTF_8));
+
+            subject.await(address(server.getLocalPort()), spec).get(5, TimeUnit.SECONDS);
+
+            assertThat(received.get(5, TimeUnit.SECONDS)).isEqualTo("PING");
+        } finally {
+            subject.close();
+        }
+    }
+
+    @Test
+    void await_all__when_one_port_never_ready__then_fails_and_cancels_others() throws Exception {
+        var subject = new PortProbe("test-port-probe");
+        try (var server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            int closedPort;
+            try (var free = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+                closedPort = free.getLocalPort();
+            }
+            CompletableFuture.runAsync(() -> acceptAndHold(server));
+
+            var result = subject.awaitAll(
+                    List.of(address(server.getLocalPort()), address(closedPort)),
+                    new PortProbeSpec(Duration.ofMillis(300))
+            );
+
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasMessageContaining(String.valueOf(closedPort));
+        } finally {
+            subject.close();
+        }
+    }
+
+    private static InetSocketAddress address(int port) {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    }
+
+    private static void acceptAndHold(ServerSocket server) {
+        try (var socket = server.accept()) {
+            socket.getInputStream().read();
+        } catch (Exception ignore) {
+            // test is over
+        }
+    }
+}
@@ -232,11 +232,14 @@ class HtHttpDckrIntegrationTest implements DockerIntegrationTest {
                     var hostConfig = inspected.hostConfig();
                 }
                 {
-                    subject.containers().execInContainer(
+                    var execResult = subject.containers().execInContainer(
                             containerRef.require().id(),
                             "sh",
-                            List.of("-c", "echo $((1 + 1)) && echo $((2 + 2))")
+                            List.of("-c", "echo $((1 + 1)) && echo $((2 + 2)) && echo err >&2 && exit 3")
                     ).exec();
+                    assertThat(execResult.exitCode()).isEqualTo(3);
+                    assertThat(execResult.stdOut()).containsExactly("2", "4");
+                    assertThat(execResult.stdErr()).containsExactly("err");
                 }
             }
         } catch (Throwable t) {
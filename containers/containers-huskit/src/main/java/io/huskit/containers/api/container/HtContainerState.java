@@ -1,6 +1,7 @@
 package io.huskit.containers.api.container;
 
 import java.time.Instant;
+import java.util.Optional;
 
 public interface HtContainerState {
 
@@ -25,4 +26,10 @@ public interface HtContainerState {
     Instant finishedAt();
 
     String error();
+
+    /**
+     * @return status of image {@code HEALTHCHECK}, like {@code starting}, {@code healthy} or {@code unhealthy},
+     * or empty if container has no health check
+     */
+    Optional<String> healthStatus();
 }
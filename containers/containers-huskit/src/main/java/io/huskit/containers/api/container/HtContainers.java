@@ -10,6 +10,8 @@ import io.huskit.containers.api.container.run.HtRmSpec;
 import io.huskit.containers.api.container.run.HtRun;
 import io.huskit.containers.api.container.run.HtRunSpec;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -23,6 +25,19 @@ public interface HtContainers {
 
     HtContainer inspect(CharSequence containerId);
 
+    /**
+     * Inspects containers concurrently. Returned list follows order of given ids. If some of the containers
+     * could not be inspected, future completes with {@link HtInspectException} only after all others are done,
+     * so that successful results are not lost.
+     */
+    CompletableFuture<List<HtContainer>> inspectAsync(Iterable<? extends CharSequence> containerIds);
+
+    /**
+     * Inspects container bypassing client-side cache of inspect results, including inspects that are already
+     * in flight, so returned state is never older than this call. Meant for waits that act on container state.
+     */
+    CompletableFuture<HtContainer> inspectFreshAsync(CharSequence containerId);
+
     HtLogs logs(CharSequence containerId);
 
     HtRun run(CharSequence dockerImageName);
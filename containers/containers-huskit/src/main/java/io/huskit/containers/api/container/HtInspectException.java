@@ -0,0 +1,36 @@
+package io.huskit.containers.api.container;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thrown when inspect of several containers failed for some of them. Carries containers that were inspected
+ * successfully, in the order they were requested, and failure of each container that was not.
+ */
+public final class HtInspectException extends IllegalStateException {
+
+    private final transient List<HtContainer> containers;
+    private final transient Map<String, Throwable> failures;
+
+    public HtInspectException(List<HtContainer> containers, Map<String, Throwable> failures) {
+        super(String.format(
+                "Failed to inspect %s of %s containers: %s",
+                failures.size(), containers.size() + failures.size(), failures.keySet()
+        ));
+        this.containers = Collections.unmodifiableList(containers);
+        this.failures = Collections.unmodifiableMap(failures);
+        failures.values().forEach(this::addSuppressed);
+    }
+
+    public List<HtContainer> containers() {
+        return containers;
+    }
+
+    /**
+     * @return failure cause by container id, in the order containers were requested
+     */
+    public Map<String, Throwable> failures() {
+        return failures;
+    }
+}
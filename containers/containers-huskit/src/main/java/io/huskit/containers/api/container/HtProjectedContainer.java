@@ -0,0 +1,207 @@
+package io.huskit.containers.api.container;
+
+import io.huskit.common.function.MemoizedSupplier;
+import io.huskit.common.function.ThrowingSupplier;
+import io.huskit.common.port.MappedPort;
+import io.huskit.containers.api.container.list.HtListContainersField;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Container returned by list query with projection. Projected fields are read from {@code source}, which has
+ * the same shape as inspect document, but holds only those fields. Any other field is read from full inspect,
+ * which is run on first access and then reused.
+ */
+public final class HtProjectedContainer implements HtContainer {
+
+    HtJsonContainer projected;
+    Set<HtListContainersField> fields;
+    MemoizedSupplier<HtContainer> full;
+
+    public HtProjectedContainer(Map<String, Object> source,
+                                Set<HtListContainersField> fields,
+                                ThrowingSupplier<HtContainer> full) {
+        this.projected = new HtJsonContainer(source);
+        this.fields = Set.copyOf(fields);
+        this.full = MemoizedSupplier.of(full);
+    }
+
+    @Override
+    public String id() {
+        return projected.id();
+    }
+
+    @Override
+    public String name() {
+        return fields.contains(HtListContainersField.NAME) ? projected.name() : full.get().name();
+    }
+
+    @Override
+    public HtContainerConfig config() {
+        if (fields.contains(HtListContainersField.LABELS)) {
+            return new ProjectedConfig(projected.config().labels(), () -> full.get().config());
+        }
+        return full.get().config();
+    }
+
+    @Override
+    public HtContainerNetworkSettings network() {
+        return full.get().network();
+    }
+
+    @Override
+    public Instant createdAt() {
+        return fields.contains(HtListContainersField.CREATED_AT) ? projected.createdAt() : full.get().createdAt();
+    }
+
+    @Override
+    public List<String> args() {
+        return full.get().args();
+    }
+
+    @Override
+    public String path() {
+        return full.get().path();
+    }
+
+    @Override
+    public String processLabel() {
+        return full.get().processLabel();
+    }
+
+    @Override
+    public String platform() {
+        return full.get().platform();
+    }
+
+    @Override
+    public String driver() {
+        return full.get().driver();
+    }
+
+    @Override
+    public HtContainerGraphDriver graphDriver() {
+        return full.get().graphDriver();
+    }
+
+    @Override
+    public String hostsPath() {
+        return full.get().hostsPath();
+    }
+
+    @Override
+    public String hostnamePath() {
+        return full.get().hostnamePath();
+    }
+
+    @Override
+    public Integer restartCount() {
+        return full.get().restartCount();
+    }
+
+    @Override
+    public String mountLabel() {
+        return full.get().mountLabel();
+    }
+
+    @Override
+    public HtContainerState state() {
+        return full.get().state();
+    }
+
+    @Override
+    public HtContainerHostConfig hostConfig() {
+        return full.get().hostConfig();
+    }
+
+    @Override
+    public String resolvConfPath() {
+        return full.get().resolvConfPath();
+    }
+
+    @Override
+    public String logPath() {
+        return full.get().logPath();
+    }
+
+    @Override
+    public Integer firstMappedPort() {
+        return fields.contains(HtListContainersField.PORTS) ? projected.firstMappedPort() : full.get().firstMappedPort();
+    }
+
+    @Override
+    public List<MappedPort> ports() {
+        return fields.contains(HtListContainersField.PORTS) ? projected.ports() : full.get().ports();
+    }
+
+    @Override
+    public Map<String, Object> toJsonMap() {
+        return full.get().toJsonMap();
+    }
+
+    private static final class ProjectedConfig implements HtContainerConfig {
+
+        Map<String, String> labels;
+        Supplier<HtContainerConfig> full;
+
+        ProjectedConfig(Map<String, String> labels, Supplier<HtContainerConfig> full) {
+            this.labels = labels;
+            this.full = full;
+        }
+
+        @Override
+        public Optional<String> entrypoint() {
+            return full.get().entrypoint();
+        }
+
+        @Override
+        public Boolean attachStder() {
+            return full.get().attachStder();
+        }
+
+        @Override
+        public Boolean attachStdin() {
+            return full.get().attachStdin();
+        }
+
+        @Override
+        public String hostname() {
+            return full.get().hostname();
+        }
+
+        @Override
+        public Boolean openStdin() {
+            return full.get().openStdin();
+        }
+
+        @Override
+        public Optional<String> workingDir() {
+            return full.get().workingDir();
+        }
+
+        @Override
+        public Map<String, String> labels() {
+            return labels;
+        }
+
+        @Override
+        public Map<String, String> env() {
+            return full.get().env();
+        }
+
+        @Override
+        public List<String> cmd() {
+            return full.get().cmd();
+        }
+
+        @Override
+        public Boolean tty() {
+            return full.get().tty();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 
 import java.time.Instant;
 import java.util.Map;
+import java.util.Optional;
 
 @RequiredArgsConstructor
 public class JsonHtContainerState implements HtContainerState {
@@ -74,4 +75,14 @@ public class JsonHtContainerState implements HtContainerState {
     public String error() {
         return HtCollections.getFromMap("Error", source);
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<String> healthStatus() {
+        var health = (Map<String, Object>) source.get("Health");
+        if (health == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable((String) health.get("Status"));
+    }
 }
@@ -0,0 +1,29 @@
+package io.huskit.containers.api.container.exec;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Result of finished command, with output already read, so streams can be requested more than once.
+ */
+@RequiredArgsConstructor
+public final class DfHtExecResult implements HtExecResult {
+
+    @Getter
+    Integer exitCode;
+    List<String> stdOutLines;
+    List<String> stdErrLines;
+
+    @Override
+    public Stream<String> stdOut() {
+        return stdOutLines.stream();
+    }
+
+    @Override
+    public Stream<String> stdErr() {
+        return stdErrLines.stream();
+    }
+}
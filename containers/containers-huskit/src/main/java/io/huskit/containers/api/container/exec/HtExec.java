@@ -4,7 +4,11 @@ import java.util.concurrent.CompletableFuture;
 
 public interface HtExec {
 
-    void exec();
+    /**
+     * Runs command in container and waits until it exits. Non-zero exit code is not treated as failure,
+     * it is returned to the caller along with command output.
+     */
+    HtExecResult exec();
 
-    CompletableFuture<Void> execAsync();
+    CompletableFuture<HtExecResult> execAsync();
 }
@@ -0,0 +1,8 @@
+package io.huskit.containers.api.container.exec;
+
+import io.huskit.containers.api.container.logs.Logs;
+
+public interface HtExecResult extends Logs {
+
+    Integer exitCode();
+}
@@ -0,0 +1,14 @@
+package io.huskit.containers.api.container.list;
+
+/**
+ * Container fields that list query can fetch up front, see
+ * {@link io.huskit.containers.api.container.list.arg.HtListContainersArgsSpec#withProjection}.
+ * Container id is always fetched.
+ */
+public enum HtListContainersField {
+
+    NAME,
+    CREATED_AT,
+    LABELS,
+    PORTS,
+}
@@ -1,5 +1,7 @@
 package io.huskit.containers.api.container.list.arg;
 
+import io.huskit.containers.api.container.list.HtListContainersField;
+
 public interface HtListContainersArgsSpec {
 
     HtListContainersArgsSpec withAll();
@@ -11,4 +13,10 @@ public interface HtListContainersArgsSpec {
     HtListContainersArgsSpec withLabelFilter(CharSequence label, CharSequence value);
 
     HtListContainersArgsSpec withLabelFilter(CharSequence label);
+
+    /**
+     * Fetches only given fields of listed containers, instead of complete inspect document. Accessing any other
+     * field runs full inspect of that one container, on first access.
+     */
+    HtListContainersArgsSpec withProjection(HtListContainersField... fields);
 }
@@ -40,7 +40,7 @@ public class PredicatedLookFor implements LookFor {
 
     @Override
     public Boolean isOnlyInStdOut() {
-        return onlyInStdErr;
+        return onlyInStdOut;
     }
 
     @Override
@@ -0,0 +1,11 @@
+package io.huskit.containers.api.container.run;
+
+import io.huskit.containers.api.container.HtContainer;
+
+/**
+ * Container returned by run, which also tells how long each run stage took.
+ */
+public interface HtRunContainer extends HtContainer {
+
+    HtRunTimings timings();
+}
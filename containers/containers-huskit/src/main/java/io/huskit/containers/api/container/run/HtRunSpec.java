@@ -28,6 +28,13 @@ public interface HtRunSpec extends HtCreateSpec {
 
     HtRunSpec withLookFor(CharSequence text, Duration timeout);
 
+    /**
+     * Pulls image if it is not present locally, before container is created. Off by default for HTTP client,
+     * where run fails on missing image the same way create does. CLI client runs {@code docker run}, which
+     * pulls missing image either way.
+     */
+    HtRunSpec withPullIfMissing();
+
     default HtRunSpec withLookFor(CharSequence text) {
         return withLookFor(text, Duration.ZERO);
     }
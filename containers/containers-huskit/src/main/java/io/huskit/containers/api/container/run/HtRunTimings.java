@@ -0,0 +1,30 @@
+package io.huskit.containers.api.container.run;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Time spent in each stage of container run. Stages may overlap, so they do not add up to {@link #total()}.
+ * Stage that did not happen, like pull of image that was already present, takes {@link Duration#ZERO}.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class HtRunTimings {
+
+    Duration imageCheck;
+    Duration pull;
+    Duration create;
+    Duration start;
+    Duration ready;
+    Duration total;
+
+    @Override
+    public String toString() {
+        return String.format(
+                "imageCheck=%sms, pull=%sms, create=%sms, start=%sms, ready=%sms, total=%sms",
+                imageCheck.toMillis(), pull.toMillis(), create.toMillis(), start.toMillis(), ready.toMillis(), total.toMillis()
+        );
+    }
+}
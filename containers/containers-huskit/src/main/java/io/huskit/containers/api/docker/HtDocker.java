@@ -1,6 +1,7 @@
 package io.huskit.containers.api.docker;
 
 import io.huskit.containers.api.container.HtContainers;
+import io.huskit.containers.api.events.HtEvents;
 import io.huskit.containers.api.image.HtImages;
 import io.huskit.containers.api.volume.HtVolumes;
 import io.huskit.containers.cli.*;
@@ -17,6 +18,8 @@ public interface HtDocker {
 
     HtVolumes volumes();
 
+    HtEvents events();
+
     static HtDocker anyClient() {
         return http();
     }
@@ -0,0 +1,32 @@
+package io.huskit.containers.api.events;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Single docker daemon event, like container {@code start} or {@code die}.
+ */
+public interface HtEvent {
+
+    /**
+     * @return object type, for example {@code container}, {@code image}, {@code volume} or {@code network}
+     */
+    String type();
+
+    /**
+     * @return what happened to the object, for example {@code create}, {@code start}, {@code die}, {@code destroy}
+     */
+    String action();
+
+    /**
+     * @return id of the object, for containers it is container id
+     */
+    String actorId();
+
+    /**
+     * @return object attributes, for containers these include {@code name}, {@code image} and container labels
+     */
+    Map<String, String> attributes();
+
+    Instant time();
+}
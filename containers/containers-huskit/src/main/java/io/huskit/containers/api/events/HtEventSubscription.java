@@ -0,0 +1,28 @@
+package io.huskit.containers.api.events;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Live subscription to docker events. Events are delivered to the listener one by one on a single
+ * background thread, in the order daemon sends them.
+ */
+public interface HtEventSubscription extends AutoCloseable {
+
+    /**
+     * @return future completed once daemon accepted subscription, every event that happens after that
+     * is delivered to the listener
+     */
+    CompletableFuture<Void> opened();
+
+    /**
+     * @return future completed when subscription is closed, or completed exceptionally if event stream failed,
+     * for example because daemon was restarted or listener has thrown exception
+     */
+    CompletableFuture<Void> completion();
+
+    /**
+     * Stops receiving events and releases connection used by subscription.
+     */
+    @Override
+    void close();
+}
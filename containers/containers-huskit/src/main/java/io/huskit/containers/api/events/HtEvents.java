@@ -0,0 +1,14 @@
+package io.huskit.containers.api.events;
+
+import java.util.function.Consumer;
+
+/**
+ * Streaming access to docker daemon events, so that changes to containers can be observed as they happen
+ * instead of polling the daemon.
+ */
+public interface HtEvents {
+
+    HtEventSubscription subscribe(Consumer<HtEvent> listener);
+
+    HtEventSubscription subscribe(Consumer<HtEventsSpec> specAction, Consumer<HtEvent> listener);
+}
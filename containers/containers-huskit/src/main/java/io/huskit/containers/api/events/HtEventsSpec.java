@@ -0,0 +1,21 @@
+package io.huskit.containers.api.events;
+
+import java.time.Instant;
+
+public interface HtEventsSpec {
+
+    HtEventsSpec withTypeFilter(CharSequence type);
+
+    HtEventsSpec withEventFilter(CharSequence action);
+
+    HtEventsSpec withContainerFilter(CharSequence containerIdOrName);
+
+    HtEventsSpec withLabelFilter(CharSequence label, CharSequence value);
+
+    HtEventsSpec withLabelFilter(CharSequence label);
+
+    /**
+     * Also replays events that happened since given time, before streaming new ones.
+     */
+    HtEventsSpec withSince(Instant since);
+}
@@ -0,0 +1,59 @@
+package io.huskit.containers.api.events;
+
+import io.huskit.common.collection.HtCollections;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public final class JsonHtEvent implements HtEvent {
+
+    Map<String, Object> source;
+
+    @Override
+    public String type() {
+        return HtCollections.getFromMap("Type", source);
+    }
+
+    @Override
+    public String action() {
+        return HtCollections.getFromMap("Action", source);
+    }
+
+    @Override
+    public String actorId() {
+        return HtCollections.getFromMap("ID", actor());
+    }
+
+    @Override
+    public Map<String, String> attributes() {
+        var attributes = actor().get("Attributes");
+        if (attributes == null) {
+            return Map.of();
+        }
+        @SuppressWarnings("unchecked")
+        var result = (Map<String, String>) attributes;
+        return result;
+    }
+
+    @Override
+    public Instant time() {
+        var timeNano = source.get("timeNano");
+        if (timeNano instanceof Number) {
+            var nanos = ((Number) timeNano).longValue();
+            return Instant.ofEpochSecond(0, nanos);
+        }
+        Number time = HtCollections.getFromMap("time", source);
+        return Instant.ofEpochSecond(time.longValue());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s %s", type(), action(), actorId());
+    }
+
+    private Map<String, Object> actor() {
+        return HtCollections.getFromMap("Actor", source);
+    }
+}
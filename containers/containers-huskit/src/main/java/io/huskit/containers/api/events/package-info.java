@@ -0,0 +1,2 @@
+@org.jetbrains.annotations.NotNullByDefault
+package io.huskit.containers.api.events;
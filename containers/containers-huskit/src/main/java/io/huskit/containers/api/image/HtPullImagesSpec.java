@@ -1,5 +1,7 @@
 package io.huskit.containers.api.image;
 
+import java.util.function.Consumer;
+
 public interface HtPullImagesSpec {
 
     HtPullImagesSpec withAllTags();
@@ -7,4 +9,10 @@ public interface HtPullImagesSpec {
     HtPullImagesSpec withDisableContentTrust();
 
     HtPullImagesSpec withPlatformString(CharSequence platformString);
+
+    /**
+     * Receives progress of each layer while image is pulled. Only http client reports progress,
+     * cli client ignores the listener.
+     */
+    HtPullImagesSpec withProgressListener(Consumer<HtPullProgress> listener);
 }
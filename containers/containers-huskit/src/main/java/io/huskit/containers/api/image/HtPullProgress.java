@@ -0,0 +1,27 @@
+package io.huskit.containers.api.image;
+
+/**
+ * Progress update received while image is pulled, most of them are about single layer.
+ */
+public interface HtPullProgress {
+
+    /**
+     * @return layer id, or empty string for updates about the whole image, like final digest
+     */
+    String layerId();
+
+    /**
+     * @return status reported by daemon, for example {@code Downloading}, {@code Extracting} or {@code Pull complete}
+     */
+    String status();
+
+    /**
+     * @return bytes processed so far for current status, {@code 0} if not reported
+     */
+    Long current();
+
+    /**
+     * @return total bytes for current status, {@code 0} if not reported
+     */
+    Long total();
+}
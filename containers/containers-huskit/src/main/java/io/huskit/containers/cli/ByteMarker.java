@@ -0,0 +1,91 @@
+package io.huskit.containers.cli;
+
+import lombok.experimental.NonFinal;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Text to look for in raw shell output, with Knuth-Morris-Pratt failure table computed once, so that output can
+ * be matched byte by byte while it is read, without decoding it to strings.
+ */
+final class ByteMarker {
+
+    String text;
+    byte[] pattern;
+    int[] failure;
+
+    ByteMarker(String text) {
+        if (text.isEmpty()) {
+            throw new IllegalArgumentException("Marker should not be empty");
+        }
+        this.text = text;
+        this.pattern = text.getBytes(StandardCharsets.UTF_8);
+        this.failure = new int[pattern.length];
+        var matched = 0;
+        for (var i = 1; i < pattern.length; i++) {
+            while (matched > 0 && pattern[i] != pattern[matched]) {
+                matched = failure[matched - 1];
+            }
+            if (pattern[i] == pattern[matched]) {
+                matched++;
+            }
+            failure[i] = matched;
+        }
+    }
+
+    String text() {
+        return text;
+    }
+
+    int length() {
+        return pattern.length;
+    }
+
+    Matcher matcher() {
+        return new Matcher();
+    }
+
+    /**
+     * Matching state for one line of output, fed with line bytes one by one.
+     */
+    final class Matcher {
+
+        @NonFinal
+        int matched;
+        @NonFinal
+        int lastMatchEnd = -1;
+
+        void reset() {
+            matched = 0;
+            lastMatchEnd = -1;
+        }
+
+        void feed(byte b, int index) {
+            while (matched > 0 && pattern[matched] != b) {
+                matched = failure[matched - 1];
+            }
+            if (pattern[matched] == b) {
+                matched++;
+            }
+            if (matched == pattern.length) {
+                lastMatchEnd = index + 1;
+                matched = failure[matched - 1];
+            }
+        }
+
+        /**
+         * @return whether last match of marker ends exactly at {@code end} index of the line
+         */
+        boolean endsAt(int end) {
+            return lastMatchEnd == end;
+        }
+
+        int length() {
+            return pattern.length;
+        }
+
+        String text() {
+            return text;
+        }
+    }
+}
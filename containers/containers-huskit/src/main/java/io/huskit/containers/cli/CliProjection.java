@@ -0,0 +1,81 @@
+package io.huskit.containers.cli;
+
+import io.huskit.containers.api.container.list.HtListContainersField;
+import io.huskit.containers.internal.HtJson;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates {@code docker inspect --format} template that prints only projected fields, as single JSON array
+ * with id first and then values of fields in {@link HtListContainersField} order, and maps printed array back to
+ * inspect document shape. Template has no quotes in it, so it can be passed through every supported shell.
+ */
+final class CliProjection {
+
+    List<HtListContainersField> fields;
+
+    CliProjection(Set<HtListContainersField> fields) {
+        this.fields = fields.isEmpty() ? List.of() : List.copyOf(EnumSet.copyOf(fields));
+    }
+
+    String format() {
+        var values = new ArrayList<String>(fields.size() + 1);
+        values.add("{{json .Id}}");
+        for (var field : fields) {
+            values.add(template(field));
+        }
+        return "[" + String.join(",", values) + "]";
+    }
+
+    Map<String, Object> toSource(String line) {
+        var values = HtJson.toList(line);
+        if (values.size() != fields.size() + 1) {
+            throw new IllegalStateException(String.format(
+                    "Expected [%s] values for projection %s, but got [%s]", fields.size() + 1, fields, line
+            ));
+        }
+        var source = new HashMap<String, Object>();
+        source.put("Id", values.get(0));
+        for (var i = 0; i < fields.size(); i++) {
+            var value = values.get(i + 1);
+            switch (fields.get(i)) {
+                case NAME:
+                    source.put("Name", value);
+                    break;
+                case CREATED_AT:
+                    source.put("Created", value);
+                    break;
+                case LABELS:
+                    source.put("Config", Map.of("Labels", value == null ? Map.of() : value));
+                    break;
+                case PORTS:
+                    source.put("HostConfig", Map.of("PortBindings", value == null ? Map.of() : value));
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown field - " + fields.get(i));
+            }
+        }
+        return Collections.unmodifiableMap(source);
+    }
+
+    private static String template(HtListContainersField field) {
+        switch (field) {
+            case NAME:
+                return "{{json .Name}}";
+            case CREATED_AT:
+                return "{{json .Created}}";
+            case LABELS:
+                return "{{json .Config.Labels}}";
+            case PORTS:
+                return "{{json .HostConfig.PortBindings}}";
+            default:
+                throw new IllegalStateException("Unknown field - " + field);
+        }
+    }
+}
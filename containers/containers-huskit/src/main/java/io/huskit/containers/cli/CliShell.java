@@ -2,7 +2,7 @@ package io.huskit.containers.cli;
 
 import io.huskit.common.Mutable;
 import io.huskit.common.Sneaky;
-import io.huskit.common.io.TeeBufferedReader;
+import io.huskit.common.concurrent.IoExecutors;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -22,7 +22,7 @@ class CliShell implements Shell {
     ShellType type;
     Process dockerProcess;
     BufferedWriter commandWriter;
-    BufferedReader commandOutputReader;
+    ShellOutputScanner output;
     AtomicBoolean isClosed;
     Mutable<Future<?>> errReadTask = Mutable.of();
 
@@ -31,12 +31,7 @@ class CliShell implements Shell {
         this.type = arg.shellType();
         var processBuilder = new ProcessBuilder(arg.shellType().pathForCurrentOs());
         this.dockerProcess = processBuilder.start();
-        var cr = new BufferedReader(new InputStreamReader(dockerProcess.getInputStream()));
-        if (arg.forwardStdout()) {
-            this.commandOutputReader = new TeeBufferedReader(cr);
-        } else {
-            this.commandOutputReader = cr;
-        }
+        this.output = new ShellOutputScanner(dockerProcess.getInputStream(), arg.forwardStdout() ? System.out : null);
         this.commandWriter = new BufferedWriter(new OutputStreamWriter(dockerProcess.getOutputStream()));
         var err = new BufferedReader(new InputStreamReader(dockerProcess.getErrorStream()));
         if (arg.forwardStderr()) {
@@ -48,16 +43,15 @@ class CliShell implements Shell {
                                     System.err.println(line);
                                 }
                             }
-                    ))
+                    ), IoExecutors.streams())
             );
         }
         this.isClosed = new AtomicBoolean();
     }
 
     @Override
-    @SneakyThrows
-    public String outLine() {
-        return commandOutputReader.readLine();
+    public ShellOutputScanner output() {
+        return output;
     }
 
     @Override
@@ -69,6 +63,11 @@ class CliShell implements Shell {
 
     }
 
+    @Override
+    public boolean isAlive() {
+        return !isClosed.get() && dockerProcess.isAlive();
+    }
+
     @Override
     public long pid() {
         return dockerProcess.pid();
@@ -81,7 +80,7 @@ class CliShell implements Shell {
             errReadTask.ifPresent(f -> f.cancel(true));
             dockerProcess.destroyForcibly();
             commandWriter.close();
-            commandOutputReader.close();
+            dockerProcess.getInputStream().close();
         }
     }
 }
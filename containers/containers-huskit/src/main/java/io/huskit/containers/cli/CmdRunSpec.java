@@ -23,6 +23,7 @@ class CmdRunSpec implements HtRunSpec {
     Mutable<Map<String, String>> env = Mutable.of();
     Mutable<Map<Integer, Integer>> ports = Mutable.of();
     Mutable<Boolean> remove = Mutable.of(false);
+    Mutable<Boolean> pullIfMissing = Mutable.of(false);
     Mutable<RunCommand> command = Mutable.of();
     @Getter
     Mutable<String> lookFor = Mutable.of();
@@ -114,6 +115,12 @@ class CmdRunSpec implements HtRunSpec {
         return this;
     }
 
+    @Override
+    public CmdRunSpec withPullIfMissing() {
+        this.pullIfMissing.set(true);
+        return this;
+    }
+
     public List<String> toCommand() {
         var processCmd = new ArrayList<String>(4);
         processCmd.add("docker");
@@ -124,6 +131,12 @@ class CmdRunSpec implements HtRunSpec {
                 processCmd.add("--rm");
             }
         });
+        pullIfMissing.ifPresent(pull -> {
+            if (pull) {
+                processCmd.add("--pull");
+                processCmd.add("missing");
+            }
+        });
         labels.ifPresent(labelMap -> labelMap.forEach((k, v) -> {
             processCmd.add("--label");
             processCmd.add(HtStrings.doubleQuotedParam(k, v));
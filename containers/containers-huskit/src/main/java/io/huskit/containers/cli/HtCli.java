@@ -1,41 +1,58 @@
 package io.huskit.containers.cli;
 
+import io.huskit.common.HtConstants;
 import io.huskit.common.Nothing;
 import io.huskit.common.function.MemoizedSupplier;
 import io.huskit.containers.model.CommandType;
-import lombok.Locked;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.With;
 
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+/**
+ * Sends commands to docker CLI through long-lived shells, kept in {@link ShellPool}, so that docker process
+ * does not need to be started for each command. Commands from different threads run in parallel, each in its own
+ * shell. Ids of containers started by any of the shells are collected in one place and removed on close,
+ * if cleanup on close is enabled.
+ */
 @RequiredArgsConstructor
 public class HtCli {
 
     @With
     HtCliDckrSpec dockerSpec;
     Shells shells;
-    MemoizedSupplier<DockerShell> process = MemoizedSupplier.of(this::createProcess);
+    Queue<String> containerIdsForCleanup = new ConcurrentLinkedQueue<>();
+    MemoizedSupplier<ShellPool<DockerShell>> pool = MemoizedSupplier.of(this::createPool);
     AtomicBoolean isClosed = new AtomicBoolean();
+    AtomicBoolean isStopped = new AtomicBoolean();
 
     public void sendCommand(HtCommand command) {
         sendCommand(command, Function.identity());
     }
 
-    @Locked
     public <T> T sendCommand(HtCommand command, Function<CommandResult, T> resultConsumer) {
         if (isClosed.get()) {
             throw new IllegalStateException("Cli is closed and  cannot be used anymore");
         }
-        var dockerShellProcess = process.get();
-        return dockerShellProcess.sendCommand(command, resultConsumer);
+        if (command.type() == CommandType.CONTAINERS_LOGS_FOLLOW) {
+            return new LogFollow(
+                    dockerSpec,
+                    dockerSpec.recorder(),
+                    containerIdsForCleanup
+            ).send(
+                    command,
+                    resultConsumer
+            );
+        }
+        var result = pool.get().withShell(shell -> shell.sendCommand(command));
+        return resultConsumer.apply(result);
     }
 
     public void sendCommand(HtCommand command, Consumer<CommandResult> resultConsumer) {
@@ -45,100 +62,142 @@ public class HtCli {
         });
     }
 
-    private DockerShell createProcess() {
-        return new DockerShell(this, dockerSpec, shells);
+    public Executor executor() {
+        return dockerSpec.executor();
+    }
+
+    CliRecorder recorder() {
+        return dockerSpec.recorder();
+    }
+
+    int shellPoolSize() {
+        return dockerSpec.shellPoolSize();
+    }
+
+    private ShellPool<DockerShell> createPool() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
+        return new ShellPool<>(
+                dockerSpec.shellPoolSize(),
+                id -> new DockerShell(id, dockerSpec, shells, containerIdsForCleanup),
+                DockerShell::isAlive,
+                DockerShell::close
+        );
     }
 
     public void close() {
-        if (process.isInitialized()) {
-            process.get().stop();
-        }
+        stop();
         isClosed.set(true);
     }
 
+    private void stop() {
+        if (isStopped.compareAndSet(false, true)) {
+            if (dockerSpec.isCleanOnClose() && !containerIdsForCleanup.isEmpty()) {
+                new HtCliRm(this, new HtCliRmSpec(new LinkedHashSet<>(containerIdsForCleanup)).withForce().withVolumes()).exec();
+            }
+            if (pool.isInitialized()) {
+                pool.get().close();
+            }
+        }
+    }
+
+    /**
+     * Single shell process, used by one command at a time. Markers that delimit command output include shell id,
+     * so that output of one shell can never be taken for the end of command in another.
+     */
     static class DockerShell {
 
-        private static final String RUN_LINE_MARKER = "__HUSKIT_RUN_MARKER__";
-        private static final String CLEAR_LINE_MARKER = "__HUSKIT_CLEAR_MARKER__";
-        AtomicBoolean isStopped = new AtomicBoolean();
-        HtCli parent;
+        static final String EXIT_CODE_MARKER = "__HUSKIT_EXIT_CODE__";
+        ByteMarker.Matcher runLineMarker;
+        ByteMarker.Matcher clearLineMarker;
         CliRecorder recorder;
         Queue<String> containerIdsForCleanup;
-        Boolean cleanupOnClose;
         Shell shell;
-        HtCliDckrSpec dockerSpec;
 
-        public DockerShell(HtCli parent, HtCliDckrSpec dockerSpec, Shells shells) {
-            this.parent = parent;
+        DockerShell(int id, HtCliDckrSpec dockerSpec, Shells shells, Queue<String> containerIdsForCleanup) {
+            this.runLineMarker = new ByteMarker(String.format("__HUSKIT_RUN_MARKER_%s__", id)).matcher();
+            this.clearLineMarker = new ByteMarker(String.format("__HUSKIT_CLEAR_MARKER_%s__", id)).matcher();
             this.recorder = dockerSpec.recorder();
-            this.cleanupOnClose = dockerSpec.isCleanOnClose();
-            this.containerIdsForCleanup = new ConcurrentLinkedQueue<>();
+            this.containerIdsForCleanup = containerIdsForCleanup;
             this.shell = shells.take(new ShellPickArg(
                             dockerSpec.shell(),
                             dockerSpec.forwardStdout(),
-                            dockerSpec.forwardStderr()
+                            dockerSpec.forwardStderr(),
+                            dockerSpec.executor()
                     )
             );
-            this.dockerSpec = dockerSpec;
-            Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
         }
 
-        public <T> T sendCommand(HtCommand command, Function<CommandResult, T> resultFunction) {
-            if (command.type() == CommandType.CONTAINERS_LOGS_FOLLOW) {
-                return new LogFollow(
-                        dockerSpec,
-                        recorder,
-                        containerIdsForCleanup
-                ).send(
-                        command,
-                        resultFunction
-                );
-            }
+        CommandResult sendCommand(HtCommand command) {
             doSendCommand(command);
-            shell.echo(RUN_LINE_MARKER);
-            return read(command, resultFunction);
+            if (command.type() == CommandType.CONTAINERS_EXEC) {
+                shell.write(shell.type().echoExitCode(EXIT_CODE_MARKER));
+            }
+            shell.echo(runLineMarker.text());
+            return read(command);
+        }
+
+        boolean isAlive() {
+            return shell.isAlive();
+        }
+
+        void close() {
+            shell.close();
         }
 
         private void doSendCommand(HtCommand command) {
             recorder.record(command);
-            shell.clearBuffer(CLEAR_LINE_MARKER);
+            shell.clearBuffer(clearLineMarker);
             shell.write(command.value());
         }
 
-        @SneakyThrows
-        private <T> T read(HtCommand command, Function<CommandResult, T> resultConsumer) {
-            var commandString = String.join(" ", command.value());
+        /**
+         * Reads command output until run marker. Markers, blank lines and command echo are recognized at byte level,
+         * other lines are decoded to strings only when command predicates need to see them or when they are
+         * added to result.
+         */
+        private CommandResult read(HtCommand command) {
+            var output = shell.output();
+            var commandEcho = new ByteMarker(String.join(" ", command.value())).matcher();
             var lines = new ArrayList<String>();
-            var line = shell.outLine().trim();
             var terminatePredicate = command.terminatePredicate();
+            var isTerminating = terminatePredicate != HtConstants.Predicates.<String>alwaysFalse();
             var linePredicate = command.linePredicate();
-            while (!line.endsWith(RUN_LINE_MARKER)) {
-                if (!line.isEmpty()) {
+            var isFiltering = linePredicate != HtConstants.Predicates.<String>alwaysTrue();
+            while (true) {
+                if (!output.next(runLineMarker, commandEcho)) {
+                    throw new IllegalStateException(String.format(
+                            "Docker shell exited while running command %s", command.value()
+                    ));
+                }
+                if (output.endsWith(runLineMarker)) {
+                    break;
+                }
+                if (output.isBlank()) {
+                    continue;
+                }
+                String line = null;
+                if (isTerminating) {
+                    line = output.line();
                     if (terminatePredicate.test(line)) {
                         shell.close();
                         lines.add(line);
                         break;
                     }
-                    if (!line.endsWith(commandString) && linePredicate.test(line)) {
+                }
+                if (!output.endsWith(commandEcho)) {
+                    if (line == null) {
+                        line = output.line();
+                    }
+                    if (!isFiltering || linePredicate.test(line)) {
                         lines.add(line);
                     }
                 }
-                line = shell.outLine();
             }
 
             if (command.type() == CommandType.CONTAINERS_RUN || command.type() == CommandType.CONTAINERS_RUN_FOLLOW) {
                 containerIdsForCleanup.add(lines.get(0));
             }
-            return resultConsumer.apply(new CommandResult(lines));
-        }
-
-        private void stop() {
-            if (isStopped.compareAndSet(false, true)) {
-                if (cleanupOnClose && !containerIdsForCleanup.isEmpty()) {
-                    new HtCliRm(parent, new HtCliRmSpec(new LinkedHashSet<>(containerIdsForCleanup)).withForce().withVolumes()).exec();
-                }
-                shell.close();
-            }
+            return new CommandResult(lines);
         }
     }
 }
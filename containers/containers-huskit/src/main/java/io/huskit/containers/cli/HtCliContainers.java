@@ -3,6 +3,7 @@ package io.huskit.containers.cli;
 import io.huskit.containers.api.container.HtContainer;
 import io.huskit.containers.api.container.HtContainers;
 import io.huskit.containers.api.container.HtCreate;
+import io.huskit.containers.api.container.HtInspectException;
 import io.huskit.containers.api.container.HtStart;
 import io.huskit.containers.api.container.exec.HtExec;
 import io.huskit.containers.api.container.list.HtListContainers;
@@ -14,6 +15,7 @@ import io.huskit.containers.api.image.HtImgName;
 import lombok.RequiredArgsConstructor;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -55,6 +57,40 @@ class HtCliContainers implements HtContainers {
                 .orElseThrow(() -> new NoSuchElementException("No container found with id: " + containerId));
     }
 
+    @Override
+    public CompletableFuture<List<HtContainer>> inspectAsync(Iterable<? extends CharSequence> containerIds) {
+        var ids = new ArrayList<String>();
+        for (var containerId : containerIds) {
+            ids.add(containerId.toString());
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            var found = new HashMap<String, HtContainer>();
+            inspect(ids).forEach(container -> found.put(container.id(), container));
+            var containers = new ArrayList<HtContainer>(ids.size());
+            var failures = new LinkedHashMap<String, Throwable>();
+            for (var id : ids) {
+                var container = found.get(id);
+                if (container == null) {
+                    failures.put(id, new NoSuchElementException("No container found with id: " + id));
+                } else {
+                    containers.add(container);
+                }
+            }
+            if (!failures.isEmpty()) {
+                throw new HtInspectException(containers, failures);
+            }
+            return containers;
+        }, dockerSpec.executor());
+    }
+
+    /**
+     * CLI client does not cache inspect results, so this is the same as inspect of single container.
+     */
+    @Override
+    public CompletableFuture<HtContainer> inspectFreshAsync(CharSequence containerId) {
+        return inspectAsync(List.of(containerId)).thenApply(containers -> containers.get(0));
+    }
+
     @Override
     public HtLogs logs(CharSequence containerId) {
         return new HtCliLogs(cli, containerId.toString());
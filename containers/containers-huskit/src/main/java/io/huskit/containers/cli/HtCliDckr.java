@@ -48,4 +48,9 @@ public class HtCliDckr implements HtCliDocker {
     public HtCliVolumes volumes() {
         return new HtCliVolumes(cli, spec);
     }
+
+    @Override
+    public HtCliEvents events() {
+        return new HtCliEvents(cli);
+    }
 }
@@ -1,8 +1,11 @@
 package io.huskit.containers.cli;
 
 import io.huskit.common.Volatile;
+import io.huskit.common.concurrent.IoExecutors;
 import lombok.AllArgsConstructor;
 
+import java.util.concurrent.Executor;
+
 @AllArgsConstructor
 public class HtCliDckrSpec implements HtCliDockerSpec {
 
@@ -12,6 +15,8 @@ public class HtCliDckrSpec implements HtCliDockerSpec {
     Volatile<Boolean> forwardStderr;
     Volatile<Boolean> forwardStdout;
     Volatile<String> imagePrefix;
+    Volatile<Executor> executor;
+    Volatile<Integer> shellPoolSize;
 
     public HtCliDckrSpec() {
         this(
@@ -20,7 +25,9 @@ public class HtCliDckrSpec implements HtCliDockerSpec {
                 Volatile.of(ShellType.DEFAULT),
                 Volatile.of(false),
                 Volatile.of(false),
-                Volatile.of("")
+                Volatile.of(""),
+                Volatile.of(IoExecutors.shared()),
+                Volatile.of(4)
         );
     }
 
@@ -31,7 +38,9 @@ public class HtCliDckrSpec implements HtCliDockerSpec {
                 Volatile.of(another.shell()),
                 Volatile.of(another.forwardStderr()),
                 Volatile.of(another.forwardStdout()),
-                Volatile.of(another.imagePrefix())
+                Volatile.of(another.imagePrefix()),
+                Volatile.of(another.executor()),
+                Volatile.of(another.shellPoolSize())
         );
     }
 
@@ -59,6 +68,21 @@ public class HtCliDckrSpec implements HtCliDockerSpec {
         return this;
     }
 
+    @Override
+    public HtCliDckrSpec withExecutor(Executor executor) {
+        this.executor.set(executor);
+        return this;
+    }
+
+    @Override
+    public HtCliDckrSpec withShellPoolSize(Integer shellPoolSize) {
+        if (shellPoolSize < 1) {
+            throw new IllegalArgumentException("Shell pool size should be positive, but got " + shellPoolSize);
+        }
+        this.shellPoolSize.set(shellPoolSize);
+        return this;
+    }
+
     @Override
     public HtCliDckrSpec withCleanOnClose(Boolean cleanOnClose) {
         this.cleanOnClose.set(cleanOnClose);
@@ -94,4 +118,12 @@ public class HtCliDckrSpec implements HtCliDockerSpec {
     public String imagePrefix() {
         return imagePrefix.require();
     }
+
+    public Executor executor() {
+        return executor.require();
+    }
+
+    public Integer shellPoolSize() {
+        return shellPoolSize.require();
+    }
 }
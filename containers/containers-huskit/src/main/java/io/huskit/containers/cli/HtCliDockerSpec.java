@@ -2,6 +2,8 @@ package io.huskit.containers.cli;
 
 import io.huskit.containers.api.docker.HtDockerSpec;
 
+import java.util.concurrent.Executor;
+
 public interface HtCliDockerSpec extends HtDockerSpec {
 
     HtCliDockerSpec withCliRecorder(CliRecorder recorder);
@@ -12,6 +14,17 @@ public interface HtCliDockerSpec extends HtDockerSpec {
 
     HtCliDockerSpec withForwardStdout(Boolean forwardStdout);
 
+    /**
+     * Executor for async calls and for threads reading docker process output.
+     */
+    HtCliDockerSpec withExecutor(Executor executor);
+
+    /**
+     * Maximum number of docker shells kept by client. Commands sent from different threads run in parallel,
+     * each in its own shell, and wait only when all shells are busy. Default is 4.
+     */
+    HtCliDockerSpec withShellPoolSize(Integer shellPoolSize);
+
     @Override
     HtCliDockerSpec withCleanOnClose(Boolean cleanOnClose);
 
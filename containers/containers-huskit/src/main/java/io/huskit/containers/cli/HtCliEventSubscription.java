@@ -0,0 +1,57 @@
+package io.huskit.containers.cli;
+
+import io.huskit.containers.api.events.HtEventSubscription;
+import lombok.Getter;
+import lombok.experimental.NonFinal;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+final class HtCliEventSubscription implements HtEventSubscription {
+
+    @Getter
+    CompletableFuture<Void> opened;
+    @Getter
+    CompletableFuture<Void> completion;
+    @NonFinal
+    @Nullable
+    volatile Process process;
+    @NonFinal
+    volatile boolean isClosed;
+
+    HtCliEventSubscription() {
+        this.opened = new CompletableFuture<>();
+        this.completion = new CompletableFuture<>();
+    }
+
+    @Override
+    public void close() {
+        isClosed = true;
+        var currentProcess = process;
+        if (currentProcess != null) {
+            currentProcess.destroyForcibly();
+        }
+    }
+
+    void started(Process process) {
+        this.process = process;
+        if (isClosed) {
+            process.destroyForcibly();
+        }
+        opened.complete(null);
+    }
+
+    /**
+     * Process failure after {@link #close()} is expected, because closing kills the process,
+     * so subscription is completed normally in that case.
+     */
+    void complete(@Nullable Exception error) {
+        if (error == null || isClosed) {
+            opened.complete(null);
+            completion.complete(null);
+        } else {
+            opened.completeExceptionally(error);
+            completion.completeExceptionally(error);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.huskit.containers.cli;
+
+import io.huskit.common.HtConstants;
+import io.huskit.common.concurrent.IoExecutors;
+import io.huskit.containers.api.events.HtEvent;
+import io.huskit.containers.api.events.HtEventSubscription;
+import io.huskit.containers.api.events.HtEvents;
+import io.huskit.containers.api.events.HtEventsSpec;
+import io.huskit.containers.api.events.JsonHtEvent;
+import io.huskit.containers.internal.HtJson;
+import io.huskit.containers.model.CommandType;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streams docker events with {@code docker events}, one process per subscription, read on its own thread.
+ * <p>
+ * CLI does not report when daemon accepted subscription, so subscription is considered open as soon as process
+ * starts, and, unless {@link HtEventsSpec#withSince} is given, events are requested since
+ * {@value #SINCE_MARGIN_SECONDS} second before that. Events that happen while process connects to daemon are
+ * replayed, and small clock difference between client and daemon does not lose events, at the cost of possibly
+ * delivering a few events that happened just before subscription.
+ */
+public final class HtCliEvents implements HtEvents {
+
+    private static final int SINCE_MARGIN_SECONDS = 1;
+    List<String> command;
+    CliRecorder recorder;
+
+    public HtCliEvents(HtCli cli) {
+        this(List.of("docker", "events"), cli.recorder());
+    }
+
+    HtCliEvents(List<String> command, CliRecorder recorder) {
+        this.command = command;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public HtEventSubscription subscribe(Consumer<HtEvent> listener) {
+        return subscribe(HtConstants.Consumers.noop(), listener);
+    }
+
+    @Override
+    public HtEventSubscription subscribe(Consumer<HtEventsSpec> specAction, Consumer<HtEvent> listener) {
+        var spec = new HtCliEventsSpec();
+        specAction.accept(spec);
+        var args = spec.toArgs(Instant.now().minus(Duration.ofSeconds(SINCE_MARGIN_SECONDS)));
+        var fullCommand = new ArrayList<String>(command.size() + args.size());
+        fullCommand.addAll(command);
+        fullCommand.addAll(args);
+        recorder.record(new CliCommand(CommandType.EVENTS, fullCommand));
+        var subscription = new HtCliEventSubscription();
+        Process process;
+        try {
+            process = new ProcessBuilder(fullCommand)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+        } catch (Exception e) {
+            subscription.complete(e);
+            return subscription;
+        }
+        subscription.started(process);
+        IoExecutors.streams().execute(() -> read(process, listener, subscription));
+        return subscription;
+    }
+
+    private static void read(Process process, Consumer<HtEvent> listener, HtCliEventSubscription subscription) {
+        try (var reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    listener.accept(new JsonHtEvent(HtJson.toMap(line)));
+                }
+            }
+            var exitCode = process.waitFor();
+            if (exitCode == 0) {
+                subscription.complete(null);
+            } else {
+                subscription.complete(new IllegalStateException(String.format(
+                        "Docker events process exited with code [%s]", exitCode
+                )));
+            }
+        } catch (Exception e) {
+            process.destroyForcibly();
+            subscription.complete(e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.huskit.containers.cli;
+
+import io.huskit.common.Mutable;
+import io.huskit.containers.api.events.HtEventsSpec;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+class HtCliEventsSpec implements HtEventsSpec {
+
+    List<String> filters = new ArrayList<>();
+    Mutable<Instant> since = Mutable.of();
+
+    @Override
+    public HtCliEventsSpec withTypeFilter(CharSequence type) {
+        return withFilter("type", type.toString());
+    }
+
+    @Override
+    public HtCliEventsSpec withEventFilter(CharSequence action) {
+        return withFilter("event", action.toString());
+    }
+
+    @Override
+    public HtCliEventsSpec withContainerFilter(CharSequence containerIdOrName) {
+        return withFilter("container", containerIdOrName.toString());
+    }
+
+    @Override
+    public HtCliEventsSpec withLabelFilter(CharSequence label, CharSequence value) {
+        return withFilter("label", label.toString() + "=" + value.toString());
+    }
+
+    @Override
+    public HtCliEventsSpec withLabelFilter(CharSequence label) {
+        return withFilter("label", label.toString());
+    }
+
+    @Override
+    public HtCliEventsSpec withSince(Instant since) {
+        this.since.set(since);
+        return this;
+    }
+
+    /**
+     * Arguments are passed to process directly, not through shell, so they are not quoted.
+     *
+     * @param defaultSince used if {@link #withSince(Instant)} was not called
+     */
+    public List<String> toArgs(Instant defaultSince) {
+        var args = new ArrayList<String>(filters.size() + 4);
+        args.addAll(filters);
+        var sinceValue = since.or(defaultSince);
+        args.add("--since");
+        args.add(String.format("%d.%09d", sinceValue.getEpochSecond(), sinceValue.getNano()));
+        args.add("--format");
+        args.add("{{json .}}");
+        return args;
+    }
+
+    private HtCliEventsSpec withFilter(String key, String value) {
+        filters.add("--filter");
+        filters.add(key + "=" + value);
+        return this;
+    }
+}
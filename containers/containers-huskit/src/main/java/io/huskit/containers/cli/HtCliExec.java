@@ -1,10 +1,19 @@
 package io.huskit.containers.cli;
 
+import io.huskit.containers.api.container.exec.DfHtExecResult;
 import io.huskit.containers.api.container.exec.HtExec;
+import io.huskit.containers.api.container.exec.HtExecResult;
+import io.huskit.containers.model.CommandType;
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+/**
+ * Runs {@code docker exec} in shell and reads exit code that shell prints after it. Stderr of the shell
+ * is not captured, so result has only stdout lines.
+ */
 @RequiredArgsConstructor
 class HtCliExec implements HtExec {
 
@@ -12,19 +21,37 @@ class HtCliExec implements HtExec {
     HtCliExecSpec spec;
 
     @Override
-    public void exec() {
-//        return cli.sendCommand(
-//                new CliCommand(
-//                        CommandType.CONTAINERS_EXEC,
-//                        spec.toCommand()
-//                ),
-//                Function.identity()
-//        );
+    public HtExecResult exec() {
+        return toResult(
+                cli.sendCommand(
+                        new CliCommand(
+                                CommandType.CONTAINERS_EXEC,
+                                spec.toCommand()
+                        ),
+                        CommandResult::lines
+                )
+        );
     }
 
     @Override
-    public CompletableFuture<Void> execAsync() {
-        return null;
-//        return CompletableFuture.supplyAsync(this::exec);
+    public CompletableFuture<HtExecResult> execAsync() {
+        return CompletableFuture.supplyAsync(this::exec, cli.executor());
+    }
+
+    static HtExecResult toResult(List<String> lines) {
+        var stdOut = new ArrayList<String>(lines.size());
+        Integer exitCode = null;
+        for (var line : lines) {
+            var markerIndex = line.indexOf(HtCli.DockerShell.EXIT_CODE_MARKER);
+            if (markerIndex == -1) {
+                stdOut.add(line);
+            } else if (markerIndex == 0) {
+                exitCode = Integer.parseInt(line.substring(HtCli.DockerShell.EXIT_CODE_MARKER.length()).trim());
+            }
+        }
+        if (exitCode == null) {
+            throw new IllegalStateException("Exit code was not found in exec output: " + lines);
+        }
+        return new DfHtExecResult(exitCode, stdOut, List.of());
     }
 }
@@ -1,76 +1,201 @@
 package io.huskit.containers.cli;
 
+import io.huskit.common.concurrent.IoExecutors;
 import io.huskit.containers.api.container.logs.HtFollowedLogs;
 import io.huskit.containers.api.container.logs.Logs;
 import io.huskit.containers.api.container.logs.LookFor;
-import lombok.RequiredArgsConstructor;
-import lombok.With;
+import io.huskit.containers.model.CommandType;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
-@With
-@RequiredArgsConstructor
+/**
+ * Follows container logs with {@code docker logs -f}, one process per call.
+ * <p>
+ * Lines are read lazily from process output, as caller consumes returned streams, through fixed size reader buffer.
+ * When caller falls behind, OS pipe fills up and docker process waits, so memory stays flat no matter how much
+ * container logs. Closing returned stream, or completing or cancelling returned future, kills the process.
+ * Output that is not needed, like stderr for {@link #streamStdOut()}, is discarded by the process itself, so that
+ * it cannot stall the other one. Both streams of {@link #stream()} should be read concurrently for the same reason.
+ */
 public class HtCliFollowedLogs implements HtFollowedLogs {
 
-    HtCli cli;
     String id;
-    LookFor lookFor;
+    List<String> command;
+    Executor executor;
+    CliRecorder recorder;
+
+    public HtCliFollowedLogs(HtCli cli, String id) {
+        this(id, List.of("docker", "logs", "-f", id), IoExecutors.streams(), cli.recorder());
+    }
+
+    HtCliFollowedLogs(String id, List<String> command, Executor executor, CliRecorder recorder) {
+        this.id = id;
+        this.command = command;
+        this.executor = executor;
+        this.recorder = recorder;
+    }
 
     @Override
     public Logs stream() {
-        return null;
+        var process = start(ProcessBuilder.Redirect.PIPE, ProcessBuilder.Redirect.PIPE);
+        return new ProcessLogs(process);
     }
 
     @Override
     public CompletableFuture<Logs> streamAsync() {
-        return null;
+        return CompletableFuture.supplyAsync(this::stream, executor);
     }
 
     @Override
     public Stream<String> streamStdOut() {
-        return Stream.empty();
+        var process = start(ProcessBuilder.Redirect.PIPE, ProcessBuilder.Redirect.DISCARD);
+        return lines(process, process.getInputStream());
     }
 
     @Override
     public CompletableFuture<Stream<String>> streamStdOutAsync() {
-        return null;
+        return CompletableFuture.supplyAsync(this::streamStdOut, executor);
     }
 
     @Override
     public Stream<String> streamStdErr() {
-        return Stream.empty();
+        var process = start(ProcessBuilder.Redirect.DISCARD, ProcessBuilder.Redirect.PIPE);
+        return lines(process, process.getErrorStream());
     }
 
     @Override
     public CompletableFuture<Stream<String>> streamStdErrAsync() {
-        return null;
+        return CompletableFuture.supplyAsync(this::streamStdErr, executor);
     }
 
     @Override
     public void lookFor(LookFor lookFor) {
-
+        lookForAsync(lookFor).join();
     }
 
+    /**
+     * Reads logs until matching line, without keeping lines that were already checked. Fails if logs end first,
+     * which happens when container stops, or when timeout of {@code lookFor} passes, if it is not zero.
+     */
     @Override
     public CompletableFuture<Void> lookForAsync(LookFor lookFor) {
-        return null;
-    }
-
-//    @Override
-//    public Stream<String> stream() {
-//        return cli.sendCommand(
-//                new CliCommand(
-//                        CommandType.CONTAINERS_LOGS_FOLLOW,
-//                        List.of("docker", "logs", "-f", id)
-//                ).withTerminatePredicate(line -> !Objects.equals(lookFor, LookFor.nothing()) && lookFor.predicate().test(line))
-//                        .withTimeout(lookFor.timeout()),
-//                CommandResult::lines
-//        ).stream();
-//    }
-//
-//    @Override
-//    public HtCliFollowedLogs lookFor(LookFor lookFor) {
-//        return this.withLookFor(lookFor);
-//    }
+        Process process;
+        try {
+            process = start(
+                    lookFor.isOnlyInStdErr() ? ProcessBuilder.Redirect.DISCARD : ProcessBuilder.Redirect.PIPE,
+                    lookFor.isOnlyInStdOut() ? ProcessBuilder.Redirect.DISCARD : ProcessBuilder.Redirect.PIPE
+            );
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        var result = new CompletableFuture<Void>();
+        result.whenComplete((v, e) -> process.destroyForcibly());
+        var timeout = lookFor.timeout();
+        if (!timeout.isZero()) {
+            var timer = IoExecutors.scheduler().schedule(
+                    () -> result.completeExceptionally(new IllegalStateException(String.format(
+                            "Container [%s] did not log matching line within %s", id, timeout
+                    ))),
+                    timeout.toNanos(),
+                    TimeUnit.NANOSECONDS
+            );
+            result.whenComplete((v, e) -> timer.cancel(false));
+        }
+        var readers = new ArrayList<CompletableFuture<Void>>(2);
+        if (!lookFor.isOnlyInStdErr()) {
+            readers.add(CompletableFuture.runAsync(() -> scan(process, process.getInputStream(), lookFor, result), executor));
+        }
+        if (!lookFor.isOnlyInStdOut()) {
+            readers.add(CompletableFuture.runAsync(() -> scan(process, process.getErrorStream(), lookFor, result), executor));
+        }
+        CompletableFuture.allOf(readers.toArray(new CompletableFuture<?>[0])).whenComplete((v, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+            } else {
+                result.completeExceptionally(new IllegalStateException(String.format(
+                        "Logs of container [%s] ended before matching line was logged", id
+                )));
+            }
+        });
+        return result;
+    }
+
+    private Process start(ProcessBuilder.Redirect stdOut, ProcessBuilder.Redirect stdErr) {
+        recorder.record(new CliCommand(CommandType.CONTAINERS_LOGS_FOLLOW, command));
+        try {
+            return new ProcessBuilder(command)
+                    .redirectOutput(stdOut)
+                    .redirectError(stdErr)
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void scan(Process process, InputStream in, LookFor lookFor, CompletableFuture<Void> result) {
+        var reader = reader(in);
+        var predicate = lookFor.predicate();
+        String line;
+        while (!result.isDone() && (line = readLine(process, reader)) != null) {
+            if (predicate.test(line)) {
+                result.complete(null);
+                return;
+            }
+        }
+    }
+
+    private static Stream<String> lines(Process process, InputStream in) {
+        var reader = reader(in);
+        return Stream.generate(() -> readLine(process, reader))
+                .takeWhile(Objects::nonNull)
+                .onClose(process::destroyForcibly);
+    }
+
+    private static BufferedReader reader(InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    @Nullable
+    private static String readLine(Process process, BufferedReader reader) {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            if (!process.isAlive()) {
+                return null;
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class ProcessLogs implements Logs {
+
+        Process process;
+
+        ProcessLogs(Process process) {
+            this.process = process;
+        }
+
+        @Override
+        public Stream<String> stdOut() {
+            return lines(process, process.getInputStream());
+        }
+
+        @Override
+        public Stream<String> stdErr() {
+            return lines(process, process.getErrorStream());
+        }
+    }
 }
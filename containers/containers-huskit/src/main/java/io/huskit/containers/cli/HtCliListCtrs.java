@@ -28,7 +28,8 @@ class HtCliListCtrs implements HtListContainers {
         } else {
             return new HtFindCliCtrsByIds(
                     cli,
-                    requestedIds
+                    requestedIds,
+                    args.projection()
             ).stream();
         }
     }
@@ -40,12 +41,12 @@ class HtCliListCtrs implements HtListContainers {
 
     @Override
     public CompletableFuture<List<HtContainer>> asListAsync() {
-        return CompletableFuture.supplyAsync(this::asList);
+        return CompletableFuture.supplyAsync(this::asList, cli.executor());
     }
 
     @Override
     public CompletableFuture<Stream<HtContainer>> asStreamAsync() {
-        return CompletableFuture.supplyAsync(this::asStream);
+        return CompletableFuture.supplyAsync(this::asStream, cli.executor());
     }
 
     private Set<String> findIds() {
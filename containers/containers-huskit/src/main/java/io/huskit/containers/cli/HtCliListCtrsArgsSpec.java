@@ -2,6 +2,7 @@ package io.huskit.containers.cli;
 
 import io.huskit.common.HtStrings;
 import io.huskit.common.Volatile;
+import io.huskit.containers.api.container.list.HtListContainersField;
 import io.huskit.containers.api.container.list.HtListContainersFilterType;
 import io.huskit.containers.api.container.list.arg.HtListContainersArgsSpec;
 import lombok.RequiredArgsConstructor;
@@ -16,9 +17,10 @@ class HtCliListCtrsArgsSpec implements HtListContainersArgsSpec {
     Volatile<Boolean> all;
     Map<HtListContainersFilterType, Map.Entry<String, String>> filters;
     Map<String, String> labels;
+    Set<HtListContainersField> projection;
 
     public HtCliListCtrsArgsSpec() {
-        this(Volatile.of(false), new LinkedHashMap<>(), new LinkedHashMap<>());
+        this(Volatile.of(false), new LinkedHashMap<>(), new LinkedHashMap<>(), EnumSet.noneOf(HtListContainersField.class));
     }
 
     @Override
@@ -50,6 +52,16 @@ class HtCliListCtrsArgsSpec implements HtListContainersArgsSpec {
         return withLabelFilter(label, "");
     }
 
+    @Override
+    public HtCliListCtrsArgsSpec withProjection(HtListContainersField... fields) {
+        this.projection.addAll(Arrays.asList(fields));
+        return this;
+    }
+
+    public Set<HtListContainersField> projection() {
+        return Collections.unmodifiableSet(projection);
+    }
+
     public List<HtArg> build() {
         var all = this.all.require();
         var result = new ArrayList<HtArg>(filters.size());
@@ -48,7 +48,7 @@ public class HtCliLogs implements HtLogs {
 
     @Override
     public HtFollowedLogs follow() {
-        return null;
+        return new HtCliFollowedLogs(cli, id);
     }
 
 //    @Override
@@ -4,9 +4,11 @@ import io.huskit.common.Mutable;
 import io.huskit.common.Volatile;
 import io.huskit.containers.api.image.HtImgName;
 import io.huskit.containers.api.image.HtPullImagesSpec;
+import io.huskit.containers.api.image.HtPullProgress;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class HtCliPullImagesSpec implements HtPullImagesSpec {
 
@@ -37,6 +39,11 @@ public class HtCliPullImagesSpec implements HtPullImagesSpec {
         return this;
     }
 
+    @Override
+    public HtCliPullImagesSpec withProgressListener(Consumer<HtPullProgress> listener) {
+        return this;
+    }
+
     public List<String> toCommand() {
         var command = new ArrayList<String>(4);
         command.add("docker");
@@ -141,16 +141,13 @@ class HtCliVolumes implements HtVolumes {
                 ),
                 CommandResult::lines
         );
-        var ids = new ArrayList<String>();
-        for (var volumeId : volumeIds) {
-            ids.add(volumeId.toString());
-        }
         var result = new ArrayList<HtVolumeView>(jsons.size());
-        for (var idx = 0; idx < jsons.size(); idx++) {
+        for (var json : jsons) {
+            var volume = HtJson.toMap(json);
             result.add(
                     new JsonHtVolumeView(
-                            ids.get(idx),
-                            HtJson.toMap(jsons.get(idx))
+                            (String) volume.get("Name"),
+                            volume
                     )
             );
         }
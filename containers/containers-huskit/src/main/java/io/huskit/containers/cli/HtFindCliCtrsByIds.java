@@ -3,50 +3,161 @@ package io.huskit.containers.cli;
 import io.huskit.common.HtStrings;
 import io.huskit.containers.api.container.HtContainer;
 import io.huskit.containers.api.container.HtJsonContainer;
+import io.huskit.containers.api.container.HtProjectedContainer;
+import io.huskit.containers.api.container.list.HtListContainersField;
 import io.huskit.containers.internal.HtJson;
 import io.huskit.containers.model.CommandType;
-import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-@RequiredArgsConstructor
+/**
+ * Inspects containers by ids with {@code docker inspect}.
+ * <p>
+ * Ids are split into chunks, so that no command line is longer than {@value #MAX_COMMAND_LENGTH} characters, which
+ * keeps it within limits of every supported shell, and so that large sets are spread over all shells of
+ * {@link HtCli}. Chunks run concurrently and returned stream yields containers of each chunk as soon as it
+ * completes, in completion order. Small sets are inspected with single command on calling thread.
+ * <p>
+ * When projection is given, docker prints only projected fields, see {@link CliProjection}, and full inspect of
+ * each container is run only if it is needed, see {@link HtProjectedContainer}.
+ */
 class HtFindCliCtrsByIds {
 
+    static final int MAX_COMMAND_LENGTH = 8000;
+    static final int MIN_CHUNK_SIZE = 16;
+    static final List<String> INSPECT_ARGS = inspectArgs("{{json .}}");
     HtCli cli;
     Set<String> ids;
+    Set<HtListContainersField> projection;
+
+    HtFindCliCtrsByIds(HtCli cli, Set<String> ids) {
+        this(cli, ids, Set.of());
+    }
+
+    HtFindCliCtrsByIds(HtCli cli, Set<String> ids, Set<HtListContainersField> projection) {
+        this.cli = cli;
+        this.ids = ids;
+        this.projection = projection;
+    }
 
-    @SneakyThrows
     public Stream<HtContainer> stream() {
+        Function<String, HtContainer> toContainer;
+        List<String> staticArgs;
+        if (projection.isEmpty()) {
+            staticArgs = INSPECT_ARGS;
+            toContainer = line -> new HtJsonContainer(HtJson.toMap(line));
+        } else {
+            var cliProjection = new CliProjection(projection);
+            staticArgs = inspectArgs(cliProjection.format());
+            toContainer = line -> {
+                var source = cliProjection.toSource(line);
+                var id = (String) source.get("Id");
+                return new HtProjectedContainer(source, projection, () -> inspectFully(id));
+            };
+        }
+        var chunks = chunks(new ArrayList<>(ids), staticArgs, MAX_COMMAND_LENGTH, cli.shellPoolSize());
+        if (chunks.size() == 1) {
+            return inspect(chunks.get(0), staticArgs, toContainer).stream();
+        }
+        BlockingQueue<CompletableFuture<List<HtContainer>>> completed = new LinkedBlockingQueue<>();
+        var futures = new ArrayList<CompletableFuture<List<HtContainer>>>(chunks.size());
+        for (var chunk : chunks) {
+            var future = CompletableFuture.supplyAsync(() -> inspect(chunk, staticArgs, toContainer), cli.executor());
+            future.whenComplete((containers, e) -> completed.add(future));
+            futures.add(future);
+        }
+        return IntStream.range(0, chunks.size())
+                .mapToObj(i -> takeCompleted(completed))
+                .flatMap(List::stream)
+                .onClose(() -> futures.forEach(future -> future.cancel(false)));
+    }
+
+    /**
+     * Splits ids so that each chunk fits into command length budget together with static arguments, and, when there
+     * are enough ids, so that there is chunk for each of {@code parallelism} shells.
+     */
+    static List<List<String>> chunks(List<String> ids, List<String> staticArgs, int maxCommandLength, int parallelism) {
+        var maxChunkSize = Math.max(MIN_CHUNK_SIZE, (ids.size() + parallelism - 1) / parallelism);
+        var staticLength = String.join(" ", staticArgs).length();
+        var chunks = new ArrayList<List<String>>();
+        var chunk = new ArrayList<String>();
+        var length = staticLength;
+        for (var id : ids) {
+            var idLength = id.length() + 1;
+            if (!chunk.isEmpty() && (length + idLength > maxCommandLength || chunk.size() == maxChunkSize)) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                length = staticLength;
+            }
+            chunk.add(id);
+            length += idLength;
+        }
+        if (!chunk.isEmpty() || chunks.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private List<HtContainer> inspect(List<String> chunk,
+                                      List<String> staticArgs,
+                                      Function<String, HtContainer> toContainer) {
+        var command = new ArrayList<String>(staticArgs.size() + chunk.size());
+        command.addAll(staticArgs);
+        command.addAll(chunk);
         try {
-            return cli.sendCommand(
+            var lines = cli.sendCommand(
                     new CliCommand(
                             CommandType.CONTAINERS_INSPECT,
-                            buildListContainersCommand(ids)
+                            command
                     ).withLinePredicate(Predicate.not(String::isBlank)),
-                    result -> {
-                        return result.lines().stream()
-                                .map(HtJson::toMap)
-                                .map(HtJsonContainer::new);
-                    }
+                    CommandResult::lines
             );
+            var containers = new ArrayList<HtContainer>(lines.size());
+            for (var line : lines) {
+                containers.add(toContainer.apply(line));
+            }
+            return containers;
         } catch (Exception e) {
-            throw new IllegalStateException(String.format("Failed to find containers by ids - %s", ids), e);
+            throw new IllegalStateException(String.format("Failed to find containers by ids - %s", chunk), e);
         }
     }
 
-    private List<String> buildListContainersCommand(Set<String> ids) {
-        var staticArgsSize = 4;
-        var command = new ArrayList<String>(staticArgsSize + ids.size());
-        command.add("docker");
-        command.add("inspect");
-        command.add("--format");
-        command.add(HtStrings.doubleQuote("{{json .}}"));
-        command.addAll(ids);
-        return command;
+    private HtContainer inspectFully(String id) {
+        return new HtFindCliCtrsByIds(cli, Set.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("No container found with id: " + id));
+    }
+
+    private static List<String> inspectArgs(String format) {
+        return List.of("docker", "inspect", "--format", HtStrings.doubleQuote(format));
+    }
+
+    private static List<HtContainer> takeCompleted(BlockingQueue<CompletableFuture<List<HtContainer>>> completed) {
+        CompletableFuture<List<HtContainer>> future;
+        try {
+            future = completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for inspect results", e);
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
     }
 }
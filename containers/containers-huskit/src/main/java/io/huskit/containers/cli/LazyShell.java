@@ -30,8 +30,13 @@ public class LazyShell implements Shell {
     }
 
     @Override
-    public String outLine() {
-        return shellDelegate.get().outLine();
+    public ShellOutputScanner output() {
+        return shellDelegate.get().output();
+    }
+
+    @Override
+    public boolean isAlive() {
+        return !shellDelegate.isInitialized() || shellDelegate.get().isAlive();
     }
 
     @Override
@@ -3,6 +3,7 @@ package io.huskit.containers.cli;
 import io.huskit.common.Mutable;
 import io.huskit.common.Sneaky;
 import io.huskit.common.Volatile;
+import io.huskit.common.concurrent.IoExecutors;
 import io.huskit.common.io.TeeBufferedReader;
 import io.huskit.containers.model.CommandType;
 import lombok.RequiredArgsConstructor;
@@ -74,7 +75,8 @@ public class LogFollow {
                                                     }
                                                 }
                                             }
-                                    )
+                                    ),
+                                    IoExecutors.streams()
                             )
                     );
                 }
@@ -103,7 +105,7 @@ public class LogFollow {
             } finally {
                 errReadTask.ifPresent(f -> f.cancel(true));
             }
-        });
+        }, IoExecutors.streams());
     }
 
     private BufferedReader getReader(Process process) {
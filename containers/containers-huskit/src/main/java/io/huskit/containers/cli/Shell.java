@@ -1,7 +1,5 @@
 package io.huskit.containers.cli;
 
-import java.util.Objects;
-
 public interface Shell {
 
     void write(String command);
@@ -14,7 +12,17 @@ public interface Shell {
 
     long pid();
 
-    String outLine();
+    /**
+     * @return next line of shell output without surrounding whitespace, or {@code null} if shell has exited
+     */
+    default String outLine() {
+        var output = output();
+        return output.next() ? output.line() : null;
+    }
+
+    ShellOutputScanner output();
+
+    boolean isAlive();
 
     void close();
 
@@ -22,11 +30,13 @@ public interface Shell {
         write("echo " + message);
     }
 
-    default void clearBuffer(String clearMarker) {
-        echo(clearMarker);
-        var line = outLine();
-        while (!Objects.equals(line, clearMarker)) {
-            line = outLine();
-        }
+    default void clearBuffer(ByteMarker.Matcher clearMarker) {
+        echo(clearMarker.text());
+        var output = output();
+        do {
+            if (!output.next(clearMarker)) {
+                throw new IllegalStateException("Shell exited while clearing output buffer");
+            }
+        } while (!output.isExactly(clearMarker));
     }
 }
@@ -0,0 +1,142 @@
+package io.huskit.containers.cli;
+
+import lombok.experimental.NonFinal;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Splits shell stdout into lines at byte level, reusing the same buffers for every line.
+ * <p>
+ * While line is read, its bytes are fed to given {@link ByteMarker.Matcher}s, so markers are found in the same pass
+ * that looks for line end. Line is decoded to string only if caller asks for it, so lines that are skipped,
+ * like markers or lines filtered out by command, cost no allocation. Large {@code docker inspect} outputs are
+ * read through fixed size buffer, and only the longest line determines how much memory is held.
+ */
+final class ShellOutputScanner {
+
+    private static final int BUFFER_SIZE = 8192;
+    InputStream in;
+    @Nullable
+    PrintStream tee;
+    byte[] buffer = new byte[BUFFER_SIZE];
+    @NonFinal
+    int position;
+    @NonFinal
+    int limit;
+    @NonFinal
+    byte[] line = new byte[256];
+    @NonFinal
+    int start;
+    @NonFinal
+    int end;
+
+    /**
+     * @param tee if not null, every line read is also printed there
+     */
+    ShellOutputScanner(InputStream in, @Nullable PrintStream tee) {
+        this.in = in;
+        this.tee = tee;
+    }
+
+    /**
+     * Reads next line into reusable buffer, where it stays until next call.
+     *
+     * @return false if output has ended
+     */
+    boolean next(ByteMarker.Matcher... matchers) {
+        for (var matcher : matchers) {
+            matcher.reset();
+        }
+        var length = 0;
+        while (true) {
+            if (position == limit && !fill()) {
+                if (length == 0) {
+                    return false;
+                }
+                break;
+            }
+            var b = buffer[position++];
+            if (b == '\n') {
+                break;
+            }
+            if (length == line.length) {
+                line = Arrays.copyOf(line, length * 2);
+            }
+            line[length] = b;
+            for (var matcher : matchers) {
+                matcher.feed(b, length);
+            }
+            length++;
+        }
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        if (tee != null) {
+            tee.write(line, 0, length);
+            tee.println();
+        }
+        var from = 0;
+        var to = length;
+        while (from < to && isWhitespace(line[from])) {
+            from++;
+        }
+        while (to > from && isWhitespace(line[to - 1])) {
+            to--;
+        }
+        this.start = from;
+        this.end = to;
+        return true;
+    }
+
+    boolean isBlank() {
+        return start == end;
+    }
+
+    /**
+     * @return whether current line, without surrounding whitespace, ends with marker
+     */
+    boolean endsWith(ByteMarker.Matcher matcher) {
+        return matcher.endsAt(end);
+    }
+
+    /**
+     * @return whether current line, without surrounding whitespace, is exactly the marker
+     */
+    boolean isExactly(ByteMarker.Matcher matcher) {
+        return end - start == matcher.length() && matcher.endsAt(end);
+    }
+
+    /**
+     * @return current line without surrounding whitespace
+     */
+    String line() {
+        return new String(line, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private boolean fill() {
+        int read;
+        try {
+            read = in.read(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (read <= 0) {
+            position = 0;
+            limit = 0;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B;
+    }
+}
@@ -3,6 +3,8 @@ package io.huskit.containers.cli;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.util.concurrent.Executor;
+
 @Getter
 @RequiredArgsConstructor
 public class ShellPickArg {
@@ -10,4 +12,5 @@ public class ShellPickArg {
     ShellType shellType;
     Boolean forwardStderr;
     Boolean forwardStdout;
+    Executor executor;
 }
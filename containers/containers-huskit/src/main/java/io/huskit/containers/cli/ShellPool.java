@@ -0,0 +1,161 @@
+package io.huskit.containers.cli;
+
+import lombok.experimental.NonFinal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * Pool of long-lived shells, so that independent CLI commands from different threads run in parallel instead of
+ * waiting for one shared shell.
+ * <p>
+ * Shells are started on demand, up to {@code maxSize}, and kept warm after use, most recently used first.
+ * Shell that died while idle, or whose command failed or was terminated early, is closed and not returned
+ * to the pool, since its output may still hold leftovers of that command. New shell is started in its place
+ * when needed. Shells checked out when pool is closed are closed when they are returned.
+ */
+final class ShellPool<T> {
+
+    int maxSize;
+    IntFunction<T> factory;
+    Predicate<T> isAlive;
+    Consumer<T> closer;
+    ReentrantLock lock = new ReentrantLock();
+    Condition returned = lock.newCondition();
+    Deque<T> idle = new ArrayDeque<>();
+    @NonFinal
+    int size;
+    @NonFinal
+    int nextId;
+    @NonFinal
+    boolean isClosed;
+
+    ShellPool(int maxSize, IntFunction<T> factory, Predicate<T> isAlive, Consumer<T> closer) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Shell pool size should be positive, but got " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.factory = factory;
+        this.isAlive = isAlive;
+        this.closer = closer;
+    }
+
+    /**
+     * Runs action with shell that is used only by this caller until action returns, waiting for one
+     * if all {@code maxSize} shells are busy.
+     */
+    <R> R withShell(Function<T, R> action) {
+        var shell = checkout();
+        var isReusable = false;
+        try {
+            var result = action.apply(shell);
+            isReusable = isAlive.test(shell);
+            return result;
+        } finally {
+            giveBack(shell, isReusable);
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int idleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void close() {
+        List<T> toClose;
+        lock.lock();
+        try {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            toClose = new ArrayList<>(idle);
+            size -= idle.size();
+            idle.clear();
+            returned.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        toClose.forEach(closer);
+    }
+
+    private T checkout() {
+        int id;
+        lock.lock();
+        try {
+            while (true) {
+                if (isClosed) {
+                    throw new IllegalStateException("Shell pool is closed");
+                }
+                var shell = idle.pollFirst();
+                if (shell != null) {
+                    if (isAlive.test(shell)) {
+                        return shell;
+                    }
+                    size--;
+                    closer.accept(shell);
+                } else if (size < maxSize) {
+                    size++;
+                    id = nextId++;
+                    break;
+                } else {
+                    returned.awaitUninterruptibly();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        try {
+            return factory.apply(id);
+        } catch (RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    private void giveBack(T shell, boolean isReusable) {
+        lock.lock();
+        try {
+            if (isReusable && !isClosed) {
+                idle.addFirst(shell);
+                returned.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        release();
+        closer.accept(shell);
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            size--;
+            returned.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -48,4 +48,18 @@ public enum ShellType {
     public String pathForCurrentOs() {
         return Objects.requireNonNull(pathForOsMap.get(Os.current()));
     }
+
+    /**
+     * @return command that prints {@code marker} immediately followed by exit code of previous command
+     */
+    String echoExitCode(String marker) {
+        var path = pathForCurrentOs();
+        if ("cmd".equals(path)) {
+            return "echo " + marker + "%ERRORLEVEL%";
+        } else if ("powershell".equals(path)) {
+            return "echo \"" + marker + "$LASTEXITCODE\"";
+        } else {
+            return "echo " + marker + "$?";
+        }
+    }
 }
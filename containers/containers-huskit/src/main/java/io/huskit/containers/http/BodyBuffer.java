@@ -0,0 +1,73 @@
+package io.huskit.containers.http;
+
+import lombok.experimental.NonFinal;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte array for response bodies. Unlike {@link java.io.ByteArrayOutputStream} it is not synchronized,
+ * accepts {@link ByteBuffer} slices directly and exposes its content without copying.
+ */
+final class BodyBuffer {
+
+    @NonFinal
+    byte[] bytes;
+    @NonFinal
+    int size;
+
+    BodyBuffer(int initialCapacity) {
+        this.bytes = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    void write(ByteBuffer slice) {
+        var count = slice.remaining();
+        ensureCapacity(size + count);
+        slice.get(bytes, size, count);
+        size += count;
+    }
+
+    void write(byte[] source, int offset, int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(source, offset, bytes, size, length);
+        size += length;
+    }
+
+    /**
+     * Removes first {@code count} bytes, shifting the rest to the start of the buffer.
+     */
+    void discard(int count) {
+        System.arraycopy(bytes, count, bytes, 0, size - count);
+        size -= count;
+    }
+
+    byte get(int index) {
+        return bytes[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte[] array() {
+        return bytes;
+    }
+
+    InputStream inputStream() {
+        return new ByteArrayInputStream(bytes, 0, size);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, 0, size, StandardCharsets.UTF_8);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, capacity));
+        }
+    }
+}
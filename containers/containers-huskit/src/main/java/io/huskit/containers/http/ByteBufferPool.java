@@ -0,0 +1,161 @@
+package io.huskit.containers.http;
+
+import lombok.experimental.NonFinal;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of direct byte buffers used for socket reads.
+ * <p>
+ * Buffers are grouped in power-of-two size classes from {@value #MIN_SIZE} to {@value #MAX_SIZE} bytes, requested
+ * capacity is rounded up to the nearest class. Larger buffers are allocated on demand and not retained.
+ * At most {@code maxRetainedPerClass} released buffers are kept per class.
+ * <p>
+ * When leak tracking is enabled, each lease remembers where it was taken, so that tests can check
+ * that all leases were released and see who did not release them.
+ */
+final class ByteBufferPool {
+
+    static final int MIN_SIZE = 4096;
+    static final int MAX_SIZE = 1024 * 1024;
+    private static final ByteBufferPool SHARED = new ByteBufferPool(16, false);
+    List<ArrayDeque<ByteBuffer>> free;
+    int maxRetainedPerClass;
+    boolean isTrackingLeaks;
+    AtomicInteger leased;
+    Set<Lease> tracked;
+
+    ByteBufferPool(int maxRetainedPerClass, boolean isTrackingLeaks) {
+        var sizeClasses = Integer.numberOfTrailingZeros(MAX_SIZE) - Integer.numberOfTrailingZeros(MIN_SIZE) + 1;
+        this.free = new ArrayList<>(sizeClasses);
+        for (var i = 0; i < sizeClasses; i++) {
+            free.add(new ArrayDeque<>());
+        }
+        this.maxRetainedPerClass = maxRetainedPerClass;
+        this.isTrackingLeaks = isTrackingLeaks;
+        this.leased = new AtomicInteger();
+        this.tracked = ConcurrentHashMap.newKeySet();
+    }
+
+    static ByteBufferPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return cleared buffer with capacity of at least {@code minCapacity}
+     */
+    Lease lease(int minCapacity) {
+        if (minCapacity < 1) {
+            throw new IllegalArgumentException("Buffer capacity should be positive, but got " + minCapacity);
+        }
+        var sizeClass = sizeClass(minCapacity);
+        ByteBuffer buffer = null;
+        if (sizeClass != -1) {
+            var queue = free.get(sizeClass);
+            synchronized (queue) {
+                buffer = queue.pollFirst();
+            }
+        }
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(sizeClass == -1 ? minCapacity : MIN_SIZE << sizeClass);
+        }
+        buffer.clear();
+        leased.incrementAndGet();
+        var lease = new Lease(this, buffer, sizeClass, isTrackingLeaks ? new Throwable("Buffer leased here") : null);
+        if (isTrackingLeaks) {
+            tracked.add(lease);
+        }
+        return lease;
+    }
+
+    int leasedCount() {
+        return leased.get();
+    }
+
+    int retainedCount() {
+        var count = 0;
+        for (var queue : free) {
+            synchronized (queue) {
+                count += queue.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return places where currently unreleased buffers were leased, empty if leak tracking is disabled
+     */
+    List<Throwable> leaks() {
+        var leaks = new ArrayList<Throwable>(tracked.size());
+        for (var lease : tracked) {
+            leaks.add(lease.leasedAt);
+        }
+        return leaks;
+    }
+
+    private void giveBack(Lease lease) {
+        leased.decrementAndGet();
+        if (isTrackingLeaks) {
+            tracked.remove(lease);
+        }
+        if (lease.sizeClass != -1) {
+            var queue = free.get(lease.sizeClass);
+            synchronized (queue) {
+                if (queue.size() < maxRetainedPerClass) {
+                    queue.addFirst(lease.buffer);
+                }
+            }
+        }
+    }
+
+    private static int sizeClass(int capacity) {
+        if (capacity > MAX_SIZE) {
+            return -1;
+        }
+        var size = Math.max(Integer.highestOneBit(capacity - 1) << 1, MIN_SIZE);
+        return Integer.numberOfTrailingZeros(size) - Integer.numberOfTrailingZeros(MIN_SIZE);
+    }
+
+    /**
+     * Exclusive use of pooled buffer until {@link #release()}.
+     */
+    static final class Lease {
+
+        ByteBufferPool pool;
+        ByteBuffer buffer;
+        int sizeClass;
+        @Nullable
+        Throwable leasedAt;
+        @NonFinal
+        boolean isReleased;
+
+        private Lease(ByteBufferPool pool, ByteBuffer buffer, int sizeClass, @Nullable Throwable leasedAt) {
+            this.pool = pool;
+            this.buffer = buffer;
+            this.sizeClass = sizeClass;
+            this.leasedAt = leasedAt;
+        }
+
+        ByteBuffer buffer() {
+            if (isReleased) {
+                throw new IllegalStateException("Buffer is already released");
+            }
+            return buffer;
+        }
+
+        void release() {
+            if (isReleased) {
+                throw new IllegalStateException("Buffer is already released");
+            }
+            isReleased = true;
+            pool.giveBack(this);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.container.logs.LookFor;
+import lombok.SneakyThrows;
+import lombok.experimental.NonFinal;
+
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Reads single HTTP/1.1 response from blocking {@link ReadableByteChannel} using {@link HttpResponseParser}.
+ * After response is read (or its streamed body is closed), {@link #isReusable()} tells whether the channel
+ * is positioned at the start of the next response and can be used for another request.
+ */
+final class ChannelResponseReader {
+
+    ReadableByteChannel channel;
+    ByteBuffer buffer;
+    HttpResponseParser parser;
+    @NonFinal
+    boolean isStreaming;
+
+    ChannelResponseReader(ReadableByteChannel channel, Integer bufferSize) {
+        this(channel, ByteBuffer.allocate(bufferSize));
+    }
+
+    /**
+     * @param buffer read buffer owned by the caller, usually pooled one, its content is discarded
+     */
+    ChannelResponseReader(ReadableByteChannel channel, ByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer.clear().flip();
+        this.parser = new HttpResponseParser();
+    }
+
+    Http.RawResponse read(Request request) {
+        return read(request, () -> {
+        });
+    }
+
+    /**
+     * Reads response head and, unless body is requested as a stream, the whole body.
+     *
+     * @param onStreamClosed called once streamed body is fully read or closed
+     */
+    Http.RawResponse read(Request request, Runnable onStreamClosed) {
+        var head = readHead();
+        request.expectedStatus().ifPresent(expectedStatus -> {
+            if (!Objects.equals(expectedStatus.status(), head.status())) {
+                var body = parser.isComplete() ? "" : readBody(head).toString();
+                throw new IllegalStateException(String.format(
+                        "Received unexpected status from docker daemon, expected '%s' but got '%s', body -> %s",
+                        expectedStatus.status(), head.status(), body
+                ));
+            }
+        });
+        if (parser.isComplete()) {
+            return new Http.RawResponse.OnlyHeadRawResponse(head);
+        }
+        if (head.isMultiplexedStream() || request.isMultiplexedStream()) {
+            var repeatRead = request.repeatReadPredicate();
+            if (repeatRead.isPresent()) {
+                return followFrames(head, repeatRead.get().lookFor());
+            }
+            return demultiplex(head);
+        }
+        if (request.isStreamedBody()) {
+            isStreaming = true;
+            return new Http.RawResponse.StreamRawResponse(head, new HttpBodyInputStream(this, onStreamClosed));
+        }
+        var body = readBody(head);
+        return new Http.RawResponse.BodyRawResponse(
+                head,
+                () -> new InputStreamReader(body.inputStream(), StandardCharsets.UTF_8)
+        );
+    }
+
+    boolean isReusable() {
+        return parser.isComplete() && parser.isDelimited();
+    }
+
+    /**
+     * Whether body was left in the channel to be consumed through {@link HttpBodyInputStream}.
+     */
+    boolean isStreaming() {
+        return isStreaming;
+    }
+
+    /**
+     * Returns next body slice, reading from the channel if needed.
+     *
+     * @return body slice, empty only when body is complete
+     */
+    ByteBuffer nextBodySlice() {
+        while (true) {
+            var slice = parser.nextBodySlice(buffer);
+            if (slice.hasRemaining() || parser.isComplete()) {
+                return slice;
+            }
+            if (!fillOrEof()) {
+                parser.onEof();
+            }
+        }
+    }
+
+    /**
+     * Consumes body bytes that are already read from the channel without blocking for more.
+     * Usually this is enough to reach the end of the body when caller stopped reading just before it,
+     * for example JSON parser leaving trailing new line.
+     */
+    void skipBuffered() {
+        while (buffer.hasRemaining() && !parser.isComplete()) {
+            parser.nextBodySlice(buffer);
+        }
+    }
+
+    private Http.Head readHead() {
+        while (!parser.parseHead(buffer)) {
+            if (!fillOrEof()) {
+                throw new IllegalStateException("Docker daemon closed connection before response head was received");
+            }
+        }
+        return parser.head();
+    }
+
+    private BodyBuffer readBody(Http.Head head) {
+        var contentLength = head.headers().get("Content-Length");
+        var body = new BodyBuffer(contentLength == null ? buffer.capacity() : Integer.parseInt(contentLength.trim()));
+        readBodySlices(slice -> {
+            body.write(slice);
+            return false;
+        });
+        return body;
+    }
+
+    /**
+     * Passes body slices to the consumer until body is complete or consumer returns {@code true}.
+     */
+    private void readBodySlices(Predicate<ByteBuffer> sliceConsumer) {
+        while (true) {
+            var slice = nextBodySlice();
+            if (!slice.hasRemaining() || sliceConsumer.test(slice)) {
+                return;
+            }
+        }
+    }
+
+    private Http.RawResponse demultiplex(Http.Head head) {
+        var decoder = new MultiplexedStreamDecoder(buffer.capacity());
+        readBodySlices(slice -> {
+            decoder.decode(slice);
+            return false;
+        });
+        return new Http.RawResponse.StdRawResponse(head, toPipe(decoder.stdOut()), toPipe(decoder.stdErr()));
+    }
+
+    private Http.RawResponse followFrames(Http.Head head, LookFor lookFor) {
+        var decoder = new MultiplexedStreamDecoder(buffer.capacity());
+        var found = new boolean[1];
+        readBodySlices(slice -> {
+            found[0] = decoder.decodeUntilMatch(slice, lookFor);
+            return found[0];
+        });
+        if (!found[0]) {
+            throw new IllegalStateException("Log stream ended before matching line was found");
+        }
+        return new Http.RawResponse.StdRawResponse(head, toPipe(decoder.stdOut()), toPipe(decoder.stdErr()));
+    }
+
+    private SimplePipe toPipe(BodyBuffer bytes) {
+        var size = bytes.size();
+        if (size == 0) {
+            return new SimplePipe(1);
+        }
+        var pipe = new SimplePipe(size);
+        try {
+            pipe.write(bytes.array(), 0, size);
+        } catch (Exception e) {
+            pipe.close();
+            throw new IllegalStateException("Failed to write stream to pipe", e);
+        }
+        pipe.breakPipe();
+        return pipe;
+    }
+
+    @SneakyThrows
+    private boolean fillOrEof() {
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        buffer.flip();
+        return read != -1;
+    }
+}
@@ -1,8 +1,14 @@
 package io.huskit.containers.http;
 
+import io.huskit.common.concurrent.IoExecutors;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.With;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 
 @RequiredArgsConstructor
 final class DfHtHttpDockerSpec implements HtHttpDockerSpec {
@@ -13,13 +19,38 @@ final class DfHtHttpDockerSpec implements HtHttpDockerSpec {
     Boolean isCleanOnClose;
     @Getter
     HttpRequests requests;
+    @With
+    @Getter
+    Executor executor;
+    @With
+    @Nullable
+    HttpContainerIndex containerIndex;
+    @With
+    @Getter
+    HttpInspectCache inspectCache;
+    @With
+    @Getter
+    Integer inspectParallelism;
 
     public DfHtHttpDockerSpec() {
-        this(new DockerSockets(), false, new HttpRequests());
+        this(
+                new DockerSockets(),
+                false,
+                new HttpRequests(),
+                IoExecutors.shared(),
+                null,
+                new HttpInspectCache(Duration.ZERO, null),
+                8
+        );
     }
 
     @Override
     public DockerSocket socket() {
-        return sockets.pickDefault();
+        return sockets.pickDefault().withExecutor(executor);
+    }
+
+    @Override
+    public Optional<HttpContainerIndex> containerIndex() {
+        return Optional.ofNullable(containerIndex);
     }
 }
@@ -0,0 +1,185 @@
+package io.huskit.containers.http;
+
+import lombok.SneakyThrows;
+import lombok.experimental.NonFinal;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Single keep-alive connection to docker daemon. Not thread-safe, callers are expected to
+ * lease connection exclusively through {@link DockerConnectionPool}.
+ */
+final class DockerConnection {
+
+    ByteChannel channel;
+    ByteBufferPool.Lease readBuffer;
+    @NonFinal
+    long lastUsedNanos;
+    @NonFinal
+    boolean isReusable;
+    AtomicBoolean isClosed;
+    @NonFinal
+    long exchanges;
+    @NonFinal
+    boolean isInFlight;
+
+    /**
+     * @param readBuffer buffer used for all responses read from this connection, released when connection is closed
+     */
+    DockerConnection(ByteChannel channel, ByteBufferPool.Lease readBuffer) {
+        this.channel = channel;
+        this.readBuffer = readBuffer;
+        this.lastUsedNanos = System.nanoTime();
+        this.isReusable = true;
+        this.isClosed = new AtomicBoolean(false);
+    }
+
+    /**
+     * Sends request and reads response.
+     *
+     * @param release called once connection is no longer used by this exchange - before this method returns,
+     *                or, for streamed body, once body stream is read to the end or closed. Not called if
+     *                this method throws.
+     * @throws IllegalStateException with {@link Request#abortReason()} as message, if request was aborted
+     */
+    Http.RawResponse exchange(Request request, Runnable release) {
+        var buffers = request.http().buffers();
+        var length = 0L;
+        for (var buffer : buffers) {
+            length += buffer.remaining();
+        }
+        if (length == 0) {
+            throw new IllegalArgumentException("Cannot write empty body");
+        }
+        var reader = new ChannelResponseReader(channel, readBuffer.buffer());
+        var exchange = begin();
+        request.onAbort(() -> abort(exchange));
+        try {
+            write(buffers, length);
+            var response = reader.read(request, () -> {
+                end();
+                isReusable = reader.isReusable();
+                lastUsedNanos = System.nanoTime();
+                release.run();
+            });
+            if (!reader.isStreaming()) {
+                end();
+                isReusable = reader.isReusable();
+                release.run();
+            }
+            return response;
+        } catch (Exception e) {
+            end();
+            isReusable = false;
+            var abortReason = request.abortReason();
+            if (abortReason != null) {
+                throw new IllegalStateException(abortReason, e);
+            }
+            throw e;
+        } finally {
+            lastUsedNanos = System.nanoTime();
+        }
+    }
+
+    boolean isReusable() {
+        return isReusable && channel.isOpen();
+    }
+
+    boolean isIdleLongerThan(Duration duration) {
+        return System.nanoTime() - lastUsedNanos > duration.toNanos();
+    }
+
+    /**
+     * Checks that daemon did not close connection while it was idle. For socket channels this is done with
+     * non-blocking read, which returns {@code -1} if peer closed connection, and should never return data
+     * because no request is in flight.
+     */
+    @SneakyThrows
+    boolean isHealthy() {
+        if (!channel.isOpen()) {
+            return false;
+        }
+        if (channel instanceof SocketChannel) {
+            var socketChannel = (SocketChannel) channel;
+            synchronized (socketChannel.blockingLock()) {
+                socketChannel.configureBlocking(false);
+                try {
+                    return socketChannel.read(ByteBuffer.allocate(1)) == 0;
+                } finally {
+                    socketChannel.configureBlocking(true);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Closes channel and releases read buffer. Should be called only when no thread reads from this connection.
+     */
+    @SneakyThrows
+    void close() {
+        if (!isClosed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            channel.close();
+        } finally {
+            readBuffer.release();
+        }
+    }
+
+    /**
+     * Closes channel, but keeps read buffer, so that thread that still reads from this connection fails on
+     * closed channel instead of reading from buffer that was given to another connection. That thread releases
+     * the buffer with {@link #close()} once it is done.
+     */
+    @SneakyThrows
+    synchronized void closeChannel() {
+        isReusable = false;
+        channel.close();
+    }
+
+    private synchronized long begin() {
+        isInFlight = true;
+        return ++exchanges;
+    }
+
+    private synchronized void end() {
+        isInFlight = false;
+    }
+
+    /**
+     * Closes channel only if given exchange is still in flight, so that late abort of finished request
+     * does not break connection that was already returned to the pool and leased by someone else.
+     * Read buffer is released later by {@link #close()}, when reading thread is done with it.
+     */
+    @SneakyThrows
+    private synchronized void abort(long exchange) {
+        if (isInFlight && exchange == exchanges) {
+            isReusable = false;
+            channel.close();
+        }
+    }
+
+    @SneakyThrows
+    private void write(ByteBuffer[] buffers, long length) {
+        if (channel instanceof GatheringByteChannel) {
+            var gatheringChannel = (GatheringByteChannel) channel;
+            var remaining = length;
+            while (remaining > 0) {
+                remaining -= gatheringChannel.write(buffers);
+            }
+        } else {
+            for (var buffer : buffers) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        }
+    }
+}
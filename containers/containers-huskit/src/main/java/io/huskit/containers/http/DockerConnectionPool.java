@@ -0,0 +1,229 @@
+package io.huskit.containers.http;
+
+import io.huskit.common.Log;
+import io.huskit.common.concurrent.IoExecutors;
+import io.huskit.common.function.ThrowingSupplier;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.channels.ByteChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounded pool of keep-alive connections to single docker daemon endpoint.
+ * <p>
+ * Short API calls lease pooled connections, at most {@link DockerConnectionPoolSpec#maxSize()} at a time.
+ * Idle connections are checked on lease and evicted lazily on return, keeping at least
+ * {@link DockerConnectionPoolSpec#minIdle()} of them warm. Requests marked with
+ * {@link Request#isDedicatedConnection()} are sent over fresh connection that is not counted against pool size
+ * and is closed after the response is read, so long-lived streams never block other calls.
+ * <p>
+ * Connection is returned to the pool when response is read, or, for {@link Request#isStreamedBody()} requests,
+ * when body stream is read to the end or closed.
+ * <p>
+ * {@link Request#timeout()} is enforced by aborting the request on timer, which closes its connection,
+ * so blocked reads fail right away and broken connection is never reused.
+ */
+final class DockerConnectionPool {
+
+    ThrowingSupplier<ByteChannel> channelFactory;
+    DockerConnectionPoolSpec spec;
+    Log log;
+    ByteBufferPool buffers;
+    Deque<DockerConnection> idle;
+    Set<DockerConnection> dedicated;
+    Semaphore permits;
+    AtomicBoolean isClosed;
+
+    DockerConnectionPool(ThrowingSupplier<ByteChannel> channelFactory, DockerConnectionPoolSpec spec, Log log) {
+        this(channelFactory, spec, log, ByteBufferPool.shared());
+    }
+
+    DockerConnectionPool(ThrowingSupplier<ByteChannel> channelFactory,
+                         DockerConnectionPoolSpec spec,
+                         Log log,
+                         ByteBufferPool buffers) {
+        if (spec.maxSize() < 1 || spec.minIdle() < 0 || spec.minIdle() > spec.maxSize()) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid connection pool size, min idle -> %s, max size -> %s", spec.minIdle(), spec.maxSize()
+            ));
+        }
+        this.channelFactory = channelFactory;
+        this.spec = spec;
+        this.log = log;
+        this.buffers = buffers;
+        this.idle = new ArrayDeque<>(spec.maxSize());
+        this.dedicated = ConcurrentHashMap.newKeySet();
+        this.permits = new Semaphore(spec.maxSize(), true);
+        this.isClosed = new AtomicBoolean(false);
+    }
+
+    Http.RawResponse exchange(Request request) {
+        var deadline = scheduleDeadline(request);
+        try {
+            if (request.isDedicatedConnection()) {
+                return exchangeDedicated(request, deadline);
+            }
+            var connection = lease(request);
+            Runnable release = () -> {
+                cancel(deadline);
+                giveBack(connection);
+            };
+            try {
+                return connection.exchange(request, release);
+            } catch (Exception e) {
+                release.run();
+                throw e;
+            }
+        } catch (Exception e) {
+            cancel(deadline);
+            throw e;
+        }
+    }
+
+    /**
+     * Closes idle connections. Dedicated connections that are still in use only get their channels closed, so that
+     * their readers fail, and read buffers are released by those readers once they are done.
+     */
+    void close() {
+        if (isClosed.compareAndSet(false, true)) {
+            synchronized (idle) {
+                idle.forEach(DockerConnection::close);
+                idle.clear();
+            }
+            dedicated.forEach(DockerConnection::closeChannel);
+        }
+    }
+
+    int idleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    int leasedCount() {
+        return spec.maxSize() - permits.availablePermits();
+    }
+
+    private Http.RawResponse exchangeDedicated(Request request, @Nullable ScheduledFuture<?> deadline) {
+        var connection = open();
+        dedicated.add(connection);
+        Runnable release = () -> {
+            cancel(deadline);
+            dedicated.remove(connection);
+            connection.close();
+        };
+        try {
+            return connection.exchange(request, release);
+        } catch (Exception e) {
+            release.run();
+            throw e;
+        }
+    }
+
+    @Nullable
+    private ScheduledFuture<?> scheduleDeadline(Request request) {
+        var timeout = request.timeout();
+        if (timeout.isEmpty()) {
+            return null;
+        }
+        var reason = String.format("Docker request did not complete within %s", timeout.get());
+        return IoExecutors.scheduler().schedule(
+                () -> request.abort(reason),
+                timeout.get().toNanos(),
+                TimeUnit.NANOSECONDS
+        );
+    }
+
+    private void cancel(@Nullable ScheduledFuture<?> deadline) {
+        if (deadline != null) {
+            deadline.cancel(false);
+        }
+    }
+
+    @SneakyThrows
+    private DockerConnection lease(Request request) {
+        checkNotClosed();
+        var leaseTimeout = request.timeout()
+                .filter(timeout -> timeout.compareTo(spec.leaseTimeout()) < 0)
+                .orElse(spec.leaseTimeout());
+        if (!permits.tryAcquire(leaseTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            var abortReason = request.abortReason();
+            if (abortReason != null) {
+                throw new IllegalStateException(abortReason);
+            }
+            throw new IllegalStateException(String.format(
+                    "Timed out after %s waiting for docker connection, all %s connections are in use",
+                    leaseTimeout, spec.maxSize()
+            ));
+        }
+        try {
+            while (true) {
+                var connection = pollIdle();
+                if (connection == null) {
+                    return open();
+                }
+                if (!connection.isIdleLongerThan(spec.idleTimeout()) && connection.isHealthy()) {
+                    return connection;
+                }
+                log.debug(() -> "Discarding stale docker connection");
+                connection.close();
+            }
+        } catch (Exception e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void giveBack(DockerConnection connection) {
+        try {
+            if (connection.isReusable() && !isClosed.get()) {
+                synchronized (idle) {
+                    idle.addFirst(connection);
+                    evictExpired();
+                }
+            } else {
+                connection.close();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Idle connections are kept in LIFO order, so the longest idle ones are at the tail.
+     */
+    private void evictExpired() {
+        while (idle.size() > spec.minIdle() && idle.getLast().isIdleLongerThan(spec.idleTimeout())) {
+            idle.removeLast().close();
+            log.debug(() -> "Evicted idle docker connection");
+        }
+    }
+
+    @Nullable
+    private DockerConnection pollIdle() {
+        synchronized (idle) {
+            return idle.pollFirst();
+        }
+    }
+
+    @SneakyThrows
+    private DockerConnection open() {
+        checkNotClosed();
+        log.debug(() -> "Opening new docker connection");
+        return new DockerConnection(channelFactory.get(), buffers.lease(spec.bufferSize()));
+    }
+
+    private void checkNotClosed() {
+        if (isClosed.get()) {
+            throw new IllegalStateException("Docker connection pool is closed");
+        }
+    }
+}
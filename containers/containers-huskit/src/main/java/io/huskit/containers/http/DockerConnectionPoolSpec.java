@@ -0,0 +1,23 @@
+package io.huskit.containers.http;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.With;
+
+import java.time.Duration;
+
+@With
+@Getter
+@RequiredArgsConstructor
+final class DockerConnectionPoolSpec {
+
+    Integer minIdle;
+    Integer maxSize;
+    Duration idleTimeout;
+    Duration leaseTimeout;
+    Integer bufferSize;
+
+    DockerConnectionPoolSpec() {
+        this(1, 8, Duration.ofSeconds(30), Duration.ofMinutes(1), 4096);
+    }
+}
@@ -1,13 +1,19 @@
 package io.huskit.containers.http;
 
 import io.huskit.common.Mutable;
+import io.huskit.common.concurrent.IoExecutors;
 import io.huskit.containers.api.container.logs.LookFor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.experimental.NonFinal;
+import org.jetbrains.annotations.Nullable;
 
 import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 interface DockerSocket {
 
@@ -21,6 +27,14 @@ interface DockerSocket {
         return new DfCloseableDockerSocket(this);
     }
 
+    /**
+     * Returns socket that runs {@link #sendAsync(Request)} on given executor.
+     * Cancelling returned future aborts the request, see {@link Request#abort(String)}.
+     */
+    default DockerSocket withExecutor(Executor executor) {
+        return new ExecutorDockerSocket(this, executor);
+    }
+
     interface CloseableDockerSocket extends DockerSocket, AutoCloseable {
 
         @Override
@@ -56,21 +70,158 @@ final class DfCloseableDockerSocket implements DockerSocket.CloseableDockerSocke
     }
 }
 
+@RequiredArgsConstructor
+final class ExecutorDockerSocket implements DockerSocket {
+
+    DockerSocket delegate;
+    Executor executor;
+
+    @Override
+    public Http.RawResponse send(Request request) {
+        return delegate.send(request);
+    }
+
+    @Override
+    public CompletableFuture<Http.RawResponse> sendAsync(Request request) {
+        return CancellableSend.sendAsync(delegate, request, executor);
+    }
+
+    @Override
+    public void release() {
+        delegate.release();
+    }
+
+    @Override
+    public DockerSocket withExecutor(Executor executor) {
+        return new ExecutorDockerSocket(delegate, executor);
+    }
+}
+
+/**
+ * Runs {@link DockerSocket#send(Request)} on executor and returns future, cancellation of which aborts
+ * the request. Response that arrives after cancellation is discarded, so that connection held by
+ * its body stream is released.
+ * <p>
+ * Requests with {@link Request#isDedicatedConnection()} are long-lived streams, they are sent on
+ * {@link IoExecutors#streams()} instead of given executor, which is kept for short calls.
+ */
+final class CancellableSend {
+
+    private CancellableSend() {
+    }
+
+    static CompletableFuture<Http.RawResponse> sendAsync(DockerSocket socket, Request request, Executor executor) {
+        var future = new CompletableFuture<Http.RawResponse>();
+        future.whenComplete((response, e) -> {
+            if (future.isCancelled()) {
+                request.abort("Docker request was cancelled");
+            }
+        });
+        var target = request.isDedicatedConnection() ? IoExecutors.streams() : executor;
+        target.execute(() -> {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                var response = socket.send(request);
+                if (!future.complete(response)) {
+                    discard(response);
+                }
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    @SneakyThrows
+    private static void discard(Http.RawResponse response) {
+        if (response instanceof Http.RawResponse.StreamRawResponse) {
+            response.bodyReader().close();
+        }
+    }
+}
+
 final class Request {
 
+    private static final Runnable NOOP = () -> {
+    };
     @Getter
     Http.Request http;
     Mutable<RepeatRead> repeatReadPredicate;
     Mutable<ExpectedStatus> expectedStatus;
+    Mutable<Boolean> dedicatedConnection;
+    Mutable<Boolean> streamedBody;
+    Mutable<Boolean> multiplexedStream;
+    Mutable<Duration> timeout;
+    AtomicReference<String> abortReason;
+    @NonFinal
+    volatile Runnable onAbort;
 
     public Request(Http.Request http) {
         this.http = http;
         this.repeatReadPredicate = Mutable.of();
         this.expectedStatus = Mutable.of();
+        this.dedicatedConnection = Mutable.of(false);
+        this.streamedBody = Mutable.of(false);
+        this.multiplexedStream = Mutable.of(false);
+        this.timeout = Mutable.of();
+        this.abortReason = new AtomicReference<>();
+        this.onAbort = NOOP;
     }
 
-    public Request withRepeatReadPredicate(LookFor lookFor, Duration backoff) {
-        repeatReadPredicate.set(new RepeatRead(lookFor, backoff));
+    /**
+     * Limits time from the moment request is sent to the pool, including wait for free connection, until
+     * response is read - or, for streamed body, until body stream is read to the end or closed. When time is up,
+     * request is aborted.
+     */
+    public Request withTimeout(Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Request timeout should be positive, but got " + timeout);
+        }
+        this.timeout.set(timeout);
+        return this;
+    }
+
+    public Optional<Duration> timeout() {
+        return timeout.maybe();
+    }
+
+    /**
+     * Aborts request by closing connection it is currently using, so that blocked read or write fails
+     * right away and connection is not returned to the pool. Only first call has effect.
+     */
+    public void abort(String reason) {
+        if (abortReason.compareAndSet(null, reason)) {
+            onAbort.run();
+        }
+    }
+
+    public boolean isAborted() {
+        return abortReason.get() != null;
+    }
+
+    @Nullable
+    public String abortReason() {
+        return abortReason.get();
+    }
+
+    /**
+     * Sets action that aborts current exchange of this request, runs it right away if request is already aborted.
+     */
+    void onAbort(Runnable action) {
+        onAbort = action;
+        if (isAborted()) {
+            action.run();
+        }
+    }
+
+    /**
+     * Reads multiplexed body only until a line matching {@code lookFor} arrives. Frames are tested as they
+     * are read from the connection, so match is found as soon as daemon writes it, without re-reading the stream.
+     */
+    public Request withRepeatReadPredicate(LookFor lookFor) {
+        repeatReadPredicate.set(new RepeatRead(lookFor));
         return this;
     }
 
@@ -79,6 +230,46 @@ final class Request {
         return this;
     }
 
+    /**
+     * Marks request as long-lived stream (logs follow, attach, events), so it is sent over separate connection
+     * and does not hold pooled connection used by short API calls.
+     */
+    public Request withDedicatedConnection() {
+        dedicatedConnection.set(true);
+        return this;
+    }
+
+    public boolean isDedicatedConnection() {
+        return dedicatedConnection.require() || repeatReadPredicate.isPresent();
+    }
+
+    /**
+     * Asks for response body to be read from the connection while caller consumes it, instead of being
+     * fully buffered before response is returned. Connection stays busy until body reader is read to the end
+     * or closed, see {@link Http.RawResponse#mapBody(java.util.function.Function)}.
+     */
+    public Request withStreamedBody() {
+        streamedBody.set(true);
+        return this;
+    }
+
+    public boolean isStreamedBody() {
+        return streamedBody.require();
+    }
+
+    /**
+     * Tells that response body is framed as multiplexed stream even if daemon reports it as
+     * {@code application/vnd.docker.raw-stream}, which older API versions do for exec and attach without TTY.
+     */
+    public Request withMultiplexedStream() {
+        multiplexedStream.set(true);
+        return this;
+    }
+
+    public boolean isMultiplexedStream() {
+        return multiplexedStream.require();
+    }
+
     public Optional<RepeatRead> repeatReadPredicate() {
         return repeatReadPredicate.maybe();
     }
@@ -105,8 +296,8 @@ final class RawRequest {
         this.expectedStatus = Mutable.of();
     }
 
-    public RawRequest withRepeatReadPredicate(LookFor lookFor, Duration backoff) {
-        repeatReadPredicate.set(new RepeatRead(lookFor, backoff));
+    public RawRequest withRepeatReadPredicate(LookFor lookFor) {
+        repeatReadPredicate.set(new RepeatRead(lookFor));
         return this;
     }
 
@@ -136,5 +327,4 @@ final class ExpectedStatus {
 final class RepeatRead {
 
     LookFor lookFor;
-    Duration backoff;
 }
@@ -1,20 +1,34 @@
 package io.huskit.containers.http;
 
+import io.huskit.common.HtConstants;
 import io.huskit.common.Os;
 import io.huskit.common.Volatile;
-import io.huskit.common.HtConstants;
 
 final class DockerSockets {
 
     private static final Volatile<DockerSocket> DEFAULT_SOCKET = Volatile.of();
+    private static final String UNIX_SCHEME = "unix://";
 
     public DockerSocket pickDefault() {
         return DEFAULT_SOCKET.syncSetOrGet(() -> {
             if (Os.WINDOWS.isCurrent()) {
                 return new NpipeDocker(HtConstants.NPIPE_SOCKET);
             } else {
-                throw new IllegalStateException("Unsupported OS");
+                return new UnixSocketDocker(unixSocketFile(System.getenv(HtConstants.DOCKER_HOST_ENV)));
             }
         });
     }
+
+    String unixSocketFile(String dockerHost) {
+        if (dockerHost == null || dockerHost.isBlank()) {
+            return HtConstants.UNIX_SOCKET;
+        } else if (dockerHost.startsWith(UNIX_SCHEME)) {
+            return dockerHost.substring(UNIX_SCHEME.length());
+        } else {
+            throw new IllegalStateException(String.format(
+                    "Unsupported %s value '%s', only '%s' scheme is supported on current OS",
+                    HtConstants.DOCKER_HOST_ENV, dockerHost, UNIX_SCHEME
+            ));
+        }
+    }
 }
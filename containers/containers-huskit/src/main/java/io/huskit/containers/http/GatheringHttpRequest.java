@@ -0,0 +1,47 @@
+package io.huskit.containers.http;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Request kept as separate byte parts, so that shared parts like header templates and caller-provided body
+ * are never copied into one array. Parts are written with {@link java.nio.channels.GatheringByteChannel}
+ * where available.
+ */
+final class GatheringHttpRequest implements Http.Request {
+
+    byte[][] parts;
+
+    GatheringHttpRequest(byte[]... parts) {
+        if (parts.length == 0) {
+            throw new IllegalArgumentException("Request must have at least one part");
+        }
+        this.parts = parts;
+    }
+
+    @Override
+    public ByteBuffer[] buffers() {
+        var buffers = new ByteBuffer[parts.length];
+        for (var i = 0; i < parts.length; i++) {
+            buffers[i] = ByteBuffer.wrap(parts[i]).asReadOnlyBuffer();
+        }
+        return buffers;
+    }
+
+    /**
+     * Joins all parts, only needed for transports that cannot write buffers.
+     */
+    @Override
+    public byte[] body() {
+        var size = 0;
+        for (var part : parts) {
+            size += part.length;
+        }
+        var body = new byte[size];
+        var offset = 0;
+        for (var part : parts) {
+            System.arraycopy(part, 0, body, offset, part.length);
+            offset += part.length;
+        }
+        return body;
+    }
+}
@@ -8,7 +8,6 @@ import io.huskit.containers.api.container.list.arg.HtListContainersArgsSpec;
 import io.huskit.containers.api.container.rm.HtRm;
 import io.huskit.containers.api.container.run.HtCreateSpec;
 import io.huskit.containers.api.container.run.HtRmSpec;
-import io.huskit.containers.api.container.run.HtRun;
 import io.huskit.containers.api.container.run.HtRunSpec;
 import io.huskit.containers.api.image.HtImgName;
 import io.huskit.common.HtConstants;
@@ -17,6 +16,7 @@ import lombok.RequiredArgsConstructor;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -47,13 +47,23 @@ final class HtHttpContainers implements HtContainers {
         return new HttpInspect(dockerSpec).inspect(containerId);
     }
 
+    @Override
+    public CompletableFuture<List<HtContainer>> inspectAsync(Iterable<? extends CharSequence> containerIds) {
+        return new HttpInspect(dockerSpec).inspectAsync(containerIds);
+    }
+
+    @Override
+    public CompletableFuture<HtContainer> inspectFreshAsync(CharSequence containerId) {
+        return new HttpInspect(dockerSpec).inspectFreshAsync(containerId);
+    }
+
     @Override
     public HttpLogs logs(CharSequence containerId) {
         return new HttpLogs(dockerSpec, containerId);
     }
 
     @Override
-    public HtRun run(CharSequence dockerImageName) {
+    public HttpRun run(CharSequence dockerImageName) {
         return run(
                 dockerImageName,
                 HtConstants.Consumers.noop()
@@ -61,17 +71,17 @@ final class HtHttpContainers implements HtContainers {
     }
 
     @Override
-    public HtRun run(CharSequence dockerImageName, Consumer<HtRunSpec> specAction) {
+    public HttpRun run(CharSequence dockerImageName, Consumer<HtRunSpec> specAction) {
         var spec = new HttpRunSpec(dockerImageName);
         specAction.accept(spec);
         return new HttpRun(
+                dockerSpec,
                 new HttpCreate(
                         dockerSpec,
                         spec.createSpec(),
                         new HttpInspect(dockerSpec)
                 ),
                 spec,
-                this::logs,
                 this::start
         );
     }
@@ -1,12 +1,15 @@
 package io.huskit.containers.http;
 
 import io.huskit.containers.api.container.HtContainers;
+import io.huskit.containers.api.events.HtEvents;
 import io.huskit.containers.api.image.HtImages;
 import io.huskit.containers.api.volume.HtVolumes;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 @RequiredArgsConstructor
 public final class HtHttpDckr implements HtHttpDocker {
@@ -25,6 +28,34 @@ public final class HtHttpDckr implements HtHttpDocker {
         return this;
     }
 
+    @Override
+    public HtHttpDckr withExecutor(Executor executor) {
+        return new HtHttpDckr(spec.withExecutor(executor));
+    }
+
+    @Override
+    public HtHttpDckr withContainerIndex() {
+        if (spec.containerIndex().isPresent()) {
+            return this;
+        }
+        return new HtHttpDckr(spec.withContainerIndex(new HttpContainerIndex(spec)));
+    }
+
+    @Override
+    public HtHttpDckr withInspectCache(Duration ttl, Boolean invalidateOnEvents) {
+        return new HtHttpDckr(spec.withInspectCache(
+                new HttpInspectCache(ttl, invalidateOnEvents ? new HttpEvents(spec) : null)
+        ));
+    }
+
+    @Override
+    public HtHttpDckr withInspectParallelism(Integer parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Inspect parallelism should be positive, but got " + parallelism);
+        }
+        return new HtHttpDckr(spec.withInspectParallelism(parallelism));
+    }
+
     @Override
     public HtContainers containers() {
         return new HtHttpContainers(spec);
@@ -32,17 +63,24 @@ public final class HtHttpDckr implements HtHttpDocker {
 
     @Override
     public HtImages images() {
-        return null;
+        return new HttpImages(spec);
     }
 
     @Override
     public HtVolumes volumes() {
-        return null;
+        return new HttpVolumes(spec);
+    }
+
+    @Override
+    public HtEvents events() {
+        return new HttpEvents(spec);
     }
 
     @Override
     @SneakyThrows
     public void close() {
+        spec.containerIndex().ifPresent(HttpContainerIndex::close);
+        spec.inspectCache().close();
         spec.socket().release();
     }
 }
@@ -2,7 +2,36 @@ package io.huskit.containers.http;
 
 import io.huskit.containers.api.docker.HtDocker;
 
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
 public interface HtHttpDocker extends HtDocker {
 
+    HtHttpDocker withExecutor(Executor executor);
+
+    /**
+     * Enables local index of containers kept current by docker events. Container list calls are then answered
+     * from memory, without round-trip to the daemon. Index holds one event stream connection
+     * until {@link #close()}.
+     */
+    HtHttpDocker withContainerIndex();
+
+    /**
+     * Configures how long container inspect results are reused. By default TTL is zero, so results are never
+     * reused, and only concurrent inspects of the same container share single request. Cached results can be
+     * stale, so longer TTL suits clients that are the only ones changing their containers. Starting or removing
+     * container through this client drops its cached result.
+     *
+     * @param invalidateOnEvents whether to also drop cached results on docker container events, which keeps
+     *                           cache accurate with longer TTL at the cost of one event stream connection
+     */
+    HtHttpDocker withInspectCache(Duration ttl, Boolean invalidateOnEvents);
+
+    /**
+     * Limits how many requests single bulk call, like {@code inspectAsync(Iterable)} or removal of many volumes,
+     * sends at once, 8 by default.
+     */
+    HtHttpDocker withInspectParallelism(Integer parallelism);
+
     void close();
 }
@@ -1,5 +1,8 @@
 package io.huskit.containers.http;
 
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
 public interface HtHttpDockerSpec {
 
     DockerSocket socket();
@@ -7,4 +10,21 @@ public interface HtHttpDockerSpec {
     Boolean isCleanOnClose();
 
     HttpRequests requests();
+
+    /**
+     * Executor for async calls, which mostly block on socket reads.
+     */
+    Executor executor();
+
+    /**
+     * Local index of containers, present only if it was enabled with {@link HtHttpDocker#withContainerIndex()}.
+     */
+    Optional<HttpContainerIndex> containerIndex();
+
+    HttpInspectCache inspectCache();
+
+    /**
+     * Max number of concurrent requests of single batch inspect.
+     */
+    Integer inspectParallelism();
 }
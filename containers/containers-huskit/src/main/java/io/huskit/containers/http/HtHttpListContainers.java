@@ -2,11 +2,17 @@ package io.huskit.containers.http;
 
 import io.huskit.containers.api.container.HtContainer;
 import io.huskit.containers.api.container.HtJsonContainer;
+import io.huskit.containers.api.container.HtProjectedContainer;
 import io.huskit.containers.api.container.list.HtListContainers;
 import io.huskit.containers.internal.HtJson;
 import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -35,21 +41,87 @@ final class HtHttpListContainers implements HtListContainers {
 
     @Override
     public CompletableFuture<Stream<HtContainer>> asStreamAsync() {
-        return send(s -> s.map(Function.identity()));
+        return send(Function.identity());
     }
 
-    private <R> CompletableFuture<R> send(Function<Stream<HtJsonContainer>, R> action) {
+    private <R> CompletableFuture<R> send(Function<Stream<HtContainer>, R> action) {
+        var index = dockerSpec.containerIndex();
+        if (index.isPresent()) {
+            return CompletableFuture.supplyAsync(
+                    () -> action.apply(index.get().find(spec).stream().map(this::toContainer)),
+                    dockerSpec.executor()
+            );
+        }
         return dockerSpec.socket().sendAsync(
                         new Request(
                                 dockerSpec.requests().get(spec)
-                        )
+                        ).withStreamedBody()
                 )
                 .thenApply(response ->
                         action.apply(
-                                HtJson.toMapList(response.bodyReader())
+                                response.mapBody(HtJson::toMapList)
                                         .stream()
-                                        .map(HtJsonContainer::new)
+                                        .map(this::toContainer)
                         )
                 );
     }
+
+    /**
+     * Summary of {@code /containers/json} already has all projectable fields, so with projection it only needs to be
+     * reshaped to inspect document, and other fields are read from inspect on first access.
+     */
+    private HtContainer toContainer(Map<String, Object> summary) {
+        var projection = spec.projection();
+        if (projection.isEmpty()) {
+            return new HtJsonContainer(summary);
+        }
+        var id = (String) summary.get("Id");
+        return new HtProjectedContainer(
+                projectedSource(summary),
+                projection,
+                () -> new HttpInspect(dockerSpec).inspect(id)
+        );
+    }
+
+    static Map<String, Object> projectedSource(Map<String, Object> summary) {
+        var source = new HashMap<String, Object>();
+        source.put("Id", summary.get("Id"));
+        source.put("Created", summary.get("Created"));
+        var labels = summary.get("Labels");
+        source.put("Config", Map.of("Labels", labels == null ? Map.of() : labels));
+        source.put("HostConfig", Map.of("PortBindings", portBindings(summary.get("Ports"))));
+        var names = summary.get("Names");
+        if (names instanceof List && !((List<?>) names).isEmpty()) {
+            source.put("Name", ((List<?>) names).get(0));
+        }
+        return source;
+    }
+
+    /**
+     * Builds {@code HostConfig.PortBindings} from summary ports, the same shape CLI projection reads. Summary lists
+     * published port once per host address, so on dual-stack host it comes twice, for {@code 0.0.0.0} and
+     * {@code ::} - such duplicates are kept once, ports that are not published are skipped.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, List<Map<String, String>>> portBindings(@Nullable Object summaryPorts) {
+        var bindings = new LinkedHashMap<String, List<Map<String, String>>>();
+        if (summaryPorts == null) {
+            return bindings;
+        }
+        for (var port : (List<Map<String, Object>>) summaryPorts) {
+            var publicPort = port.get("PublicPort");
+            if (publicPort == null) {
+                continue;
+            }
+            var type = port.get("Type");
+            var key = port.get("PrivatePort") + "/" + (type == null ? "tcp" : type);
+            var hostPorts = bindings.computeIfAbsent(key, k -> new ArrayList<>());
+            var hostPort = publicPort.toString();
+            if (hostPorts.stream().noneMatch(binding -> hostPort.equals(binding.get("HostPort")))) {
+                var hostIp = port.get("IP");
+                hostPorts.add(Map.of("HostIp", hostIp == null ? "" : hostIp.toString(), "HostPort", hostPort));
+            }
+        }
+        return bindings;
+    }
 }
@@ -2,51 +2,75 @@ package io.huskit.containers.http;
 
 import io.huskit.common.Mutable;
 import io.huskit.common.collection.HtCollections;
+import io.huskit.containers.api.container.list.HtListContainersField;
 import io.huskit.containers.api.container.list.HtListContainersFilterType;
 import io.huskit.containers.api.container.list.arg.HtListContainersArgsSpec;
 import io.huskit.containers.internal.HtJson;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 final class HtHttpListContainersSpec implements HtListContainersArgsSpec, HtUrl {
 
     Mutable<Boolean> all = Mutable.of(false);
     Map<HtListContainersFilterType, List<String>> filters = new HashMap<>();
+    Set<HtListContainersField> projection = EnumSet.noneOf(HtListContainersField.class);
 
     @Override
-    public HtListContainersArgsSpec withAll() {
+    public HtHttpListContainersSpec withAll() {
         this.all.set(true);
         return this;
     }
 
     @Override
-    public HtListContainersArgsSpec withIdFilter(CharSequence id) {
+    public HtHttpListContainersSpec withIdFilter(CharSequence id) {
         HtCollections.putOrAdd(filters, HtListContainersFilterType.ID, id.toString());
         return this;
     }
 
     @Override
-    public HtListContainersArgsSpec withNameFilter(CharSequence name) {
+    public HtHttpListContainersSpec withNameFilter(CharSequence name) {
         HtCollections.putOrAdd(filters, HtListContainersFilterType.NAME, name.toString());
         return this;
     }
 
     @Override
-    public HtListContainersArgsSpec withLabelFilter(CharSequence label, CharSequence value) {
+    public HtHttpListContainersSpec withLabelFilter(CharSequence label, CharSequence value) {
         HtCollections.putOrAdd(filters, HtListContainersFilterType.LABEL, label.toString() + "=" + value.toString());
         return this;
     }
 
     @Override
-    public HtListContainersArgsSpec withLabelFilter(CharSequence label) {
+    public HtHttpListContainersSpec withLabelFilter(CharSequence label) {
         HtCollections.putOrAdd(filters, HtListContainersFilterType.LABEL, label.toString());
         return this;
     }
 
+    @Override
+    public HtHttpListContainersSpec withProjection(HtListContainersField... fields) {
+        projection.addAll(Arrays.asList(fields));
+        return this;
+    }
+
+    public boolean isAll() {
+        return all.require();
+    }
+
+    public Map<HtListContainersFilterType, List<String>> filters() {
+        return filters;
+    }
+
+    public Set<HtListContainersField> projection() {
+        return Collections.unmodifiableSet(projection);
+    }
+
     public String toParameters() {
         var parameters = new ArrayList<String>();
         if (all.require()) {
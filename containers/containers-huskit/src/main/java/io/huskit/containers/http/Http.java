@@ -3,10 +3,16 @@ package io.huskit.containers.http;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 public interface Http {
@@ -15,6 +21,13 @@ public interface Http {
 
         byte[] body();
 
+        /**
+         * Request bytes as buffers that can be written with single gathering write.
+         */
+        default ByteBuffer[] buffers() {
+            return new ByteBuffer[]{ByteBuffer.wrap(body())};
+        }
+
         static Request empty() {
             return () -> new byte[0];
         }
@@ -49,6 +62,17 @@ public interface Http {
 
         SimplePipe stdErr();
 
+        /**
+         * Applies mapper to the body reader and closes it afterwards. For streamed bodies closing the reader
+         * releases underlying connection, so this should be preferred over using {@link #bodyReader()} directly.
+         */
+        @SneakyThrows
+        default <T> T mapBody(Function<Reader, T> mapper) {
+            try (var reader = bodyReader()) {
+                return mapper.apply(reader);
+            }
+        }
+
         @RequiredArgsConstructor
         final class BodyRawResponse implements RawResponse {
 
@@ -73,6 +97,36 @@ public interface Http {
             }
         }
 
+        /**
+         * Response whose body is still being read from the connection while it is consumed.
+         */
+        final class StreamRawResponse implements RawResponse {
+
+            @Getter
+            Head head;
+            Reader bodyReader;
+
+            public StreamRawResponse(Head head, InputStream body) {
+                this.head = head;
+                this.bodyReader = new InputStreamReader(body, StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public Reader bodyReader() {
+                return bodyReader;
+            }
+
+            @Override
+            public SimplePipe stdOut() {
+                throw new NoSuchElementException();
+            }
+
+            @Override
+            public SimplePipe stdErr() {
+                throw new NoSuchElementException();
+            }
+        }
+
         @Getter
         @RequiredArgsConstructor
         final class StdRawResponse implements RawResponse {
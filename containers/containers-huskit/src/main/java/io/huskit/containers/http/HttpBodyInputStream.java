@@ -0,0 +1,92 @@
+package io.huskit.containers.http;
+
+import lombok.experimental.NonFinal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Response body read straight from the connection buffer as it arrives, with chunked framing removed.
+ * Bytes are copied once, from the read buffer into the caller's array, and the whole body is never held in memory.
+ * <p>
+ * {@code onClosed} is called once, when body is read to the end or stream is closed, after which
+ * the connection may be reused by another request. Closing stream before the end does not wait for the rest
+ * of the body - in that case the connection is not reusable and gets closed.
+ */
+final class HttpBodyInputStream extends InputStream {
+
+    private static final ByteBuffer NO_DATA = ByteBuffer.allocate(0);
+    ChannelResponseReader reader;
+    Runnable onClosed;
+    @NonFinal
+    ByteBuffer current;
+    @NonFinal
+    boolean isClosed;
+
+    HttpBodyInputStream(ChannelResponseReader reader, Runnable onClosed) {
+        this.reader = reader;
+        this.onClosed = onClosed;
+        this.current = NO_DATA;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureData()) {
+            return -1;
+        }
+        return current.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureData()) {
+            return -1;
+        }
+        var count = Math.min(length, current.remaining());
+        current.get(bytes, offset, count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return isClosed ? 0 : current.remaining();
+    }
+
+    @Override
+    public void close() {
+        if (!isClosed) {
+            current = NO_DATA;
+            reader.skipBuffered();
+            finish();
+        }
+    }
+
+    private boolean ensureData() throws IOException {
+        if (current.hasRemaining()) {
+            return true;
+        }
+        if (isClosed) {
+            return false;
+        }
+        try {
+            current = reader.nextBodySlice();
+        } catch (Exception e) {
+            finish();
+            throw new IOException("Failed to read response body from docker daemon", e);
+        }
+        if (current.hasRemaining()) {
+            return true;
+        }
+        finish();
+        return false;
+    }
+
+    private void finish() {
+        isClosed = true;
+        onClosed.run();
+    }
+}
@@ -0,0 +1,221 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.container.list.HtListContainersFilterType;
+import io.huskit.containers.api.events.HtEvent;
+import io.huskit.containers.api.events.HtEventSubscription;
+import io.huskit.containers.api.events.HtEvents;
+import io.huskit.containers.internal.HtJson;
+import lombok.experimental.NonFinal;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory index of container summaries, as returned by {@code /containers/json}, kept current by
+ * container events, so that list calls can be answered without round-trip to the daemon.
+ * <p>
+ * Index is started on first use: it subscribes to container events, waits until subscription is open,
+ * and only then loads all containers, so no change is missed in between. Every container event, except
+ * {@code destroy}, reloads summary of that one container, in the order events arrive. If event stream fails,
+ * for example when daemon is restarted, index is dropped and started again on next use.
+ * <p>
+ * Index is eventually consistent - container created by this process becomes visible once its {@code create}
+ * event is processed, which usually takes a few milliseconds.
+ */
+final class HttpContainerIndex {
+
+    HtEvents events;
+    Supplier<List<Map<String, Object>>> listAll;
+    Function<String, Optional<Map<String, Object>>> loadById;
+    @NonFinal
+    @Nullable
+    volatile State state;
+    @NonFinal
+    volatile boolean isClosed;
+
+    HttpContainerIndex(HtHttpDockerSpec dockerSpec) {
+        this(
+                new HttpEvents(dockerSpec),
+                () -> load(dockerSpec, new HtHttpListContainersSpec().withAll()),
+                id -> load(dockerSpec, new HtHttpListContainersSpec().withAll().withIdFilter(id)).stream()
+                        .filter(container -> id.equals(container.get("Id")))
+                        .findFirst()
+        );
+    }
+
+    HttpContainerIndex(HtEvents events,
+                       Supplier<List<Map<String, Object>>> listAll,
+                       Function<String, Optional<Map<String, Object>>> loadById) {
+        this.events = events;
+        this.listAll = listAll;
+        this.loadById = loadById;
+    }
+
+    /**
+     * @return summaries of containers matching list spec, in the same format daemon returns them
+     */
+    List<Map<String, Object>> find(HtHttpListContainersSpec spec) {
+        var result = new ArrayList<Map<String, Object>>();
+        for (var container : state().containers.values()) {
+            if (matches(container, spec)) {
+                result.add(container);
+            }
+        }
+        return result;
+    }
+
+    int size() {
+        return state().containers.size();
+    }
+
+    void close() {
+        isClosed = true;
+        var current = state;
+        if (current != null) {
+            current.subscription.close();
+        }
+    }
+
+    private State state() {
+        var current = state;
+        if (current == null) {
+            synchronized (this) {
+                current = state;
+                if (current == null) {
+                    if (isClosed) {
+                        throw new IllegalStateException("Container index is closed");
+                    }
+                    current = start();
+                    state = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private State start() {
+        var containers = new ConcurrentHashMap<String, Map<String, Object>>();
+        var destroyed = ConcurrentHashMap.<String>newKeySet();
+        var subscription = events.subscribe(
+                spec -> spec.withTypeFilter("container"),
+                event -> apply(event, containers, destroyed)
+        );
+        var newState = new State(containers, subscription);
+        subscription.completion().whenComplete((v, e) -> {
+            synchronized (this) {
+                if (state == newState) {
+                    state = null;
+                }
+            }
+        });
+        try {
+            subscription.opened().join();
+            for (var container : listAll.get()) {
+                var id = (String) container.get("Id");
+                if (!destroyed.contains(id)) {
+                    containers.putIfAbsent(id, container);
+                }
+            }
+        } catch (Exception e) {
+            subscription.close();
+            throw e;
+        }
+        return newState;
+    }
+
+    private void apply(HtEvent event, Map<String, Map<String, Object>> containers, Set<String> destroyed) {
+        var id = event.actorId();
+        if ("destroy".equals(event.action())) {
+            destroyed.add(id);
+            containers.remove(id);
+        } else {
+            loadById.apply(id).ifPresentOrElse(
+                    container -> containers.put(id, container),
+                    () -> containers.remove(id)
+            );
+        }
+    }
+
+    /**
+     * Applies filters the same way daemon does: values of the same id or name filter are alternatives,
+     * while all label filters must match.
+     */
+    static boolean matches(Map<String, Object> container, HtHttpListContainersSpec spec) {
+        if (!spec.isAll() && !"running".equals(container.get("State"))) {
+            return false;
+        }
+        for (var filter : spec.filters().entrySet()) {
+            var values = filter.getValue();
+            if (filter.getKey() == HtListContainersFilterType.ID) {
+                var id = String.valueOf(container.get("Id"));
+                if (values.stream().noneMatch(id::startsWith)) {
+                    return false;
+                }
+            } else if (filter.getKey() == HtListContainersFilterType.NAME) {
+                var names = names(container);
+                if (values.stream().noneMatch(value -> {
+                    var pattern = Pattern.compile(value);
+                    return names.stream().anyMatch(name -> pattern.matcher(name).find());
+                })) {
+                    return false;
+                }
+            } else {
+                var labels = labels(container);
+                for (var value : values) {
+                    var separator = value.indexOf('=');
+                    var isMatching = separator == -1
+                            ? labels.containsKey(value)
+                            : value.substring(separator + 1).equals(labels.get(value.substring(0, separator)));
+                    if (!isMatching) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> names(Map<String, Object> container) {
+        var names = (List<String>) container.get("Names");
+        if (names == null) {
+            return List.of();
+        }
+        var result = new ArrayList<String>(names.size());
+        for (var name : names) {
+            result.add(name.startsWith("/") ? name.substring(1) : name);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> labels(Map<String, Object> container) {
+        var labels = (Map<String, Object>) container.get("Labels");
+        return labels == null ? Map.of() : labels;
+    }
+
+    private static List<Map<String, Object>> load(HtHttpDockerSpec dockerSpec, HtHttpListContainersSpec spec) {
+        return dockerSpec.socket()
+                .send(new Request(dockerSpec.requests().get(spec)).withExpectedStatus(200).withStreamedBody())
+                .mapBody(HtJson::toMapList);
+    }
+
+    private static final class State {
+
+        Map<String, Map<String, Object>> containers;
+        HtEventSubscription subscription;
+
+        State(Map<String, Map<String, Object>> containers, HtEventSubscription subscription) {
+            this.containers = containers;
+            this.subscription = subscription;
+        }
+    }
+}
@@ -29,7 +29,7 @@ final class HttpCreate implements HtCreate {
                         ).withExpectedStatus(201)
                 )
                 .thenApply(response -> {
-                    var id = (String) HtJson.toMap(response.bodyReader()).get("Id");
+                    var id = (String) response.mapBody(HtJson::toMap).get("Id");
                     return new HtLazyContainer(id, () -> httpInspect.inspect(id));
                 });
     }
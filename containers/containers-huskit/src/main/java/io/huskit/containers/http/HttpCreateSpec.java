@@ -95,6 +95,10 @@ final class HttpCreateSpec implements HtCreateSpec, HtUrl {
         return this;
     }
 
+    public HtImgName image() {
+        return image;
+    }
+
     @Override
     public String url() {
         return "/containers/create";
@@ -0,0 +1,24 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.volume.HtCreateVolume;
+import io.huskit.containers.internal.HtJson;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+final class HttpCreateVolume implements HtCreateVolume {
+
+    HtHttpDockerSpec dockerSpec;
+    HttpCreateVolumeSpec spec;
+
+    @Override
+    public String exec() {
+        return (String) dockerSpec.socket()
+                .send(
+                        new Request(dockerSpec.requests().post(spec))
+                                .withExpectedStatus(201)
+                                .withStreamedBody()
+                )
+                .mapBody(HtJson::toMap)
+                .get("Name");
+    }
+}
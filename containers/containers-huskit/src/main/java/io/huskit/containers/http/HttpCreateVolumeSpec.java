@@ -0,0 +1,69 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.volume.HtCreateVolumeSpec;
+
+import java.util.HashMap;
+import java.util.Map;
+
+final class HttpCreateVolumeSpec implements HtCreateVolumeSpec, HtUrl {
+
+    Map<String, Object> body;
+    Map<String, String> driverOpts;
+    Map<String, String> labels;
+
+    HttpCreateVolumeSpec() {
+        this.body = new HashMap<>();
+        this.driverOpts = new HashMap<>();
+        this.labels = new HashMap<>();
+    }
+
+    HttpCreateVolumeSpec(CharSequence volumeName) {
+        this();
+        var name = volumeName.toString();
+        if (name.isBlank()) {
+            throw new IllegalArgumentException("Volume name cannot be blank");
+        }
+        body.put("Name", name);
+    }
+
+    @Override
+    public HttpCreateVolumeSpec withDriver(CharSequence driver) {
+        body.put("Driver", driver.toString());
+        return this;
+    }
+
+    @Override
+    public HttpCreateVolumeSpec withDriverOpts(CharSequence driverOptsKey, CharSequence driverOptsValue) {
+        driverOpts.put(driverOptsKey.toString(), driverOptsValue.toString());
+        body.put("DriverOpts", driverOpts);
+        return this;
+    }
+
+    @Override
+    public HttpCreateVolumeSpec withLabel(CharSequence label) {
+        return withLabel(label, "");
+    }
+
+    @Override
+    public HttpCreateVolumeSpec withLabel(CharSequence key, CharSequence value) {
+        labels.put(key.toString(), value.toString());
+        body.put("Labels", labels);
+        return this;
+    }
+
+    @Override
+    public HttpCreateVolumeSpec withLabels(Map<String, String> labels) {
+        labels.forEach(this::withLabel);
+        return this;
+    }
+
+    @Override
+    public String url() {
+        return "/volumes/create";
+    }
+
+    @Override
+    public Map<String, Object> body() {
+        return body;
+    }
+}
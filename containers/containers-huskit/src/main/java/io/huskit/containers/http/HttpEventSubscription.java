@@ -0,0 +1,45 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.events.HtEventSubscription;
+import lombok.Getter;
+import lombok.experimental.NonFinal;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+final class HttpEventSubscription implements HtEventSubscription {
+
+    Request request;
+    @Getter
+    CompletableFuture<Void> opened;
+    @Getter
+    CompletableFuture<Void> completion;
+    @NonFinal
+    volatile boolean isClosed;
+
+    HttpEventSubscription(Request request) {
+        this.request = request;
+        this.opened = new CompletableFuture<>();
+        this.completion = new CompletableFuture<>();
+    }
+
+    @Override
+    public void close() {
+        isClosed = true;
+        request.abort("Event subscription was closed");
+    }
+
+    /**
+     * Stream failure after {@link #close()} is expected, because closing aborts the read,
+     * so subscription is completed normally in that case.
+     */
+    void complete(@Nullable Exception error) {
+        if (error == null || isClosed) {
+            opened.complete(null);
+            completion.complete(null);
+        } else {
+            opened.completeExceptionally(error);
+            completion.completeExceptionally(error);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.huskit.containers.http;
+
+import io.huskit.common.HtConstants;
+import io.huskit.common.concurrent.IoExecutors;
+import io.huskit.containers.api.events.HtEvent;
+import io.huskit.containers.api.events.HtEvents;
+import io.huskit.containers.api.events.HtEventsSpec;
+import io.huskit.containers.api.events.JsonHtEvent;
+import io.huskit.containers.internal.HtJson;
+import lombok.RequiredArgsConstructor;
+
+import java.io.BufferedReader;
+import java.util.function.Consumer;
+
+/**
+ * Streams {@code /events} over dedicated connection. Daemon sends one JSON object per line and keeps the
+ * connection open, so each subscription holds one reading thread of {@link IoExecutors#streams()}
+ * until it is closed.
+ */
+@RequiredArgsConstructor
+final class HttpEvents implements HtEvents {
+
+    HtHttpDockerSpec dockerSpec;
+
+    @Override
+    public HttpEventSubscription subscribe(Consumer<HtEvent> listener) {
+        return subscribe(HtConstants.Consumers.noop(), listener);
+    }
+
+    @Override
+    public HttpEventSubscription subscribe(Consumer<HtEventsSpec> specAction, Consumer<HtEvent> listener) {
+        var spec = new HttpEventsSpec();
+        specAction.accept(spec);
+        var request = new Request(dockerSpec.requests().get(spec))
+                .withExpectedStatus(200)
+                .withDedicatedConnection()
+                .withStreamedBody();
+        var subscription = new HttpEventSubscription(request);
+        IoExecutors.streams().execute(() -> {
+            try {
+                var response = dockerSpec.socket().send(request);
+                subscription.opened().complete(null);
+                try (var reader = new BufferedReader(response.bodyReader())) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.isBlank()) {
+                            listener.accept(new JsonHtEvent(HtJson.toMap(line)));
+                        }
+                    }
+                }
+                subscription.complete(null);
+            } catch (Exception e) {
+                subscription.complete(e);
+            }
+        });
+        return subscription;
+    }
+}
@@ -0,0 +1,72 @@
+package io.huskit.containers.http;
+
+import io.huskit.common.Mutable;
+import io.huskit.common.collection.HtCollections;
+import io.huskit.containers.api.events.HtEventsSpec;
+import io.huskit.containers.internal.HtJson;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class HttpEventsSpec implements HtEventsSpec, HtUrl {
+
+    Map<String, List<String>> filters = new LinkedHashMap<>();
+    Mutable<Instant> since = Mutable.of();
+
+    @Override
+    public HttpEventsSpec withTypeFilter(CharSequence type) {
+        HtCollections.putOrAdd(filters, "type", type.toString());
+        return this;
+    }
+
+    @Override
+    public HttpEventsSpec withEventFilter(CharSequence action) {
+        HtCollections.putOrAdd(filters, "event", action.toString());
+        return this;
+    }
+
+    @Override
+    public HttpEventsSpec withContainerFilter(CharSequence containerIdOrName) {
+        HtCollections.putOrAdd(filters, "container", containerIdOrName.toString());
+        return this;
+    }
+
+    @Override
+    public HttpEventsSpec withLabelFilter(CharSequence label, CharSequence value) {
+        HtCollections.putOrAdd(filters, "label", label.toString() + "=" + value.toString());
+        return this;
+    }
+
+    @Override
+    public HttpEventsSpec withLabelFilter(CharSequence label) {
+        HtCollections.putOrAdd(filters, "label", label.toString());
+        return this;
+    }
+
+    @Override
+    public HttpEventsSpec withSince(Instant since) {
+        this.since.set(since);
+        return this;
+    }
+
+    public String toParameters() {
+        var parameters = new ArrayList<String>();
+        since.ifPresent(s -> parameters.add("since=" + s.getEpochSecond()));
+        if (!filters.isEmpty()) {
+            parameters.add("filters=" + HtJson.toJson(new LinkedHashMap<String, Object>(filters)));
+        }
+        if (parameters.isEmpty()) {
+            return "";
+        } else {
+            return "?" + String.join("&", parameters);
+        }
+    }
+
+    @Override
+    public String url() {
+        return "/events" + toParameters();
+    }
+}
@@ -1,27 +1,122 @@
 package io.huskit.containers.http;
 
+import io.huskit.common.concurrent.IoExecutors;
+import io.huskit.containers.api.container.exec.DfHtExecResult;
 import io.huskit.containers.api.container.exec.HtExec;
+import io.huskit.containers.api.container.exec.HtExecResult;
+import io.huskit.containers.internal.HtJson;
 import lombok.RequiredArgsConstructor;
 
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+/**
+ * Runs command in container with three requests: exec instance is created, then started without detaching,
+ * in which case daemon hijacks the connection and writes multiplexed stdout and stderr until command exits,
+ * and finally exec instance is inspected for exit code.
+ */
 @RequiredArgsConstructor
 final class HttpExec implements HtExec {
 
+    private static final int EXIT_CODE_ATTEMPTS = 50;
+    private static final long EXIT_CODE_RETRY_MILLIS = 10;
     HtHttpDockerSpec dockerSpec;
     HttpExecSpec httpExecSpec;
 
     @Override
-    public void exec() {
-        execAsync().join();
+    public HtExecResult exec() {
+        return execAsync().join();
     }
 
     @Override
-    public CompletableFuture<Void> execAsync() {
+    public CompletableFuture<HtExecResult> execAsync() {
+        return create().thenCompose(this::start);
+    }
+
+    private CompletableFuture<String> create() {
+        return dockerSpec.socket().sendAsync(
+                new Request(dockerSpec.requests().post(httpExecSpec))
+                        .withExpectedStatus(201)
+                        .withStreamedBody()
+        ).thenApply(response -> (String) response.mapBody(HtJson::toMap).get("Id"));
+    }
+
+    private CompletableFuture<HtExecResult> start(String execId) {
         return dockerSpec.socket().sendAsync(
-                new Request(
-                        dockerSpec.requests().post(httpExecSpec)
+                new Request(dockerSpec.requests().post(new HttpExecStartSpec(execId)))
+                        .withExpectedStatus(200)
+                        .withDedicatedConnection()
+                        .withMultiplexedStream()
+        ).thenCompose(response -> {
+            var stdOut = lines(response.stdOut());
+            var stdErr = lines(response.stdErr());
+            return exitCode(execId, 1).thenApply(exitCode -> new DfHtExecResult(exitCode, stdOut, stdErr));
+        });
+    }
+
+    /**
+     * Output ends when process exits, but daemon may record exit code slightly later,
+     * so exec is inspected again for a short while if it is still reported as running.
+     */
+    private CompletableFuture<Integer> exitCode(String execId, int attempt) {
+        return dockerSpec.socket().sendAsync(
+                        new Request(dockerSpec.requests().get(HtUrl.of("/exec/" + execId + "/json")))
+                                .withExpectedStatus(200)
+                                .withStreamedBody()
                 )
-        ).thenApply(v -> null);
+                .thenCompose(response -> {
+                    var exec = response.mapBody(HtJson::toMap);
+                    var exitCode = exec.get("ExitCode");
+                    if (!Boolean.TRUE.equals(exec.get("Running")) && exitCode != null) {
+                        return CompletableFuture.completedFuture(((Number) exitCode).intValue());
+                    }
+                    if (attempt >= EXIT_CODE_ATTEMPTS) {
+                        return CompletableFuture.failedFuture(new IllegalStateException(String.format(
+                                "Exec [%s] in container [%s] is still running after its output ended",
+                                execId, httpExecSpec.containerId()
+                        )));
+                    }
+                    var retry = new CompletableFuture<Integer>();
+                    IoExecutors.scheduler().schedule(
+                            () -> exitCode(execId, attempt + 1).whenComplete((code, e) -> {
+                                if (e != null) {
+                                    retry.completeExceptionally(e);
+                                } else {
+                                    retry.complete(code);
+                                }
+                            }),
+                            EXIT_CODE_RETRY_MILLIS,
+                            TimeUnit.MILLISECONDS
+                    );
+                    return retry;
+                });
+    }
+
+    private static List<String> lines(SimplePipe pipe) {
+        try (var lines = new PipeStream(pipe).streamSupplier().get()) {
+            return lines.collect(Collectors.toList());
+        }
+    }
+}
+
+final class HttpExecStartSpec implements HtUrl {
+
+    String execId;
+
+    HttpExecStartSpec(String execId) {
+        this.execId = execId;
+    }
+
+    @Override
+    public String url() {
+        return "/exec/" + execId + "/start";
+    }
+
+    @Override
+    public Map<String, Object> body() {
+        return Map.of("Detach", false, "Tty", false);
     }
 }
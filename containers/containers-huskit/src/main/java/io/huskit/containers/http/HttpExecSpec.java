@@ -13,8 +13,8 @@ final class HttpExecSpec implements HtUrl {
         this.body = new HashMap<>();
         this.containerId = containerId.toString();
         this.body.put("AttachStdin", false);
-        this.body.put("AttachStdout", false);
-        this.body.put("AttachStderr", false);
+        this.body.put("AttachStdout", true);
+        this.body.put("AttachStderr", true);
         this.body.put("Tty", false);
         var cmd = new ArrayList<String>();
         cmd.add(command.toString());
@@ -24,6 +24,10 @@ final class HttpExecSpec implements HtUrl {
         this.body.put("Cmd", cmd);
     }
 
+    public String containerId() {
+        return containerId;
+    }
+
     @Override
     public String url() {
         return "/containers/" + containerId + "/exec";
@@ -4,11 +4,8 @@ import io.huskit.containers.api.container.logs.HtFollowedLogs;
 import io.huskit.containers.api.container.logs.Logs;
 import io.huskit.containers.api.container.logs.LookFor;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 
-import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -53,17 +50,13 @@ final class HttpFollowedLogs implements HtFollowedLogs {
         lookForAsync(lookFor).join();
     }
 
+    /**
+     * Holds single follow stream until matching line is logged, timeout passes or container stops,
+     * see {@link HttpReadinessWatch}. Cancelling returned future also aborts the read.
+     */
     @Override
-    @SneakyThrows
     public CompletableFuture<Void> lookForAsync(LookFor lookFor) {
-        var timeout = lookFor.timeout();
-        if (timeout.isZero()) {
-            streamAsyncInternal(request -> request.withRepeatReadPredicate(lookFor, Duration.ofMillis(10))).join();
-        } else {
-            streamAsyncInternal(request -> request.withRepeatReadPredicate(lookFor, Duration.ofMillis(10)))
-                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
-        }
-        return CompletableFuture.completedFuture(null);
+        return new HttpReadinessWatch(dockerSpec, logsSpec.containerId(), lookFor).start();
     }
 
     private CompletableFuture<Logs> streamAsyncInternal() {
@@ -71,6 +64,16 @@ final class HttpFollowedLogs implements HtFollowedLogs {
     }
 
     private CompletableFuture<Logs> streamAsyncInternal(Function<Request, Request> requestAction) {
+        return sendAsync(requestAction)
+                .thenApply(response ->
+                        new Logs.DfLogs(
+                                response.stdOut(),
+                                response.stdErr()
+                        )
+                );
+    }
+
+    private CompletableFuture<Http.RawResponse> sendAsync(Function<Request, Request> requestAction) {
         return dockerSpec.socket()
                 .sendAsync(
                         requestAction.apply(
@@ -78,12 +81,6 @@ final class HttpFollowedLogs implements HtFollowedLogs {
                                         dockerSpec.requests().get(logsSpec)
                                 ).withExpectedStatus(200)
                         )
-                )
-                .thenApply(response ->
-                        new Logs.DfLogs(
-                                response.stdOut(),
-                                response.stdErr()
-                        )
                 );
     }
 }
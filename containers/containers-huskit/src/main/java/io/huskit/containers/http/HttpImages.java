@@ -0,0 +1,59 @@
+package io.huskit.containers.http;
+
+import io.huskit.common.HtConstants;
+import io.huskit.containers.api.image.HtImages;
+import io.huskit.containers.api.image.HtImgName;
+import io.huskit.containers.api.image.HtPullImagesSpec;
+import io.huskit.containers.api.image.HtRmImagesSpec;
+import io.huskit.containers.cli.HtListImagesSpec;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+final class HttpImages implements HtImages {
+
+    HtHttpDockerSpec dockerSpec;
+
+    @Override
+    public HttpListImages list() {
+        return list(HtConstants.Consumers.noop());
+    }
+
+    @Override
+    public HttpListImages list(Consumer<HtListImagesSpec> action) {
+        var spec = new HttpListImagesSpec();
+        action.accept(spec);
+        return new HttpListImages(dockerSpec, spec);
+    }
+
+    @Override
+    public HttpRmImages rm(CharSequence imageRef) {
+        return rm(imageRef, HtConstants.Consumers.noop());
+    }
+
+    @Override
+    public HttpRmImages rm(CharSequence imageRef, Consumer<HtRmImagesSpec> action) {
+        return rm(List.of(imageRef), action);
+    }
+
+    @Override
+    public <T extends CharSequence> HttpRmImages rm(Iterable<T> imageRefs, Consumer<HtRmImagesSpec> action) {
+        var spec = new HttpRmImagesSpec(HtImgName.of(imageRefs));
+        action.accept(spec);
+        return new HttpRmImages(dockerSpec, spec);
+    }
+
+    @Override
+    public HttpPullImages pull(CharSequence imageRef) {
+        return pull(imageRef, HtConstants.Consumers.noop());
+    }
+
+    @Override
+    public HttpPullImages pull(CharSequence imageRef, Consumer<HtPullImagesSpec> action) {
+        var spec = new HttpPullImagesSpec(HtImgName.of(imageRef));
+        action.accept(spec);
+        return new HttpPullImages(dockerSpec, spec);
+    }
+}
@@ -1,13 +1,16 @@
 package io.huskit.containers.http;
 
 import io.huskit.containers.api.container.HtContainer;
+import io.huskit.containers.api.container.HtInspectException;
 import io.huskit.containers.api.container.HtJsonContainer;
 import io.huskit.containers.internal.HtJson;
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 @RequiredArgsConstructor
 final class HttpInspect {
@@ -19,20 +22,45 @@ final class HttpInspect {
     }
 
     public Stream<HtContainer> inspect(Iterable<? extends CharSequence> containerIds) {
-        return StreamSupport.stream(containerIds.spliterator(), false)
-                .map(this::inspect);
+        try {
+            return inspectAsync(containerIds).join().stream();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof HtInspectException) {
+                throw (HtInspectException) e.getCause();
+            }
+            throw e;
+        }
     }
 
     public CompletableFuture<HtContainer> inspectAsync(CharSequence id) {
+        return dockerSpec.inspectCache().get(id.toString(), this::inspectFreshAsync);
+    }
+
+    public CompletableFuture<List<HtContainer>> inspectAsync(Iterable<? extends CharSequence> containerIds) {
+        var ids = new ArrayList<String>();
+        for (var containerId : containerIds) {
+            ids.add(containerId.toString());
+        }
+        return new ParallelBatch<>(
+                ids,
+                this::inspectAsync,
+                dockerSpec.inspectParallelism(),
+                HtInspectException::new
+        ).start();
+    }
+
+    /**
+     * Reads container from daemon without going through {@link HtHttpDockerSpec#inspectCache()}.
+     */
+    public CompletableFuture<HtContainer> inspectFreshAsync(CharSequence id) {
         return dockerSpec.socket().sendAsync(
                 new Request(
                         dockerSpec.requests().get(new HttpInspectSpec(id))
                 ).withExpectedStatus(200)
+                        .withStreamedBody()
         ).thenApply(response ->
                 new HtJsonContainer(
-                        HtJson.toMap(
-                                response.bodyReader()
-                        )
+                        response.mapBody(HtJson::toMap)
                 ));
     }
 }
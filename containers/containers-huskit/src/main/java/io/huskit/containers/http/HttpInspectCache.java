@@ -0,0 +1,161 @@
+package io.huskit.containers.http;
+
+import io.huskit.common.function.MemoizedSupplier;
+import io.huskit.containers.api.container.HtContainer;
+import io.huskit.containers.api.events.HtEventSubscription;
+import io.huskit.containers.api.events.HtEvents;
+import lombok.experimental.NonFinal;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of container inspect results, keyed by id or name that was used for inspect.
+ * <p>
+ * Concurrent inspects of the same container share single request to the daemon, even with zero TTL.
+ * Completed results are kept for {@code ttl}, failed ones are never kept. Containers are invalidated explicitly
+ * when they are started or removed through this client and, if events are given, whenever daemon reports
+ * container event for them, so changes made by other clients are picked up before TTL passes. If event stream
+ * fails, cache still works, relying only on TTL.
+ */
+final class HttpInspectCache {
+
+    private static final int PURGE_THRESHOLD = 1024;
+    Duration ttl;
+    LongSupplier nanoClock;
+    Map<String, Entry> entries;
+    AtomicLong hits;
+    AtomicLong misses;
+    @Nullable
+    MemoizedSupplier<HtEventSubscription> subscription;
+
+    HttpInspectCache(Duration ttl, @Nullable HtEvents events) {
+        this(ttl, events, System::nanoTime);
+    }
+
+    HttpInspectCache(Duration ttl, @Nullable HtEvents events, LongSupplier nanoClock) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("Inspect cache TTL should not be negative, but got " + ttl);
+        }
+        this.ttl = ttl;
+        this.nanoClock = nanoClock;
+        this.entries = new ConcurrentHashMap<>();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.subscription = events == null ? null : MemoizedSupplier.of(() -> events.subscribe(
+                spec -> spec.withTypeFilter("container"),
+                event -> invalidate(event.actorId())
+        ));
+    }
+
+    /**
+     * @param loader called on cache miss to inspect container
+     * @return future of cached or loaded container, cancelling it does not affect other callers
+     */
+    CompletableFuture<HtContainer> get(String id, Function<String, CompletableFuture<HtContainer>> loader) {
+        if (subscription != null) {
+            subscription.get();
+        }
+        var now = nanoClock.getAsLong();
+        var created = new Entry[1];
+        var entry = entries.compute(id, (key, existing) -> {
+            if (existing != null && existing.isUsable(now)) {
+                return existing;
+            }
+            created[0] = new Entry();
+            return created[0];
+        });
+        if (entry != created[0]) {
+            hits.incrementAndGet();
+            return entry.future.copy();
+        }
+        misses.incrementAndGet();
+        if (entries.size() > PURGE_THRESHOLD) {
+            entries.values().removeIf(e -> !e.isUsable(now));
+        }
+        CompletableFuture<HtContainer> loaded;
+        try {
+            loaded = loader.apply(id);
+        } catch (Exception e) {
+            loaded = CompletableFuture.failedFuture(e);
+        }
+        loaded.whenComplete((container, e) -> {
+            if (e != null) {
+                entries.remove(id, entry);
+                entry.future.completeExceptionally(e);
+            } else {
+                entry.expiresAtNanos = nanoClock.getAsLong() + ttl.toNanos();
+                if (ttl.isZero()) {
+                    entries.remove(id, entry);
+                }
+                entry.future.complete(container);
+            }
+        });
+        return entry.future.copy();
+    }
+
+    /**
+     * Drops cached results for container, whether they were requested by full id, id prefix or name - completed
+     * results are matched by id of inspected container. Inspect that is in flight is not cancelled, but its result
+     * is not cached if it was requested by full id or by key that looks like id prefix, since it is not yet known
+     * which container it is for.
+     */
+    void invalidate(String id) {
+        entries.remove(id);
+        entries.entrySet().removeIf(e -> e.getValue().isFor(id)
+                || !e.getValue().future.isDone() && isIdPrefix(e.getKey()) && id.startsWith(e.getKey()));
+    }
+
+    void invalidateAll() {
+        entries.clear();
+    }
+
+    long hits() {
+        return hits.get();
+    }
+
+    long misses() {
+        return misses.get();
+    }
+
+    void close() {
+        invalidateAll();
+        if (subscription != null && subscription.isInitialized()) {
+            subscription.get().close();
+        }
+    }
+
+    private static boolean isIdPrefix(String key) {
+        for (var i = 0; i < key.length(); i++) {
+            var c = key.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return !key.isEmpty();
+    }
+
+    private static final class Entry {
+
+        CompletableFuture<HtContainer> future = new CompletableFuture<>();
+        @NonFinal
+        volatile long expiresAtNanos;
+
+        boolean isUsable(long nowNanos) {
+            if (!future.isDone()) {
+                return true;
+            }
+            return !future.isCompletedExceptionally() && nowNanos - expiresAtNanos < 0;
+        }
+
+        boolean isFor(String id) {
+            return future.isDone() && !future.isCompletedExceptionally() && id.equals(future.join().id());
+        }
+    }
+}
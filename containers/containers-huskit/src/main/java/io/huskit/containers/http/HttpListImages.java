@@ -0,0 +1,49 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.image.DefHtImageView;
+import io.huskit.containers.api.image.HtImageView;
+import io.huskit.containers.api.image.HtListImages;
+import io.huskit.containers.api.image.MapHtImageRichView;
+import io.huskit.containers.internal.HtJson;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+final class HttpListImages implements HtListImages {
+
+    private static final int SHORT_ID_LENGTH = 12;
+    HtHttpDockerSpec dockerSpec;
+    HttpListImagesSpec spec;
+
+    @Override
+    public Stream<HtImageView> stream() {
+        return dockerSpec.socket()
+                .send(
+                        new Request(dockerSpec.requests().get(spec))
+                                .withExpectedStatus(200)
+                                .withStreamedBody()
+                )
+                .mapBody(HtJson::toMapList)
+                .stream()
+                .map(this::toView);
+    }
+
+    private HtImageView toView(Map<String, Object> image) {
+        var id = (String) image.get("Id");
+        var hash = id.startsWith("sha256:") ? id.substring("sha256:".length()) : id;
+        return new DefHtImageView(
+                hash.substring(0, Math.min(SHORT_ID_LENGTH, hash.length())),
+                () -> new MapHtImageRichView(
+                        dockerSpec.socket()
+                                .send(
+                                        new Request(dockerSpec.requests().get(HtUrl.of("/images/" + id + "/json")))
+                                                .withExpectedStatus(200)
+                                                .withStreamedBody()
+                                )
+                                .mapBody(HtJson::toMap)
+                )
+        );
+    }
+}
@@ -0,0 +1,83 @@
+package io.huskit.containers.http;
+
+import io.huskit.common.Mutable;
+import io.huskit.common.collection.HtCollections;
+import io.huskit.containers.cli.HtListImagesSpec;
+import io.huskit.containers.internal.HtJson;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class HttpListImagesSpec implements HtListImagesSpec, HtUrl {
+
+    Mutable<Boolean> all = Mutable.of(false);
+    Map<String, List<String>> filters = new LinkedHashMap<>();
+
+    @Override
+    public HttpListImagesSpec withAll() {
+        all.set(true);
+        return this;
+    }
+
+    @Override
+    public HttpListImagesSpec withFilterByBefore(String image) {
+        return withFilter("before", image);
+    }
+
+    @Override
+    public HttpListImagesSpec withFilterBySince(String image) {
+        return withFilter("since", image);
+    }
+
+    @Override
+    public HttpListImagesSpec withFilterByReference(String reference) {
+        return withFilter("reference", reference);
+    }
+
+    @Override
+    public HttpListImagesSpec withFilterByUntil(String image) {
+        return withFilter("until", image);
+    }
+
+    @Override
+    public HttpListImagesSpec withFilterByDangling(Boolean dangling) {
+        return withFilter("dangling", dangling.toString());
+    }
+
+    @Override
+    public HttpListImagesSpec withFilterByLabel(String key) {
+        return withFilter("label", key);
+    }
+
+    @Override
+    public HttpListImagesSpec withFilterByLabel(String key, String value) {
+        return withFilter("label", key + "=" + value);
+    }
+
+    public String toParameters() {
+        var parameters = new ArrayList<String>();
+        if (all.require()) {
+            parameters.add("all=true");
+        }
+        if (!filters.isEmpty()) {
+            parameters.add("filters=" + HtJson.toJson(new LinkedHashMap<String, Object>(filters)));
+        }
+        if (parameters.isEmpty()) {
+            return "";
+        } else {
+            return "?" + String.join("&", parameters);
+        }
+    }
+
+    @Override
+    public String url() {
+        return "/images/json" + toParameters();
+    }
+
+    private HttpListImagesSpec withFilter(String key, String value) {
+        HtCollections.putOrAdd(filters, key, value);
+        return this;
+    }
+}
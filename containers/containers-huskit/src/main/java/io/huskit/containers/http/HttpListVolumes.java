@@ -0,0 +1,38 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.volume.HtListVolumes;
+import io.huskit.containers.api.volume.HtVolumeView;
+import io.huskit.containers.internal.HtJson;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Lists volumes with single request. Unlike {@code docker volume ls}, daemon returns all volume details
+ * in the list response, so no inspect is needed afterwards.
+ */
+@RequiredArgsConstructor
+final class HttpListVolumes implements HtListVolumes {
+
+    HtHttpDockerSpec dockerSpec;
+    HttpListVolumesSpec spec;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<HtVolumeView> stream() {
+        var response = dockerSpec.socket()
+                .send(
+                        new Request(dockerSpec.requests().get(spec))
+                                .withExpectedStatus(200)
+                                .withStreamedBody()
+                )
+                .mapBody(HtJson::toMap);
+        var volumes = (List<Map<String, Object>>) response.get("Volumes");
+        if (volumes == null) {
+            return Stream.empty();
+        }
+        return volumes.stream().map(HttpVolumes::view);
+    }
+}
@@ -0,0 +1,56 @@
+package io.huskit.containers.http;
+
+import io.huskit.common.collection.HtCollections;
+import io.huskit.containers.api.volume.HtListVolumesSpec;
+import io.huskit.containers.internal.HtJson;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+final class HttpListVolumesSpec implements HtListVolumesSpec, HtUrl {
+
+    Map<String, List<String>> filters = new LinkedHashMap<>();
+
+    @Override
+    public HttpListVolumesSpec withFilterByDangling(Boolean dangling) {
+        return withFilter("dangling", dangling.toString());
+    }
+
+    @Override
+    public HttpListVolumesSpec withFilterByLabelExists(CharSequence labelKey) {
+        return withFilter("label", labelKey.toString());
+    }
+
+    @Override
+    public HttpListVolumesSpec withFilterByLabel(CharSequence labelKey, CharSequence labelValue) {
+        return withFilter("label", labelKey + "=" + labelValue);
+    }
+
+    @Override
+    public HttpListVolumesSpec withFilterByLabels(Map<String, String> labels) {
+        labels.forEach((key, value) -> withFilterByLabel(
+                key,
+                Objects.requireNonNull(value, "Null label values are not allowed")
+        ));
+        return this;
+    }
+
+    HttpListVolumesSpec withFilter(String key, String value) {
+        HtCollections.putOrAdd(filters, key, value);
+        return this;
+    }
+
+    String toParameters() {
+        if (filters.isEmpty()) {
+            return "";
+        }
+        return "?filters=" + HtJson.toJson(new LinkedHashMap<String, Object>(filters));
+    }
+
+    @Override
+    public String url() {
+        return "/volumes" + toParameters();
+    }
+}
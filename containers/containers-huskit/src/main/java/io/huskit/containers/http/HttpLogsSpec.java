@@ -16,6 +16,10 @@ final class HttpLogsSpec implements HtUrl {
         return this;
     }
 
+    public String containerId() {
+        return containerId;
+    }
+
     @Override
     public String url() {
         if (follow.require()) {
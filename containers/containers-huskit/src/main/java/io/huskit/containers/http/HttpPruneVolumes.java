@@ -0,0 +1,19 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.volume.HtPruneVolumes;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+final class HttpPruneVolumes implements HtPruneVolumes {
+
+    HtHttpDockerSpec dockerSpec;
+    HttpPruneVolumesSpec spec;
+
+    @Override
+    public void exec() {
+        dockerSpec.socket().send(
+                new Request(dockerSpec.requests().post(spec))
+                        .withExpectedStatus(200)
+        );
+    }
+}
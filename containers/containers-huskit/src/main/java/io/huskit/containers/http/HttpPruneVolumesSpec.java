@@ -0,0 +1,49 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.volume.HtPruneVolumesSpec;
+
+import java.util.Map;
+
+final class HttpPruneVolumesSpec implements HtPruneVolumesSpec, HtUrl {
+
+    HttpListVolumesSpec filters = new HttpListVolumesSpec();
+
+    /**
+     * Also prunes named volumes, not only anonymous ones. Supported by daemons with API version 1.42 and later,
+     * which prune only anonymous volumes by default.
+     */
+    @Override
+    public HttpPruneVolumesSpec withAll() {
+        filters.withFilter("all", "true");
+        return this;
+    }
+
+    @Override
+    public HttpPruneVolumesSpec withFilterByDangling(Boolean dangling) {
+        filters.withFilterByDangling(dangling);
+        return this;
+    }
+
+    @Override
+    public HttpPruneVolumesSpec withFilterByLabelExists(CharSequence labelKey) {
+        filters.withFilterByLabelExists(labelKey);
+        return this;
+    }
+
+    @Override
+    public HttpPruneVolumesSpec withFilterByLabel(CharSequence labelKey, CharSequence labelValue) {
+        filters.withFilterByLabel(labelKey, labelValue);
+        return this;
+    }
+
+    @Override
+    public HttpPruneVolumesSpec withFilterByLabels(Map<String, String> labels) {
+        filters.withFilterByLabels(labels);
+        return this;
+    }
+
+    @Override
+    public String url() {
+        return "/volumes/prune" + filters.toParameters();
+    }
+}
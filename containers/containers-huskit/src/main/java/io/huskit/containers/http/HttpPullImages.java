@@ -0,0 +1,91 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.image.HtPullImages;
+import io.huskit.containers.api.image.HtPullProgress;
+import io.huskit.containers.internal.HtJson;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.util.Map;
+
+/**
+ * Pulls image with {@code POST /images/create}. Daemon streams progress as one JSON object per line
+ * until pull is done, and reports failures in the same stream with {@code error} field, while status code
+ * is already {@code 200}.
+ */
+@RequiredArgsConstructor
+final class HttpPullImages implements HtPullImages {
+
+    HtHttpDockerSpec dockerSpec;
+    HttpPullImagesSpec spec;
+
+    @Override
+    public void exec() {
+        dockerSpec.socket()
+                .send(
+                        new Request(dockerSpec.requests().request(HttpMethod.POST, spec))
+                                .withExpectedStatus(200)
+                                .withStreamedBody()
+                                .withDedicatedConnection()
+                )
+                .mapBody(this::readProgress);
+    }
+
+    @SneakyThrows
+    private Void readProgress(Reader body) {
+        var reader = new BufferedReader(body);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            var message = HtJson.toMap(line);
+            var error = message.get("error");
+            if (error != null) {
+                throw new IllegalStateException(String.format(
+                        "Failed to pull image '%s': %s", spec.imageName().reference(), error
+                ));
+            }
+            var status = message.get("status");
+            if (status != null) {
+                spec.progressListener().accept(toProgress(message, status.toString()));
+            }
+        }
+        return null;
+    }
+
+    static HtPullProgress toProgress(Map<String, Object> message, String status) {
+        var id = message.get("id");
+        var current = 0L;
+        var total = 0L;
+        var detail = message.get("progressDetail");
+        if (detail instanceof Map) {
+            var detailMap = (Map<?, ?>) detail;
+            current = toLong(detailMap.get("current"));
+            total = toLong(detailMap.get("total"));
+        }
+        return new DfPullProgress(id == null ? "" : id.toString(), status, current, total);
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+}
+
+@Getter
+@RequiredArgsConstructor
+final class DfPullProgress implements HtPullProgress {
+
+    String layerId;
+    String status;
+    Long current;
+    Long total;
+
+    @Override
+    public String toString() {
+        return layerId.isEmpty() ? status : layerId + ": " + status;
+    }
+}
@@ -0,0 +1,78 @@
+package io.huskit.containers.http;
+
+import io.huskit.common.HtConstants;
+import io.huskit.common.Mutable;
+import io.huskit.containers.api.image.HtImgName;
+import io.huskit.containers.api.image.HtPullImagesSpec;
+import io.huskit.containers.api.image.HtPullProgress;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+final class HttpPullImagesSpec implements HtPullImagesSpec, HtUrl {
+
+    HtImgName imageName;
+    Mutable<Boolean> allTags = Mutable.of(false);
+    Mutable<String> platform = Mutable.of();
+    Mutable<Consumer<HtPullProgress>> progressListener = Mutable.of(HtConstants.Consumers.noop());
+
+    HttpPullImagesSpec(HtImgName imageName) {
+        this.imageName = imageName;
+    }
+
+    @Override
+    public HttpPullImagesSpec withAllTags() {
+        allTags.set(true);
+        return this;
+    }
+
+    /**
+     * Content trust is verified by docker cli before it calls the daemon, Engine API has no such option,
+     * so this is a no-op.
+     */
+    @Override
+    public HttpPullImagesSpec withDisableContentTrust() {
+        return this;
+    }
+
+    @Override
+    public HttpPullImagesSpec withPlatformString(CharSequence platformString) {
+        platform.set(platformString.toString());
+        return this;
+    }
+
+    @Override
+    public HttpPullImagesSpec withProgressListener(Consumer<HtPullProgress> listener) {
+        progressListener.set(listener);
+        return this;
+    }
+
+    public HtImgName imageName() {
+        return imageName;
+    }
+
+    public Consumer<HtPullProgress> progressListener() {
+        return progressListener.require();
+    }
+
+    @Override
+    public String url() {
+        var params = new ArrayList<String>(3);
+        params.add("fromImage=" + encode(imageName.repository()));
+        if (!allTags.require()) {
+            params.add("tag=" + encode(imageName.tag()));
+        }
+        platform.ifPresent(p -> {
+            if (!p.isBlank()) {
+                params.add("platform=" + encode(p));
+            }
+        });
+        return "/images/create?" + String.join("&", params);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,151 @@
+package io.huskit.containers.http;
+
+import io.huskit.common.concurrent.IoExecutors;
+import io.huskit.containers.api.container.logs.LookFor;
+import io.huskit.containers.internal.HtJson;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Waits until container logs a line matching {@link LookFor}, holding single output stream - log follow or attach -
+ * for the whole wait. Frames are tested as they arrive, so nothing is polled.
+ * <p>
+ * Wait completes as soon as one of these happens:
+ * <ul>
+ *     <li>matching line is logged</li>
+ *     <li>{@link LookFor#timeout()} passes, if it is set</li>
+ *     <li>container stops - daemon ends output stream then, and exit code is read from container state
+ *     to tell why it ended</li>
+ * </ul>
+ * In the last two cases, and when returned future is cancelled, output stream is aborted.
+ */
+final class HttpReadinessWatch {
+
+    String containerId;
+    LookFor lookFor;
+    Supplier<CompletableFuture<?>> follow;
+    Supplier<CompletableFuture<Optional<Integer>>> exitCode;
+
+    HttpReadinessWatch(HtHttpDockerSpec dockerSpec, String containerId, LookFor lookFor) {
+        this(
+                containerId,
+                lookFor,
+                () -> dockerSpec.socket().sendAsync(
+                        new Request(dockerSpec.requests().get(new HttpLogsSpec(containerId).withFollow(true)))
+                                .withExpectedStatus(200)
+                                .withRepeatReadPredicate(lookFor)
+                ),
+                () -> exitCode(dockerSpec, containerId)
+        );
+    }
+
+    HttpReadinessWatch(String containerId,
+                       LookFor lookFor,
+                       Supplier<CompletableFuture<?>> follow,
+                       Supplier<CompletableFuture<Optional<Integer>>> exitCode) {
+        this.containerId = containerId;
+        this.lookFor = lookFor;
+        this.follow = follow;
+        this.exitCode = exitCode;
+    }
+
+    /**
+     * Watch that reads output by attaching to container, which unlike log follow can be done before container
+     * is started. Output written before attach is replayed first, so nothing is missed whichever of attach
+     * and start reaches daemon first.
+     */
+    static HttpReadinessWatch attached(HtHttpDockerSpec dockerSpec, String containerId, LookFor lookFor) {
+        return new HttpReadinessWatch(
+                containerId,
+                lookFor,
+                () -> dockerSpec.socket().sendAsync(
+                        new Request(dockerSpec.requests().request(
+                                HttpMethod.POST,
+                                HtUrl.of("/containers/" + containerId + "/attach?logs=true&stream=true&stdout=true&stderr=true")
+                        ))
+                                .withExpectedStatus(200)
+                                .withMultiplexedStream()
+                                .withRepeatReadPredicate(lookFor)
+                ),
+                () -> exitCode(dockerSpec, containerId)
+        );
+    }
+
+    CompletableFuture<Void> start() {
+        var result = new CompletableFuture<Void>();
+        var stream = follow.get();
+        stream.whenComplete((ignored, e) -> {
+            if (e == null) {
+                result.complete(null);
+            } else if (!result.isDone()) {
+                onStreamFailed(unwrap(e), result);
+            }
+        });
+        var timeout = lookFor.timeout();
+        if (!timeout.isZero()) {
+            var timer = IoExecutors.scheduler().schedule(
+                    () -> result.completeExceptionally(new IllegalStateException(String.format(
+                            "Container [%s] did not log matching line within %s", containerId, timeout
+                    ))),
+                    timeout.toNanos(),
+                    TimeUnit.NANOSECONDS
+            );
+            result.whenComplete((v, e) -> timer.cancel(false));
+        }
+        result.whenComplete((v, e) -> {
+            if (e != null) {
+                stream.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private void onStreamFailed(Throwable cause, CompletableFuture<Void> result) {
+        CompletableFuture<Optional<Integer>> state;
+        try {
+            state = exitCode.get();
+        } catch (Exception e) {
+            state = CompletableFuture.failedFuture(e);
+        }
+        state.whenComplete((code, e) -> {
+            if (e != null) {
+                cause.addSuppressed(unwrap(e));
+                result.completeExceptionally(cause);
+            } else if (code.isPresent()) {
+                result.completeExceptionally(new IllegalStateException(String.format(
+                        "Container [%s] exited with code [%s] before matching line was logged",
+                        containerId, code.get()
+                ), cause));
+            } else {
+                result.completeExceptionally(cause);
+            }
+        });
+    }
+
+    private static CompletableFuture<Optional<Integer>> exitCode(HtHttpDockerSpec dockerSpec, String containerId) {
+        return dockerSpec.socket().sendAsync(
+                new Request(dockerSpec.requests().get(new HttpInspectSpec(containerId)))
+                        .withExpectedStatus(200)
+                        .withStreamedBody()
+        ).thenApply(response -> exitCodeIfStopped(response.mapBody(HtJson::toMap)));
+    }
+
+    @SuppressWarnings("unchecked")
+    static Optional<Integer> exitCodeIfStopped(Map<String, Object> container) {
+        var state = (Map<String, Object>) container.get("State");
+        if (state == null || Boolean.TRUE.equals(state.get("Running")) || "created".equals(state.get("Status"))) {
+            return Optional.empty();
+        }
+        var exitCode = (Number) state.get("ExitCode");
+        return Optional.of(exitCode == null ? -1 : exitCode.intValue());
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+}
@@ -0,0 +1,40 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.volume.HtRemoveVolumes;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Removes volumes concurrently over connection pool, with at most {@link HtHttpDockerSpec#inspectParallelism()}
+ * requests in flight. Removal of every volume is attempted even if some fail, and all failures are then
+ * reported together.
+ */
+@RequiredArgsConstructor
+final class HttpRemoveVolumes implements HtRemoveVolumes {
+
+    HtHttpDockerSpec dockerSpec;
+    List<String> names;
+    Boolean force;
+
+    @Override
+    public void exec() {
+        HttpVolumes.join(
+                new ParallelBatch<>(
+                        names,
+                        this::removeAsync,
+                        dockerSpec.inspectParallelism(),
+                        (removed, failures) -> HttpVolumes.failure("remove", removed.size(), failures)
+                ).start()
+        );
+    }
+
+    private CompletableFuture<Boolean> removeAsync(String name) {
+        var url = "/volumes/" + name;
+        return dockerSpec.socket().sendAsync(
+                new Request(dockerSpec.requests().delete(HtUrl.of(force ? url + "?force=true" : url)))
+                        .withExpectedStatus(204)
+        ).thenApply(response -> true);
+    }
+}
@@ -4,60 +4,52 @@ import io.huskit.containers.internal.HtJson;
 
 import java.nio.charset.StandardCharsets;
 
+/**
+ * Encodes docker API requests. Request line and headers that are the same for every request are encoded once,
+ * and each request is kept as separate parts - method, url, static headers, content length and body - that are
+ * sent with single gathering write, see {@link GatheringHttpRequest}.
+ */
 final class HttpRequests {
 
-    byte[] afterUrlPartGet;
-    byte[] afterUrlPartPost;
-
-    public HttpRequests() {
-        this.afterUrlPartGet = (" "
-                + "HTTP/1.1\r\n"
-                + "Host: localhost\r\n"
-                + "Connection: keep-alive\r\n"
-                + "Content-Type: application/json\r\n"
-                + "\r\n"
-        ).getBytes(StandardCharsets.UTF_8);
-        this.afterUrlPartPost = (" "
-                + "HTTP/1.1\r\n"
-                + "Host: localhost\r\n"
-                + "Connection: keep-alive\r\n"
-                + "Content-Type: application/json\r\n"
-                + "Content-Length: "
-//                + "Content-Length: %d\r\n"
-//                + "\r\n"
-        ).getBytes(StandardCharsets.UTF_8);
-    }
+    private static final byte[] STATIC_HEADERS = (" "
+            + "HTTP/1.1\r\n"
+            + "Host: localhost\r\n"
+            + "Connection: keep-alive\r\n"
+            + "Content-Type: application/json\r\n"
+    ).getBytes(StandardCharsets.UTF_8);
+    private static final byte[] HEAD_END = "\r\n".getBytes(StandardCharsets.UTF_8);
 
     public Http.Request get(HtUrl url) {
-        return generate(HttpMethod.GET, url);
+        return request(HttpMethod.GET, url);
     }
 
-    public Http.Request post(HtUrl url, byte[] body) {
-        return generate(HttpMethod.POST, url, new String(body, StandardCharsets.UTF_8), body.length);
-    }
-
-    public Http.Request post(HtUrl url) {
-        String json = HtJson.toJson(url.body());
-        return generate(HttpMethod.POST, url, json, json.getBytes(StandardCharsets.UTF_8).length);
+    public Http.Request delete(HtUrl url) {
+        return request(HttpMethod.DELETE, url);
     }
 
-    private Http.Request generate(HttpMethod method, HtUrl url) {
-        var urlBytes = url.url().getBytes(StandardCharsets.UTF_8);
-        return new DfHttpRequest(
+    /**
+     * Request without body.
+     */
+    public Http.Request request(HttpMethod method, HtUrl url) {
+        return new GatheringHttpRequest(
                 method.bytes(),
-                urlBytes,
-                afterUrlPartGet
+                url.url().getBytes(StandardCharsets.UTF_8),
+                STATIC_HEADERS,
+                HEAD_END
         );
     }
 
-    private Http.Request generate(HttpMethod method, HtUrl url, String body, Integer length) {
-        var urlBytes = url.url().getBytes(StandardCharsets.UTF_8);
-        String sb = length + "\r\n\r\n" + body;
-        return new DfHttpRequest(
-                method.bytes(),
-                urlBytes,
-                afterUrlPartPost,
-                sb.getBytes(StandardCharsets.UTF_8)
+    public Http.Request post(HtUrl url, byte[] body) {
+        return new GatheringHttpRequest(
+                HttpMethod.POST.bytes(),
+                url.url().getBytes(StandardCharsets.UTF_8),
+                STATIC_HEADERS,
+                ("Content-Length: " + body.length + "\r\n\r\n").getBytes(StandardCharsets.UTF_8),
+                body
         );
     }
+
+    public Http.Request post(HtUrl url) {
+        return post(url, HtJson.toJson(url.body()).getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,293 @@
+package io.huskit.containers.http;
+
+import lombok.experimental.NonFinal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Resumable HTTP/1.1 response parser.
+ * <p>
+ * Parser is fed with whatever bytes were read from the channel so far and keeps its position between calls,
+ * so bytes are never re-scanned or re-copied after the buffer is refilled. Only status and header lines
+ * are accumulated (once) in internal line buffer; body bytes are returned as slices of the input buffer.
+ * <p>
+ * Typical usage is to call {@link #parseHead(ByteBuffer)} until it returns {@code true}, then
+ * {@link #nextBodySlice(ByteBuffer)} until {@link #isComplete()}, refilling the input buffer whenever
+ * it has no remaining bytes.
+ */
+final class HttpResponseParser {
+
+    private static final ByteBuffer NO_DATA = ByteBuffer.allocate(0);
+    private static final int INITIAL_LINE_CAPACITY = 256;
+    @NonFinal
+    State state;
+    @NonFinal
+    byte[] line;
+    @NonFinal
+    int lineLength;
+    @NonFinal
+    int status;
+    @NonFinal
+    long remaining;
+    @NonFinal
+    boolean isBodyUntilEof;
+    @NonFinal
+    Http.Head head;
+    Map<String, String> headers;
+
+    HttpResponseParser() {
+        this.state = State.STATUS_LINE;
+        this.line = new byte[INITIAL_LINE_CAPACITY];
+        this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    }
+
+    /**
+     * Consumes status line and headers from the buffer.
+     *
+     * @return {@code true} if head is fully parsed, {@code false} if more input is needed
+     */
+    boolean parseHead(ByteBuffer buffer) {
+        while (state == State.STATUS_LINE || state == State.HEADER_LINE) {
+            if (!readLine(buffer)) {
+                return false;
+            }
+            if (state == State.STATUS_LINE) {
+                parseStatusLine();
+                state = State.HEADER_LINE;
+            } else if (lineLength == 0) {
+                onHeadParsed();
+            } else {
+                parseHeaderLine();
+            }
+            lineLength = 0;
+        }
+        return true;
+    }
+
+    Http.Head head() {
+        if (head == null) {
+            throw new IllegalStateException("Head is not parsed yet");
+        }
+        return head;
+    }
+
+    /**
+     * Returns next part of the body available in the buffer, with chunked framing removed.
+     * Returned slice shares content with the buffer, so it should be consumed before the buffer is refilled.
+     *
+     * @return body slice, empty if more input is needed or body is complete
+     */
+    ByteBuffer nextBodySlice(ByteBuffer buffer) {
+        while (true) {
+            switch (state) {
+                case BODY_FIXED:
+                case CHUNK_DATA: {
+                    var count = (int) Math.min(remaining, buffer.remaining());
+                    remaining -= count;
+                    if (remaining == 0) {
+                        state = state == State.BODY_FIXED ? State.DONE : State.CHUNK_DATA_END;
+                    }
+                    return slice(buffer, count);
+                }
+                case BODY_UNTIL_EOF:
+                    return slice(buffer, buffer.remaining());
+                case CHUNK_SIZE:
+                    if (!readLine(buffer)) {
+                        return NO_DATA;
+                    }
+                    remaining = parseChunkSize();
+                    lineLength = 0;
+                    state = remaining == 0 ? State.TRAILER : State.CHUNK_DATA;
+                    break;
+                case CHUNK_DATA_END:
+                    if (!readLine(buffer)) {
+                        return NO_DATA;
+                    }
+                    if (lineLength != 0) {
+                        throw new IllegalStateException("Invalid chunk terminator: " + lineString());
+                    }
+                    state = State.CHUNK_SIZE;
+                    break;
+                case TRAILER:
+                    if (!readLine(buffer)) {
+                        return NO_DATA;
+                    }
+                    if (lineLength == 0) {
+                        state = State.DONE;
+                    }
+                    lineLength = 0;
+                    break;
+                case DONE:
+                    return NO_DATA;
+                default:
+                    throw new IllegalStateException("Head is not parsed yet");
+            }
+        }
+    }
+
+    /**
+     * Signals that peer closed the connection.
+     */
+    void onEof() {
+        if (state == State.BODY_UNTIL_EOF) {
+            state = State.DONE;
+        } else if (state != State.DONE) {
+            throw new IllegalStateException("Docker daemon closed connection before response was fully read");
+        }
+    }
+
+    boolean isComplete() {
+        return state == State.DONE;
+    }
+
+    /**
+     * Whether the connection will be positioned at the start of the next response once this one is complete.
+     */
+    boolean isDelimited() {
+        return !isBodyUntilEof && !"close".equalsIgnoreCase(headers.get("Connection"));
+    }
+
+    /**
+     * Appends bytes up to LF to line buffer.
+     *
+     * @return {@code true} if full line was read, in which case trailing CRLF is not included in line buffer
+     */
+    private boolean readLine(ByteBuffer buffer) {
+        var start = buffer.position();
+        var limit = buffer.limit();
+        for (var i = start; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                appendToLine(buffer, i - start);
+                buffer.get();
+                if (lineLength > 0 && line[lineLength - 1] == '\r') {
+                    lineLength--;
+                }
+                return true;
+            }
+        }
+        appendToLine(buffer, limit - start);
+        return false;
+    }
+
+    private void appendToLine(ByteBuffer buffer, int count) {
+        if (lineLength + count > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + count));
+        }
+        buffer.get(line, lineLength, count);
+        lineLength += count;
+    }
+
+    private void parseStatusLine() {
+        var space = indexOf((byte) ' ', 0);
+        if (lineLength == 0 || line[0] != 'H' || space == -1 || space + 4 > lineLength) {
+            throw new IllegalStateException("Invalid status line: " + lineString());
+        }
+        var parsed = 0;
+        for (var i = space + 1; i < space + 4; i++) {
+            var digit = line[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalStateException("Invalid status line: " + lineString());
+            }
+            parsed = parsed * 10 + digit;
+        }
+        status = parsed;
+    }
+
+    private void parseHeaderLine() {
+        var colon = indexOf((byte) ':', 0);
+        if (colon == -1) {
+            throw new IllegalStateException("Invalid header line: " + lineString());
+        }
+        var valueStart = colon + 1;
+        while (valueStart < lineLength && line[valueStart] == ' ') {
+            valueStart++;
+        }
+        var valueEnd = lineLength;
+        while (valueEnd > valueStart && line[valueEnd - 1] == ' ') {
+            valueEnd--;
+        }
+        headers.put(
+                new String(line, 0, colon, StandardCharsets.US_ASCII).trim(),
+                new String(line, valueStart, valueEnd - valueStart, StandardCharsets.UTF_8)
+        );
+    }
+
+    private void onHeadParsed() {
+        head = new DfHead(status, headers);
+        var contentLength = headers.get("Content-Length");
+        if (status < 200 || status == 204 || status == 304) {
+            state = State.DONE;
+        } else if (head.isChunked()) {
+            state = State.CHUNK_SIZE;
+        } else if (contentLength != null) {
+            remaining = Long.parseLong(contentLength.trim());
+            state = remaining == 0 ? State.DONE : State.BODY_FIXED;
+        } else {
+            isBodyUntilEof = true;
+            state = State.BODY_UNTIL_EOF;
+        }
+    }
+
+    private long parseChunkSize() {
+        var size = 0L;
+        var digits = 0;
+        for (var i = 0; i < lineLength; i++) {
+            var ch = line[i];
+            int digit;
+            if (ch >= '0' && ch <= '9') {
+                digit = ch - '0';
+            } else if (ch >= 'a' && ch <= 'f') {
+                digit = ch - 'a' + 10;
+            } else if (ch >= 'A' && ch <= 'F') {
+                digit = ch - 'A' + 10;
+            } else if (ch == ';' || ch == ' ') {
+                break;
+            } else {
+                throw new IllegalStateException("Invalid chunk size: " + lineString());
+            }
+            size = (size << 4) + digit;
+            digits++;
+        }
+        if (digits == 0 || digits > 15) {
+            throw new IllegalStateException("Invalid chunk size: " + lineString());
+        }
+        return size;
+    }
+
+    private int indexOf(byte target, int from) {
+        for (var i = from; i < lineLength; i++) {
+            if (line[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private ByteBuffer slice(ByteBuffer buffer, int count) {
+        var slice = buffer.slice();
+        slice.limit(count);
+        buffer.position(buffer.position() + count);
+        return slice;
+    }
+
+    private String lineString() {
+        return new String(line, 0, lineLength, StandardCharsets.UTF_8);
+    }
+
+    enum State {
+
+        STATUS_LINE,
+        HEADER_LINE,
+        BODY_FIXED,
+        BODY_UNTIL_EOF,
+        CHUNK_SIZE,
+        CHUNK_DATA,
+        CHUNK_DATA_END,
+        TRAILER,
+        DONE
+    }
+}
@@ -16,9 +16,10 @@ final class HttpRm implements HtRm {
         for (var containerId : containerIds) {
             dockerSpec.socket().send(
                     new Request(
-                            spec.toRequest(containerId)
+                            dockerSpec.requests().delete(spec.toUrl(containerId))
                     )
             );
+            dockerSpec.inspectCache().invalidate(containerId.toString());
             ran = true;
         }
         if (!ran) {
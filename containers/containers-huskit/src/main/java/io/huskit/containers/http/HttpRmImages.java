@@ -0,0 +1,21 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.image.HtRmImages;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+final class HttpRmImages implements HtRmImages {
+
+    HtHttpDockerSpec dockerSpec;
+    HttpRmImagesSpec spec;
+
+    @Override
+    public void exec() {
+        for (var imageName : spec.imageNames()) {
+            dockerSpec.socket().send(
+                    new Request(dockerSpec.requests().delete(spec.toUrl(imageName)))
+                            .withExpectedStatus(200)
+            );
+        }
+    }
+}
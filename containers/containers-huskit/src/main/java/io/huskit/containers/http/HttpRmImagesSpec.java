@@ -0,0 +1,50 @@
+package io.huskit.containers.http;
+
+import io.huskit.common.Mutable;
+import io.huskit.containers.api.image.HtImgName;
+import io.huskit.containers.api.image.HtRmImagesSpec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class HttpRmImagesSpec implements HtRmImagesSpec {
+
+    List<HtImgName> imageNames;
+    Mutable<Boolean> force = Mutable.of(false);
+    Mutable<Boolean> noPrune = Mutable.of(false);
+
+    HttpRmImagesSpec(List<HtImgName> imageNames) {
+        if (imageNames.isEmpty()) {
+            throw new IllegalArgumentException("Image references must not be empty");
+        }
+        this.imageNames = imageNames;
+    }
+
+    @Override
+    public HttpRmImagesSpec withForce() {
+        force.set(true);
+        return this;
+    }
+
+    @Override
+    public HttpRmImagesSpec withNoPrune() {
+        noPrune.set(true);
+        return this;
+    }
+
+    public List<HtImgName> imageNames() {
+        return imageNames;
+    }
+
+    public HtUrl toUrl(HtImgName imageName) {
+        var params = new ArrayList<String>(2);
+        if (force.require()) {
+            params.add("force=true");
+        }
+        if (noPrune.require()) {
+            params.add("noprune=true");
+        }
+        var url = "/images/" + imageName.reference();
+        return HtUrl.of(params.isEmpty() ? url : url + "?" + String.join("&", params));
+    }
+}
@@ -4,17 +4,11 @@ import io.huskit.common.Mutable;
 import io.huskit.containers.api.container.run.HtRmSpec;
 import lombok.RequiredArgsConstructor;
 
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 
 @RequiredArgsConstructor
 final class HttpRmSpec implements HtRmSpec {
 
-    private static final String requestFormat = "%s %s HTTP/1.1%n"
-            + "Host: %s%n"
-            + "Connection: keep-alive%n"
-            + "Content-Type: application/json%n"
-            + "%n";
     Mutable<Boolean> force;
     Mutable<Boolean> volumes;
 
@@ -35,11 +29,8 @@ final class HttpRmSpec implements HtRmSpec {
         return this;
     }
 
-    public Http.Request toRequest(CharSequence containerId) {
-        var url = getUrl(containerId.toString());
-        return new DfHttpRequest(
-                String.format(requestFormat, "DELETE", url, "localhost").getBytes(StandardCharsets.UTF_8)
-        );
+    public HtUrl toUrl(CharSequence containerId) {
+        return HtUrl.of(getUrl(containerId.toString()));
     }
 
     private String getUrl(String containerId) {
@@ -1,39 +1,155 @@
 package io.huskit.containers.http;
 
+import io.huskit.common.function.ThrowingSupplier;
 import io.huskit.containers.api.container.HtContainer;
+import io.huskit.containers.api.container.HtLazyContainer;
 import io.huskit.containers.api.container.run.HtRun;
+import io.huskit.containers.api.container.run.HtRunContainer;
+import io.huskit.containers.api.container.run.HtRunTimings;
 import lombok.RequiredArgsConstructor;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
+/**
+ * Runs container with stages overlapped where daemon allows it, to keep critical path short:
+ * <ul>
+ *     <li>with {@link HttpRunSpec#withPullIfMissing()}, image presence is checked at the same time as container
+ *     is created - if image is present, check adds nothing to run time, and if it is missing and create fails,
+ *     image is pulled and create is repeated, like {@code docker run} does. Without it, missing image fails
+ *     the run, same as {@link HttpCreate}</li>
+ *     <li>readiness watch attaches to container as soon as its id is known, in parallel with start,
+ *     see {@link HttpReadinessWatch#attached}, so no output is missed</li>
+ * </ul>
+ * Returned container is {@link HtRunContainer} with time spent in each stage.
+ */
 @RequiredArgsConstructor
 final class HttpRun implements HtRun {
 
+    HtHttpDockerSpec dockerSpec;
     HttpCreate httpCreate;
     HttpRunSpec httpRunSpec;
-    Function<String, HttpLogs> httpLogsFromContainerId;
     Function<String, HttpStart> httpStartFromContainerId;
 
     @Override
-    public HtContainer exec() {
-        return execAsync().join();
+    public HtRunContainer exec() {
+        return (HtRunContainer) execAsync().join();
     }
 
     @Override
     public CompletableFuture<HtContainer> execAsync() {
-        return httpCreate.execAsync()
-                .thenCompose(container -> {
-                    var completable = httpStartFromContainerId.apply(container.id()).execAsync();
-                    return httpRunSpec.lookFor()
-                            .map(lookFor -> {
-                                var httpLogs = httpLogsFromContainerId.apply(container.id());
-                                return completable.thenCompose(c -> httpLogs.follow()
-                                        .lookForAsync(lookFor)
-                                        .thenApply(ignored -> container)
-                                );
-                            })
-                            .orElse(completable);
-                });
+        var clock = new RunClock();
+        return create(clock).thenCompose(containerId -> {
+            var ready = httpRunSpec.lookFor()
+                    .map(lookFor -> clock.measure(
+                            RunClock.READY,
+                            HttpReadinessWatch.attached(dockerSpec, containerId, lookFor).start()
+                    ))
+                    .orElseGet(() -> CompletableFuture.completedFuture(null));
+            var started = clock.measure(RunClock.START, httpStartFromContainerId.apply(containerId).execAsync());
+            started.whenComplete((container, e) -> {
+                if (e != null) {
+                    ready.cancel(true);
+                }
+            });
+            return started.thenCombine(ready, (container, ignored) -> new HttpRunContainer(
+                    containerId,
+                    () -> new HttpInspect(dockerSpec).inspect(containerId),
+                    clock.timings()
+            ));
+        });
+    }
+
+    private CompletableFuture<String> create(RunClock clock) {
+        if (!httpRunSpec.isPullIfMissing()) {
+            return clock.measure(RunClock.CREATE, httpCreate.execAsync()).thenApply(HtContainer::id);
+        }
+        var imageRef = httpRunSpec.createSpec().image().reference();
+        var isImagePresent = clock.measure(
+                RunClock.IMAGE_CHECK,
+                dockerSpec.socket().sendAsync(
+                        new Request(dockerSpec.requests().get(HtUrl.of("/images/" + imageRef + "/json")))
+                ).thenApply(response -> response.head().status() == 200)
+        );
+        return clock.measure(RunClock.CREATE, httpCreate.execAsync())
+                .handle((container, e) -> {
+                    if (e == null) {
+                        return CompletableFuture.completedFuture(container.id());
+                    }
+                    return isImagePresent.exceptionally(ignored -> true).thenCompose(isPresent -> {
+                        if (isPresent) {
+                            return CompletableFuture.<String>failedFuture(e);
+                        }
+                        var pull = new HttpPullImages(dockerSpec, new HttpPullImagesSpec(httpRunSpec.createSpec().image()));
+                        return clock.measure(RunClock.PULL, CompletableFuture.runAsync(pull::exec, dockerSpec.executor()))
+                                .thenCompose(pulled -> clock.measure(RunClock.CREATE, httpCreate.execAsync()))
+                                .thenApply(HtContainer::id);
+                    });
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Records when each stage started and ended, relative to run start. Stage measured more than once,
+     * like create repeated after pull, spans from its first start to its last end.
+     */
+    static final class RunClock {
+
+        static final int IMAGE_CHECK = 0;
+        static final int PULL = 1;
+        static final int CREATE = 2;
+        static final int START = 3;
+        static final int READY = 4;
+        long startedAt = System.nanoTime();
+        AtomicLong[] begins = newStages();
+        AtomicLong[] ends = newStages();
+
+        <T> CompletableFuture<T> measure(int stage, CompletableFuture<T> future) {
+            begins[stage].compareAndSet(-1, System.nanoTime() - startedAt);
+            future.whenComplete((v, e) -> ends[stage].set(System.nanoTime() - startedAt));
+            return future;
+        }
+
+        HtRunTimings timings() {
+            return new HtRunTimings(
+                    duration(IMAGE_CHECK),
+                    duration(PULL),
+                    duration(CREATE),
+                    duration(START),
+                    duration(READY),
+                    Duration.ofNanos(System.nanoTime() - startedAt)
+            );
+        }
+
+        private Duration duration(int stage) {
+            var begin = begins[stage].get();
+            var end = ends[stage].get();
+            return begin == -1 || end == -1 ? Duration.ZERO : Duration.ofNanos(end - begin);
+        }
+
+        private static AtomicLong[] newStages() {
+            var stages = new AtomicLong[READY + 1];
+            for (var i = 0; i < stages.length; i++) {
+                stages[i] = new AtomicLong(-1);
+            }
+            return stages;
+        }
+    }
+}
+
+final class HttpRunContainer extends HtLazyContainer implements HtRunContainer {
+
+    HtRunTimings timings;
+
+    HttpRunContainer(String id, ThrowingSupplier<HtContainer> delegate, HtRunTimings timings) {
+        super(id, delegate);
+        this.timings = timings;
+    }
+
+    @Override
+    public HtRunTimings timings() {
+        return timings;
     }
 }
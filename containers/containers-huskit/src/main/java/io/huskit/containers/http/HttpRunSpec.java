@@ -19,12 +19,14 @@ final class HttpRunSpec implements HtRunSpec {
     HttpStartSpec startSpec;
     Mutable<Boolean> remove;
     Mutable<LookFor> lookFor;
+    Mutable<Boolean> pullIfMissing;
 
     public HttpRunSpec(CharSequence dockerImageName) {
         this.createSpec = new HttpCreateSpec(HtImgName.of(dockerImageName));
         this.startSpec = new HttpStartSpec();
         this.remove = Mutable.of(false);
         this.lookFor = Mutable.of();
+        this.pullIfMissing = Mutable.of(false);
     }
 
     @Override
@@ -75,7 +77,17 @@ final class HttpRunSpec implements HtRunSpec {
         return this;
     }
 
+    @Override
+    public HttpRunSpec withPullIfMissing() {
+        pullIfMissing.set(true);
+        return this;
+    }
+
     public Optional<LookFor> lookFor() {
         return this.lookFor.maybe();
     }
+
+    public Boolean isPullIfMissing() {
+        return pullIfMissing.require();
+    }
 }
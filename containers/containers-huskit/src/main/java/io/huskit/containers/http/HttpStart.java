@@ -23,12 +23,14 @@ final class HttpStart implements HtStart {
     public CompletableFuture<HtContainer> execAsync() {
         return dockerSpec.socket().sendAsync(
                 new Request(
-                        httpStartSpec.toRequest(containerId)
+                        dockerSpec.requests().request(HttpMethod.POST, httpStartSpec.toUrl(containerId))
                 ).withExpectedStatus(204)
-        ).thenApply(r -> new HtLazyContainer(
-                        containerId,
-                        () -> new HttpInspect(dockerSpec).inspect(containerId)
-                )
-        );
+        ).thenApply(r -> {
+            dockerSpec.inspectCache().invalidate(containerId);
+            return new HtLazyContainer(
+                    containerId,
+                    () -> new HttpInspect(dockerSpec).inspect(containerId)
+            );
+        });
     }
 }
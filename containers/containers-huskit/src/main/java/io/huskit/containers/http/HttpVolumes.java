@@ -0,0 +1,151 @@
+package io.huskit.containers.http;
+
+import io.huskit.common.HtConstants;
+import io.huskit.containers.api.volume.HtCreateVolumeSpec;
+import io.huskit.containers.api.volume.HtListVolumesSpec;
+import io.huskit.containers.api.volume.HtPruneVolumesSpec;
+import io.huskit.containers.api.volume.HtVolumeView;
+import io.huskit.containers.api.volume.HtVolumes;
+import io.huskit.containers.api.volume.JsonHtVolumeView;
+import io.huskit.containers.internal.HtJson;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+final class HttpVolumes implements HtVolumes {
+
+    HtHttpDockerSpec dockerSpec;
+
+    @Override
+    public HttpListVolumes list() {
+        return list(HtConstants.Consumers.noop());
+    }
+
+    @Override
+    public HttpListVolumes list(Consumer<HtListVolumesSpec> action) {
+        var spec = new HttpListVolumesSpec();
+        action.accept(spec);
+        return new HttpListVolumes(dockerSpec, spec);
+    }
+
+    @Override
+    public HttpCreateVolume create() {
+        return create(HtConstants.Consumers.noop());
+    }
+
+    @Override
+    public HttpCreateVolume create(CharSequence volumeId) {
+        return create(volumeId, HtConstants.Consumers.noop());
+    }
+
+    @Override
+    public HttpCreateVolume create(Consumer<HtCreateVolumeSpec> action) {
+        var spec = new HttpCreateVolumeSpec();
+        action.accept(spec);
+        return new HttpCreateVolume(dockerSpec, spec);
+    }
+
+    @Override
+    public HttpCreateVolume create(CharSequence volumeId, Consumer<HtCreateVolumeSpec> action) {
+        var spec = new HttpCreateVolumeSpec(volumeId);
+        action.accept(spec);
+        return new HttpCreateVolume(dockerSpec, spec);
+    }
+
+    @Override
+    public HttpRemoveVolumes rm(CharSequence volumeId, Boolean force) {
+        return rm(List.of(volumeId), force);
+    }
+
+    @Override
+    public <T extends CharSequence> HttpRemoveVolumes rm(Iterable<T> volumeIds, Boolean force) {
+        return new HttpRemoveVolumes(dockerSpec, names(volumeIds), force);
+    }
+
+    @Override
+    public HttpPruneVolumes prune(Consumer<HtPruneVolumesSpec> action) {
+        var spec = new HttpPruneVolumesSpec();
+        action.accept(spec);
+        return new HttpPruneVolumes(dockerSpec, spec);
+    }
+
+    @Override
+    public HttpPruneVolumes prune() {
+        return prune(HtConstants.Consumers.noop());
+    }
+
+    @Override
+    public HtVolumeView inspect(CharSequence volumeId) {
+        return join(inspectAsync(names(List.of(volumeId)).get(0)));
+    }
+
+    /**
+     * Inspects volumes concurrently. Each view is made from the response for its own name,
+     * so views follow the requested order even if daemon answers out of order.
+     */
+    @Override
+    public <T extends CharSequence> Stream<HtVolumeView> inspect(Iterable<T> volumeIds) {
+        return join(
+                new ParallelBatch<>(
+                        names(volumeIds),
+                        this::inspectAsync,
+                        dockerSpec.inspectParallelism(),
+                        (inspected, failures) -> failure("inspect", inspected.size(), failures)
+                ).start()
+        ).stream();
+    }
+
+    private CompletableFuture<HtVolumeView> inspectAsync(String name) {
+        return dockerSpec.socket().sendAsync(
+                new Request(dockerSpec.requests().get(HtUrl.of("/volumes/" + name)))
+                        .withExpectedStatus(200)
+                        .withStreamedBody()
+        ).thenApply(response -> view(response.mapBody(HtJson::toMap)));
+    }
+
+    static HtVolumeView view(Map<String, Object> volume) {
+        return new JsonHtVolumeView((String) volume.get("Name"), volume);
+    }
+
+    static List<String> names(Iterable<? extends CharSequence> volumeIds) {
+        var names = new ArrayList<String>();
+        for (var volumeId : volumeIds) {
+            var name = volumeId.toString();
+            if (name.isBlank()) {
+                throw new IllegalArgumentException("Volume ID cannot be blank");
+            }
+            names.add(name);
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("Received empty volume ID list");
+        }
+        return names;
+    }
+
+    static IllegalStateException failure(String action, int succeeded, Map<String, Throwable> failures) {
+        var exception = new IllegalStateException(String.format(
+                "Failed to %s %s of %s volumes: %s",
+                action, failures.size(), succeeded + failures.size(), failures.keySet()
+        ));
+        failures.values().forEach(exception::addSuppressed);
+        return exception;
+    }
+
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.container.logs.LookFor;
+import lombok.experimental.NonFinal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+/**
+ * Decoder for {@code application/vnd.docker.multiplexed-stream} bodies.
+ * <p>
+ * Each frame starts with 8-byte header - stream type in the first byte and big-endian payload size in the last four.
+ * Decoder is fed with body slices as they are read, frames may be split at any byte. Payloads are copied in bulk
+ * into separate stdout and stderr buffers, and lines are found by scanning those buffers, so no intermediate
+ * strings are created except for lines that are actually tested against {@link LookFor}.
+ */
+final class MultiplexedStreamDecoder {
+
+    private static final int HEADER_SIZE = 8;
+    private static final byte STD_ERR = 2;
+    BodyBuffer stdOut;
+    BodyBuffer stdErr;
+    byte[] header;
+    @NonFinal
+    int headerLength;
+    @NonFinal
+    int payloadRemaining;
+    @NonFinal
+    boolean isStdErrFrame;
+    @NonFinal
+    int stdOutLineStart;
+    @NonFinal
+    int stdErrLineStart;
+
+    MultiplexedStreamDecoder(int initialCapacity) {
+        this.stdOut = new BodyBuffer(initialCapacity);
+        this.stdErr = new BodyBuffer(16);
+        this.header = new byte[HEADER_SIZE];
+    }
+
+    /**
+     * Consumes whole slice.
+     */
+    void decode(ByteBuffer slice) {
+        while (slice.hasRemaining()) {
+            if (payloadRemaining > 0) {
+                copyPayload(slice);
+            } else {
+                readHeader(slice);
+            }
+        }
+    }
+
+    /**
+     * Consumes slice until a line matching {@code lookFor} is found in one of the streams it is looking at.
+     *
+     * @return {@code true} if matching line was found, in which case the rest of the slice is left unconsumed
+     */
+    boolean decodeUntilMatch(ByteBuffer slice, LookFor lookFor) {
+        var predicate = lookFor.predicate();
+        while (slice.hasRemaining()) {
+            if (payloadRemaining > 0) {
+                var target = target();
+                var scanFrom = target.size();
+                copyPayload(slice);
+                if (isLookingAt(lookFor) && hasMatchingLine(scanFrom, predicate)) {
+                    return true;
+                }
+            } else {
+                readHeader(slice);
+            }
+        }
+        return false;
+    }
+
+    BodyBuffer stdOut() {
+        return stdOut;
+    }
+
+    BodyBuffer stdErr() {
+        return stdErr;
+    }
+
+    private void readHeader(ByteBuffer slice) {
+        var count = Math.min(HEADER_SIZE - headerLength, slice.remaining());
+        slice.get(header, headerLength, count);
+        headerLength += count;
+        if (headerLength == HEADER_SIZE) {
+            headerLength = 0;
+            isStdErrFrame = header[0] == STD_ERR;
+            payloadRemaining = ((header[4] & 0xFF) << 24)
+                    | ((header[5] & 0xFF) << 16)
+                    | ((header[6] & 0xFF) << 8)
+                    | (header[7] & 0xFF);
+            if (payloadRemaining < 0) {
+                throw new IllegalStateException("Invalid multiplexed stream frame size: " + Integer.toUnsignedString(payloadRemaining));
+            }
+        }
+    }
+
+    private void copyPayload(ByteBuffer slice) {
+        var count = Math.min(payloadRemaining, slice.remaining());
+        var limit = slice.limit();
+        slice.limit(slice.position() + count);
+        target().write(slice);
+        slice.limit(limit);
+        payloadRemaining -= count;
+    }
+
+    private boolean isLookingAt(LookFor lookFor) {
+        return lookFor.isInBothStd() || (isStdErrFrame ? lookFor.isOnlyInStdErr() : lookFor.isOnlyInStdOut());
+    }
+
+    /**
+     * Scans bytes appended to current stream buffer since {@code scanFrom} for line ends, testing each complete line.
+     */
+    private boolean hasMatchingLine(int scanFrom, Predicate<String> predicate) {
+        var target = target();
+        var bytes = target.array();
+        var lineStart = isStdErrFrame ? stdErrLineStart : stdOutLineStart;
+        var found = false;
+        for (var i = scanFrom; i < target.size() && !found; i++) {
+            if (bytes[i] == '\n') {
+                var lineEnd = i > lineStart && bytes[i - 1] == '\r' ? i - 1 : i;
+                found = predicate.test(new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8));
+                lineStart = i + 1;
+            }
+        }
+        if (isStdErrFrame) {
+            stdErrLineStart = lineStart;
+        } else {
+            stdOutLineStart = lineStart;
+        }
+        return found;
+    }
+
+    private BodyBuffer target() {
+        return isStdErrFrame ? stdErr : stdOut;
+    }
+}
@@ -3,41 +3,37 @@ package io.huskit.containers.http;
 import io.huskit.common.HtConstants;
 import io.huskit.common.Log;
 import io.huskit.common.NoopLog;
+import io.huskit.common.concurrent.IoExecutors;
 import io.huskit.common.function.MemoizedSupplier;
-import io.huskit.common.io.BufferLines;
-import io.huskit.common.io.Lines;
-import lombok.Getter;
-import lombok.Locked;
-import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
-import lombok.experimental.NonFinal;
-import org.jetbrains.annotations.VisibleForTesting;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousFileChannel;
-import java.nio.channels.CompletionHandler;
-import java.nio.charset.StandardCharsets;
+import java.nio.channels.ByteChannel;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
-import java.time.Duration;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.Supplier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 final class NpipeDocker implements DockerSocket {
 
-    Log log;
-    MemoizedSupplier<NpipeChannel> stateSupplier;
+    MemoizedSupplier<DockerConnectionPool> poolSupplier;
 
-    public NpipeDocker(String socketFile, Log log) {
-        this.log = log;
-        this.stateSupplier = MemoizedSupplier.of(() -> new NpipeChannel(socketFile, log, 4096));
+    public NpipeDocker(String socketFile, Log log, DockerConnectionPoolSpec poolSpec) {
+        this.poolSupplier = MemoizedSupplier.of(() ->
+                new DockerConnectionPool(
+                        () -> new NpipeByteChannel(socketFile),
+                        poolSpec,
+                        log
+                )
+        );
+    }
 
+    public NpipeDocker(String socketFile, Log log) {
+        this(socketFile, log, new DockerConnectionPoolSpec());
     }
 
     NpipeDocker(String socketFile) {
@@ -50,252 +46,71 @@ final class NpipeDocker implements DockerSocket {
 
     @Override
     public Http.RawResponse send(Request request) {
-        return sendAsyncInternal(request).join();
+        return poolSupplier.get().exchange(request);
     }
 
     @Override
     public CompletableFuture<Http.RawResponse> sendAsync(Request request) {
-        return sendAsyncInternal(request);
-    }
-
-    private CompletableFuture<Http.RawResponse> sendAsyncInternal(Request request) {
-        var state = stateSupplier.get();
-        var rawResponse = new CompletableFuture<Http.RawResponse>();
-        CompletableFuture.runAsync(() -> {
-            try {
-                log.debug(() -> "todo");
-            } finally {
-                if (state.isDirtyConnection()) {
-                    state.resetConnection();
-                }
-//                state.releaseLock();
-            }
-        }).handle((ignore, throwable) -> {
-            if (throwable != null) {
-                rawResponse.completeExceptionally(throwable);
-            }
-            return null;
-        });
-        return CompletableFuture.completedFuture(rawResponse.join());
+        return CancellableSend.sendAsync(this, request, IoExecutors.shared());
     }
 
     @Override
-    @SneakyThrows
     public void release() {
-        if (stateSupplier.isInitialized()) {
-            stateSupplier.get().channel().close();
-        }
-    }
-}
-
-final class HeadFromLines implements Http.Head {
-
-    @NonFinal
-    Integer indexOfHeadEnd;
-    Supplier<Http.Head> headSupplier;
-
-    HeadFromLines(Lines lines) {
-        this.headSupplier = MemoizedSupplier.ofLocal(() -> parse(lines));
-    }
-
-    @Override
-    public Integer status() {
-        return headSupplier.get().status();
-    }
-
-    @Override
-    public Map<String, String> headers() {
-        return headSupplier.get().headers();
-    }
-
-    @SneakyThrows
-    Http.Head parse(Lines lines) {
-        var statusLine = lines.next();
-        if (statusLine.isBlank()) {
-            throw new RuntimeException("Failed to build head with given stream");
-        }
-        var statusParts = statusLine.value().split(" ");
-        if (statusParts.length < 2) {
-            throw new RuntimeException("Invalid status line: " + statusLine);
-        }
-        var status = Integer.parseInt(statusParts[1]);
-        var headers = new HashMap<String, String>();
-        while (true) {
-            var line = lines.next();
-            if (line.isEmpty()) {
-                indexOfHeadEnd = line.endIndex();
-                break;
-            }
-            var lineVal = line.value();
-            var colonIndex = lineVal.indexOf(':');
-            if (colonIndex == -1) {
-                throw new RuntimeException("Invalid header line: " + line);
-            }
-            var key = lineVal.substring(0, colonIndex).trim();
-            var value = lineVal.substring(colonIndex + 1).trim();
-            headers.put(key, value);
+        if (poolSupplier.isInitialized()) {
+            poolSupplier.get().close();
         }
-
-        return new DfHead(status, headers);
-    }
-
-    public Integer indexOfHeadEnd() {
-        headSupplier.get();
-        if (indexOfHeadEnd == null) {
-            throw new IllegalStateException("Head not parsed yet");
-        }
-        return indexOfHeadEnd;
     }
 }
 
-final class NpipeChannel {
-
-    @NonFinal
-    @Getter
-    volatile AsynchronousFileChannel channel;
-    Log log;
-    String socketFile;
-    AtomicBoolean isDirtyConnection;
-    NpipeChannelLock lock;
-    Integer bufferSize;
-
-    NpipeChannel(String socketFile, Log log, Integer bufferSize) {
-        this.socketFile = socketFile;
-        this.log = log;
-        this.channel = openChannel();
-        this.lock = new NpipeChannelLock(log);
-        this.isDirtyConnection = new AtomicBoolean(false);
-        this.bufferSize = bufferSize;
-    }
-
-    NpipeChannel(Log log, Integer bufferSize) {
-        this(
-                HtConstants.NPIPE_SOCKET,
-                log,
-                bufferSize
-        );
-    }
-
-    CompletableFuture<Lines> writeAndRead(Request request) {
-        return new NpipeChannelIn(
-                channel,
-                isDirtyConnection,
-                lock
-        ).write(request).thenCompose(ignore ->
-                new NpipeChannelOut(
-                        channel,
-                        bufferSize
-                ).read()
-        );
-    }
-
-    Boolean isDirtyConnection() {
-        return isDirtyConnection.get();
-    }
+/**
+ * Blocking {@link ByteChannel} view of named pipe, each instance opens its own pipe instance,
+ * so several of them can be used concurrently.
+ */
+final class NpipeByteChannel implements ByteChannel {
 
-    @Locked
-    @SneakyThrows
-    void resetConnection() {
-        channel.close();
-        channel = openChannel();
-        isDirtyConnection.set(false);
-    }
+    AsynchronousFileChannel channel;
 
     @SneakyThrows
-    private AsynchronousFileChannel openChannel() {
-        return AsynchronousFileChannel.open(
+    NpipeByteChannel(String socketFile) {
+        this.channel = AsynchronousFileChannel.open(
                 Paths.get(socketFile),
                 StandardOpenOption.READ,
                 StandardOpenOption.WRITE
         );
     }
-}
-
-@RequiredArgsConstructor
-final class NpipeChannelIn {
-
-    AsynchronousFileChannel channel;
-    AtomicBoolean isDirtyConnection;
-    NpipeChannelLock lock;
-
-    CompletableFuture<Integer> write(Request request) {
-        var body = request.http().body();
-        var completion = new CompletableFuture<Integer>();
-        if (body.length == 0) {
-            completion.completeExceptionally(new IllegalArgumentException("Cannot write empty body"));
-        } else {
-            lock.acquire(() -> new String(body, StandardCharsets.UTF_8));
-            channel.write(ByteBuffer.wrap(body), 0, null, new CompletionHandler<>() {
 
-                @Override
-                public void completed(Integer result, Object attachment) {
-                    completion.complete(result);
-                }
-
-                @Override
-                public void failed(Throwable exc, Object attachment) {
-                    completion.completeExceptionally(exc);
-                }
-            });
-            if (request.repeatReadPredicate().isPresent()) {
-                isDirtyConnection.set(true);
-            }
-        }
-        return completion;
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        return await(channel.read(dst, 0));
     }
-}
-
-@RequiredArgsConstructor
-final class NpipeChannelOut {
 
-    AsynchronousFileChannel channel;
-    Integer bufferSize;
-
-    @SneakyThrows
-    CompletableFuture<Lines> read() {
-        return CompletableFuture.supplyAsync(() ->
-                new BufferLines(
-                        () -> {
-                            var buffer = readToBuffer();
-                            return Arrays.copyOf(buffer.array(), buffer.limit());
-                        }
-                )
-        );
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        return await(channel.write(src, 0));
     }
 
-    @SneakyThrows
-    private ByteBuffer readToBuffer() {
-        var buffer = ByteBuffer.allocate(bufferSize);
-        channel.read(buffer, 0).get();
-        buffer.flip();
-        return buffer;
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
     }
-}
-
-@RequiredArgsConstructor
-final class NpipeChannelLock {
-
-    Semaphore lock = new Semaphore(1);
-    AtomicLong lockTime = new AtomicLong();
-    Log log;
 
-    @SneakyThrows
-    void acquire(Supplier<String> request) {
-        lock.acquire();
-        log.debug(() -> "Took lock for request -> " + request.get());
-        lockTime.set(System.currentTimeMillis());
+    @Override
+    public void close() throws IOException {
+        channel.close();
     }
 
-    void releaseLock() {
-        if (!isAcquired()) {
-            throw new IllegalStateException("Trying to release lock that is not acquired");
+    private int await(Future<Integer> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for named pipe operation");
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
         }
-        log.debug(() -> "Releasing lock, `lockTime` -> " + Duration.ofMillis(System.currentTimeMillis() - lockTime.get()));
-        lock.release();
-    }
-
-    @VisibleForTesting
-    boolean isAcquired() {
-        return lock.availablePermits() == 0;
     }
 }
@@ -0,0 +1,117 @@
+package io.huskit.containers.http;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Runs async call for each key with at most {@code parallelism} calls in flight. Each of the workers takes next key
+ * once its previous call is done, so no thread waits for a free slot. Results are stored by index,
+ * which keeps input order regardless of completion order.
+ * <p>
+ * If any call fails, batch still waits for the rest and then fails with exception made by {@code onFailures}
+ * from successful results and failure causes by key.
+ *
+ * @param <T> result of single call
+ */
+final class ParallelBatch<T> {
+
+    List<String> keys;
+    Function<String, CompletableFuture<T>> call;
+    int parallelism;
+    BiFunction<List<T>, Map<String, Throwable>, ? extends RuntimeException> onFailures;
+    Object[] results;
+    Throwable[] failures;
+    AtomicInteger next;
+    AtomicInteger remaining;
+    CompletableFuture<List<T>> result;
+
+    ParallelBatch(List<String> keys,
+                  Function<String, CompletableFuture<T>> call,
+                  int parallelism,
+                  BiFunction<List<T>, Map<String, Throwable>, ? extends RuntimeException> onFailures) {
+        this.keys = keys;
+        this.call = call;
+        this.parallelism = parallelism;
+        this.onFailures = onFailures;
+        this.results = new Object[keys.size()];
+        this.failures = new Throwable[keys.size()];
+        this.next = new AtomicInteger();
+        this.remaining = new AtomicInteger(keys.size());
+        this.result = new CompletableFuture<>();
+    }
+
+    CompletableFuture<List<T>> start() {
+        if (keys.isEmpty()) {
+            result.complete(List.of());
+        }
+        for (var i = 0; i < Math.min(parallelism, keys.size()); i++) {
+            runWorker();
+        }
+        return result;
+    }
+
+    /**
+     * Calls keys one by one while results are available right away, for example from cache,
+     * and hands over to the completion callback otherwise, so that stack does not grow with batch size.
+     */
+    private void runWorker() {
+        while (!result.isDone()) {
+            var index = next.getAndIncrement();
+            if (index >= keys.size()) {
+                return;
+            }
+            CompletableFuture<T> future;
+            try {
+                future = call.apply(keys.get(index));
+            } catch (Exception e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            if (!future.isDone()) {
+                future.whenComplete((value, e) -> {
+                    onDone(index, value, e);
+                    runWorker();
+                });
+                return;
+            }
+            future.whenComplete((value, e) -> onDone(index, value, e));
+        }
+    }
+
+    private void onDone(int index, T value, Throwable error) {
+        if (error == null) {
+            results[index] = value;
+        } else {
+            failures[index] = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+        }
+        if (remaining.decrementAndGet() == 0) {
+            complete();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void complete() {
+        var succeeded = new ArrayList<T>(keys.size());
+        var failed = new LinkedHashMap<String, Throwable>();
+        for (var i = 0; i < keys.size(); i++) {
+            if (failures[i] != null) {
+                failed.put(keys.get(i), failures[i]);
+            } else {
+                succeeded.add((T) results[i]);
+            }
+        }
+        if (failed.isEmpty()) {
+            result.complete(succeeded);
+        } else {
+            result.completeExceptionally(onFailures.apply(succeeded, failed));
+        }
+    }
+}
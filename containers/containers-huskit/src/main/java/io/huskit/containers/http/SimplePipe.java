@@ -1,28 +1,34 @@
 package io.huskit.containers.http;
 
+import io.huskit.common.io.ByteRingBuffer;
 import lombok.SneakyThrows;
 import lombok.experimental.NonFinal;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 
+/**
+ * Single-producer/single-consumer pipe backed by {@link ByteRingBuffer}. Buffer of {@code size} bytes is allocated
+ * lazily on first use; when it is full, writer waits for reader to catch up.
+ */
 public final class SimplePipe {
 
     @NonFinal
     volatile boolean isInitialized = false;
     @NonFinal
+    ByteRingBuffer ring;
+    @NonFinal
     Writer sink;
     @NonFinal
     Reader source;
     @NonFinal
-    PipedInputStream sourceStream;
+    InputStream sourceStream;
     @NonFinal
-    PipedOutputStream sinkStream;
+    OutputStream sinkStream;
     @NonFinal
     int writesCount;
     int size;
 
-    @SneakyThrows
     public SimplePipe(int size) {
         this.size = size;
     }
@@ -33,12 +39,12 @@ public final class SimplePipe {
         return wc;
     }
 
-    public PipedInputStream sourceStream() {
+    public InputStream sourceStream() {
         init();
         return sourceStream;
     }
 
-    public PipedOutputStream sinkStream() {
+    public OutputStream sinkStream() {
         init();
         return sinkStream;
     }
@@ -50,14 +56,24 @@ public final class SimplePipe {
         writesCount++;
     }
 
+    /**
+     * Writes bytes to sink stream in one call, instead of byte at a time.
+     */
     @SneakyThrows
+    public void write(byte[] bytes, int offset, int length) {
+        init();
+        ring.write(bytes, offset, length);
+        writesCount += length;
+    }
+
     public void init() {
         if (!isInitialized) {
             synchronized (this) {
                 if (!isInitialized) {
-                    sinkStream = new PipedOutputStream();
-                    sourceStream = new PipedInputStream(sinkStream, size);
-                    this.sink = new OutputStreamWriter(sinkStream);
+                    ring = new ByteRingBuffer(size);
+                    sinkStream = ring.outputStream();
+                    sourceStream = ring.inputStream();
+                    this.sink = new OutputStreamWriter(sinkStream, StandardCharsets.UTF_8);
                     this.source = new InputStreamReader(sourceStream, StandardCharsets.UTF_8);
                     isInitialized = true;
                 }
@@ -74,21 +90,13 @@ public final class SimplePipe {
         return source;
     }
 
-    @SneakyThrows
     public void writeLine(CharSequence charSequence) {
-        init();
-        var str = charSequence.toString();
-        sink.write(str);
-        sink.flush();
-        writesCount += str.length();
+        var bytes = charSequence.toString().getBytes(StandardCharsets.UTF_8);
+        write(bytes, 0, bytes.length);
     }
 
-    @SneakyThrows
     public void writeLine(char[] chars) {
-        init();
-        sink.write(chars);
-        sink.flush();
-        writesCount += chars.length;
+        writeLine(new String(chars));
     }
 
     @SneakyThrows
@@ -99,22 +107,20 @@ public final class SimplePipe {
         writesCount++;
     }
 
-    @SneakyThrows
     public void close() {
-        var sink = this.sink;
-        if (sink != null) {
-            sink.close();
-        }
-        var source = this.source;
-        if (source != null) {
-            source.close();
+        var ring = this.ring;
+        if (ring != null) {
+            ring.close();
         }
     }
 
-    @SneakyThrows
+    /**
+     * Signals end of data, reader receives remaining bytes and then end of stream.
+     */
     public void breakPipe() {
-        if (sink != null) {
-            sink.close();
+        var ring = this.ring;
+        if (ring != null) {
+            ring.closeWrite();
         }
     }
-}
\ No newline at end of file
+}
@@ -2,5 +2,6 @@ package io.huskit.containers.http;
 
 public enum SocketType {
 
-    NPIPE
+    NPIPE,
+    UNIX
 }
@@ -0,0 +1,93 @@
+package io.huskit.containers.http;
+
+import io.huskit.common.HtConstants;
+import io.huskit.common.Log;
+import io.huskit.common.NoopLog;
+import io.huskit.common.concurrent.IoExecutors;
+import io.huskit.common.function.MemoizedSupplier;
+import lombok.SneakyThrows;
+
+import java.lang.reflect.Method;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CompletableFuture;
+
+final class UnixSocketDocker implements DockerSocket {
+
+    private static final MemoizedSupplier<UnixSocketFactory> FACTORY = MemoizedSupplier.of(UnixSocketFactory::new);
+    MemoizedSupplier<DockerConnectionPool> poolSupplier;
+
+    public UnixSocketDocker(String socketFile, Log log, DockerConnectionPoolSpec poolSpec) {
+        this.poolSupplier = MemoizedSupplier.of(() ->
+                new DockerConnectionPool(
+                        () -> FACTORY.get().open(socketFile),
+                        poolSpec,
+                        log
+                )
+        );
+    }
+
+    UnixSocketDocker(String socketFile) {
+        this(socketFile, new NoopLog(), new DockerConnectionPoolSpec());
+    }
+
+    public UnixSocketDocker() {
+        this(HtConstants.UNIX_SOCKET);
+    }
+
+    @Override
+    public Http.RawResponse send(Request request) {
+        return poolSupplier.get().exchange(request);
+    }
+
+    @Override
+    public CompletableFuture<Http.RawResponse> sendAsync(Request request) {
+        return CancellableSend.sendAsync(this, request, IoExecutors.shared());
+    }
+
+    @Override
+    public void release() {
+        if (poolSupplier.isInitialized()) {
+            poolSupplier.get().close();
+        }
+    }
+}
+
+/**
+ * Opens unix domain socket channels. Unix domain sockets in {@link SocketChannel} are available since Java 16,
+ * while the library targets Java 11, so required API is resolved reflectively.
+ */
+final class UnixSocketFactory {
+
+    ProtocolFamily unixFamily;
+    Method openMethod;
+    Method addressMethod;
+
+    UnixSocketFactory() {
+        try {
+            this.unixFamily = StandardProtocolFamily.valueOf("UNIX");
+            this.openMethod = SocketChannel.class.getMethod("open", ProtocolFamily.class);
+            this.addressMethod = Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", String.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(
+                    "Unix domain sockets are not supported by current Java version " + System.getProperty("java.version")
+                            + ", Java 16 or newer is required",
+                    e
+            );
+        }
+    }
+
+    @SneakyThrows
+    SocketChannel open(String socketFile) {
+        var channel = (SocketChannel) openMethod.invoke(null, unixFamily);
+        try {
+            channel.connect((SocketAddress) addressMethod.invoke(null, socketFile));
+            return channel;
+        } catch (Exception e) {
+            channel.close();
+            throw e;
+        }
+    }
+}
@@ -63,6 +63,8 @@ public class DefContainerSpec implements ContainerSpec {
                         )
                         .collect(Collectors.toList()))
                 .add(waitSpec().textWait())
+                .add(waitSpec().portWait())
+                .add(waitSpec().healthWait())
                 .add(reuseSpec().value().check(ReuseWithTimeout::enabled))
 //                .add(properties)
 //                .add(portSpec.port())
@@ -12,6 +12,8 @@ public class DefWaitSpec implements WaitSpec {
 
     ContainerSpec parent;
     Mutable<TextWait> textWait = Mutable.of();
+    Mutable<PortWait> portWait = Mutable.of();
+    Mutable<Duration> healthWait = Mutable.of();
 
     @Override
     public ContainerSpec forLogMessageContaining(CharSequence text, Duration timeout) {
@@ -21,4 +23,31 @@ public class DefWaitSpec implements WaitSpec {
         this.textWait.set(new TextWait(text.toString(), timeout));
         return parent;
     }
+
+    @Override
+    public ContainerSpec forPortsListening(Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive. Received: " + timeout);
+        }
+        this.portWait.set(new PortWait(null, timeout));
+        return parent;
+    }
+
+    @Override
+    public ContainerSpec forPortsResponding(CharSequence handshake, Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive. Received: " + timeout);
+        }
+        this.portWait.set(new PortWait(handshake.toString(), timeout));
+        return parent;
+    }
+
+    @Override
+    public ContainerSpec forHealthy(Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive. Received: " + timeout);
+        }
+        this.healthWait.set(timeout);
+        return parent;
+    }
 }
@@ -0,0 +1,224 @@
+package io.huskit.containers.integration;
+
+import io.huskit.common.concurrent.IoExecutors;
+import io.huskit.containers.api.container.HtContainer;
+import io.huskit.containers.api.container.HtContainerState;
+import io.huskit.containers.api.container.HtContainers;
+import io.huskit.containers.api.docker.HtDocker;
+import io.huskit.containers.api.events.HtEvent;
+import io.huskit.containers.api.events.HtEventSubscription;
+import io.huskit.containers.api.events.HtEvents;
+import lombok.experimental.NonFinal;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Waits until container {@code HEALTHCHECK} reports {@code healthy}.
+ * <p>
+ * Status changes come from {@code health_status} events, so wait ends as soon as daemon marks container healthy.
+ * Once subscription is open, container is inspected one time, to see status that was reached before that,
+ * and to fail fast if image has no health check. All inspects bypass client-side inspect cache, see
+ * {@link HtContainers#inspectFreshAsync(CharSequence)} - status read from stale cached result would never
+ * be corrected by event, since change that made it stale happened before subscription was open. If subscription cannot be started, or event stream fails,
+ * container is polled by inspect instead. Poll interval starts at {@code minPollInterval} and doubles
+ * up to {@code maxPollInterval} while status stays the same, any change of status resets it.
+ */
+public final class HealthWatch {
+
+    private static final String HEALTHY = "healthy";
+    BiFunction<String, Consumer<HtEvent>, HtEventSubscription> subscribe;
+    Function<String, CompletableFuture<HtContainerState>> inspect;
+    Duration minPollInterval;
+    Duration maxPollInterval;
+
+    public HealthWatch(HtDocker docker) {
+        this(docker.events(), docker.containers());
+    }
+
+    public HealthWatch(HtEvents events, HtContainers containers) {
+        this(
+                (containerId, listener) -> events.subscribe(
+                        spec -> spec.withTypeFilter("container")
+                                .withContainerFilter(containerId)
+                                .withEventFilter("health_status")
+                                .withEventFilter("die"),
+                        listener
+                ),
+                containerId -> containers.inspectFreshAsync(containerId).thenApply(HtContainer::state),
+                Duration.ofMillis(50),
+                Duration.ofSeconds(1)
+        );
+    }
+
+    HealthWatch(BiFunction<String, Consumer<HtEvent>, HtEventSubscription> subscribe,
+                Function<String, CompletableFuture<HtContainerState>> inspect,
+                Duration minPollInterval,
+                Duration maxPollInterval) {
+        this.subscribe = subscribe;
+        this.inspect = inspect;
+        this.minPollInterval = minPollInterval;
+        this.maxPollInterval = maxPollInterval;
+    }
+
+    /**
+     * @return future completed when container is healthy, or failed with {@link IllegalStateException} if it exits,
+     * has no health check or does not become healthy within timeout; cancelling it stops the wait
+     */
+    public CompletableFuture<Void> await(String containerId, Duration timeout) {
+        var watch = new Watch(containerId, timeout);
+        watch.start();
+        return watch.result;
+    }
+
+    private final class Watch {
+
+        String containerId;
+        Duration timeout;
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        AtomicBoolean isPolling = new AtomicBoolean();
+        @NonFinal
+        volatile String lastStatus = "unknown";
+        @NonFinal
+        volatile long pollIntervalNanos;
+        @NonFinal
+        @Nullable
+        volatile HtEventSubscription subscription;
+        @NonFinal
+        @Nullable
+        volatile Future<?> nextPoll;
+
+        Watch(String containerId, Duration timeout) {
+            this.containerId = containerId;
+            this.timeout = timeout;
+            this.pollIntervalNanos = minPollInterval.toNanos();
+        }
+
+        void start() {
+            var timer = IoExecutors.scheduler().schedule(
+                    () -> result.completeExceptionally(new IllegalStateException(String.format(
+                            "Container [%s] did not become healthy within %s, last health status was [%s]",
+                            containerId, timeout, lastStatus
+                    ))),
+                    timeout.toNanos(),
+                    TimeUnit.NANOSECONDS
+            );
+            result.whenComplete((v, e) -> {
+                timer.cancel(false);
+                var currentSubscription = subscription;
+                if (currentSubscription != null) {
+                    currentSubscription.close();
+                }
+                var currentPoll = nextPoll;
+                if (currentPoll != null) {
+                    currentPoll.cancel(false);
+                }
+            });
+            HtEventSubscription newSubscription;
+            try {
+                newSubscription = subscribe.apply(containerId, this::onEvent);
+            } catch (RuntimeException e) {
+                startPolling();
+                return;
+            }
+            subscription = newSubscription;
+            if (result.isDone()) {
+                newSubscription.close();
+                return;
+            }
+            newSubscription.opened().whenComplete((v, e) -> {
+                if (e == null) {
+                    check(false);
+                }
+            });
+            newSubscription.completion().whenComplete((v, e) -> {
+                if (!result.isDone()) {
+                    startPolling();
+                }
+            });
+        }
+
+        private void onEvent(HtEvent event) {
+            var action = event.action();
+            if (action.startsWith("health_status")) {
+                var separator = action.indexOf(':');
+                if (separator != -1) {
+                    onStatus(action.substring(separator + 1).trim());
+                }
+            } else if ("die".equals(action)) {
+                exited(event.attributes().get("exitCode"));
+            }
+        }
+
+        private void startPolling() {
+            if (isPolling.compareAndSet(false, true)) {
+                check(true);
+            }
+        }
+
+        private void check(boolean isRepeated) {
+            if (result.isDone()) {
+                return;
+            }
+            CompletableFuture<HtContainerState> inspected;
+            try {
+                inspected = inspect.apply(containerId);
+            } catch (RuntimeException e) {
+                inspected = CompletableFuture.failedFuture(e);
+            }
+            inspected.whenComplete((state, e) -> {
+                if (e != null) {
+                    result.completeExceptionally(e);
+                    return;
+                }
+                if (!state.running()) {
+                    exited(state.exitCode());
+                    return;
+                }
+                var status = state.healthStatus();
+                if (status.isEmpty()) {
+                    result.completeExceptionally(new IllegalStateException(String.format(
+                            "Container [%s] has no health check, image should define HEALTHCHECK to wait for it",
+                            containerId
+                    )));
+                    return;
+                }
+                var isChanged = !status.get().equals(lastStatus);
+                onStatus(status.get());
+                if (isRepeated && !result.isDone()) {
+                    schedulePoll(isChanged);
+                }
+            });
+        }
+
+        private void schedulePoll(boolean isStatusChanged) {
+            var interval = isStatusChanged ? minPollInterval.toNanos() : pollIntervalNanos;
+            pollIntervalNanos = Math.min(interval * 2, maxPollInterval.toNanos());
+            var scheduled = IoExecutors.scheduler().schedule(() -> check(true), interval, TimeUnit.NANOSECONDS);
+            nextPoll = scheduled;
+            if (result.isDone()) {
+                scheduled.cancel(false);
+            }
+        }
+
+        private void onStatus(String status) {
+            lastStatus = status;
+            if (HEALTHY.equals(status)) {
+                result.complete(null);
+            }
+        }
+
+        private void exited(@Nullable Object exitCode) {
+            result.completeExceptionally(new IllegalStateException(String.format(
+                    "Container [%s] exited with code [%s] before becoming healthy", containerId, exitCode
+            )));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.huskit.containers.integration;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public class PortWait {
+
+    @Nullable
+    String handshake;
+    Duration duration;
+}
@@ -9,4 +9,30 @@ public interface WaitSpec {
     default ContainerSpec forLogMessageContaining(CharSequence text) {
         return this.forLogMessageContaining(text, Duration.ofMinutes(2));
     }
+
+    /**
+     * Waits until every mapped host port of started container accepts connections that are not closed
+     * right away, which is what Docker's port proxy does while nothing listens inside container yet.
+     */
+    ContainerSpec forPortsListening(Duration timeout);
+
+    default ContainerSpec forPortsListening() {
+        return this.forPortsListening(Duration.ofMinutes(2));
+    }
+
+    /**
+     * Waits until every mapped host port of started container answers with at least one byte after
+     * {@code handshake} is sent. Empty handshake sends nothing and waits for server to speak first.
+     */
+    ContainerSpec forPortsResponding(CharSequence handshake, Duration timeout);
+
+    /**
+     * Waits until image {@code HEALTHCHECK} reports container as {@code healthy}. Fails right away if image
+     * has no health check.
+     */
+    ContainerSpec forHealthy(Duration timeout);
+
+    default ContainerSpec forHealthy() {
+        return this.forHealthy(Duration.ofMinutes(2));
+    }
 }
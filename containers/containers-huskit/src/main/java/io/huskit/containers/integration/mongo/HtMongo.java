@@ -2,8 +2,11 @@ package io.huskit.containers.integration.mongo;
 
 import io.huskit.common.Mutable;
 import io.huskit.common.port.DynamicContainerPort;
+import io.huskit.common.port.PortProbe;
+import io.huskit.common.port.PortProbeSpec;
 import io.huskit.containers.api.container.HtContainer;
 import io.huskit.containers.api.container.HtContainers;
+import io.huskit.containers.api.container.list.HtListContainersField;
 import io.huskit.containers.api.docker.HtDocker;
 import io.huskit.containers.api.image.HtImgName;
 import io.huskit.containers.integration.*;
@@ -12,6 +15,8 @@ import io.huskit.common.HtConstants;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
@@ -102,6 +107,9 @@ public final class HtMongo implements HtServiceContainer {
                     )
                     .exec();
         });
+        var waitSpec = containerSpec.require().waitSpec();
+        waitSpec.portWait().ifPresent(portWait -> awaitPorts(container, portWait));
+        waitSpec.healthWait().ifPresent(timeout -> new HealthWatch(htDocker).await(container.id(), timeout).join());
         var port = container.firstMappedPort();
         var dbName = Mutable.<String>of();
         Supplier<Map<String, String>> mapSupplier = () -> {
@@ -141,13 +149,29 @@ public final class HtMongo implements HtServiceContainer {
         return ContainerType.MONGO;
     }
 
+    private void awaitPorts(HtContainer container, PortWait portWait) {
+        var addresses = container.ports().stream()
+                .map(mappedPort -> new InetSocketAddress("localhost", mappedPort.host()))
+                .collect(Collectors.toList());
+        var probeSpec = new PortProbeSpec(portWait.duration());
+        if (portWait.handshake() != null) {
+            probeSpec = probeSpec.withHandshake(portWait.handshake().getBytes(StandardCharsets.UTF_8));
+        }
+        PortProbe.shared().awaitAll(addresses, probeSpec).join();
+    }
+
     private Optional<HtContainer> findExisting(HtContainers htContainers, Boolean reuseEnabled) {
         if (reuseEnabled) {
             var before = System.currentTimeMillis();
             var reuseWithTimeout = containerSpec.require().reuseSpec().value().require();
             var hash = containerSpec.require().hash();
             System.out.println("Looking for container with hash: " + hash);
-            var containers = htContainers.list(listSpec -> listSpec.withLabelFilter(HtConstants.CONTAINER_HASH_LABEL, hash))
+            var containers = htContainers.list(listSpec -> listSpec.withLabelFilter(HtConstants.CONTAINER_HASH_LABEL, hash)
+                            .withProjection(
+                                    HtListContainersField.CREATED_AT,
+                                    HtListContainersField.LABELS,
+                                    HtListContainersField.PORTS
+                            ))
                     .asList();
             if (containers.size() == 1) {
                 System.out.printf("Found container with hash: '%s', lookup took %s%n",
@@ -212,7 +236,15 @@ public final class HtMongo implements HtServiceContainer {
         public void stopAndRemove() {
             synchronized (this) {
                 if (reuseEnabled && newDatabaseForEachRequest) {
-                    htDocker.containers().execInContainer(id, "/bin/sh", List.of("-c", HtConstants.Mongo.DROP_COMMAND));
+                    var result = htDocker.containers()
+                            .execInContainer(id, "/bin/sh", List.of("-c", HtConstants.Mongo.DROP_COMMAND))
+                            .exec();
+                    if (result.exitCode() != 0) {
+                        throw new IllegalStateException(String.format(
+                                "Failed to drop databases in mongo container [%s], exit code [%s], output -> %s",
+                                id, result.exitCode(), result.all().collect(Collectors.toList())
+                        ));
+                    }
                 } else {
                     if (stopped.compareAndSet(false, true)) {
                         htDocker.containers().remove(id, s -> s.withVolumes().withForce()).exec();
@@ -38,6 +38,10 @@ public class HtJson {
         return hide(new JSONArray(new JSONTokener(json)).toList());
     }
 
+    public static List<Object> toList(String json) {
+        return new JSONArray(new JSONTokener(json)).toList();
+    }
+
     public static String toJson(Map<String, Object> map) {
         return new JSONObject(map).toString();
     }
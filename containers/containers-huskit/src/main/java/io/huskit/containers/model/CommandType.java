@@ -24,4 +24,7 @@ public enum CommandType {
     VOLUMES_REMOVE,
     VOLUMES_CREATE,
     VOLUMES_PRUNE,
+
+    // SYSTEM
+    EVENTS,
 }
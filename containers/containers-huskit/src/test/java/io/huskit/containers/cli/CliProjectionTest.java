@@ -0,0 +1,66 @@
+package io.huskit.containers.cli;
+
+import io.huskit.common.port.MappedPort;
+import io.huskit.containers.api.container.HtJsonContainer;
+import io.huskit.containers.api.container.list.HtListContainersField;
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CliProjectionTest implements UnitTest {
+
+    @Test
+    void format__should_print_id_and_fields_in_declaration_order() {
+        var subject = new CliProjection(Set.of(HtListContainersField.PORTS, HtListContainersField.CREATED_AT));
+
+        assertThat(subject.format()).isEqualTo("[{{json .Id}},{{json .Created}},{{json .HostConfig.PortBindings}}]");
+    }
+
+    @Test
+    void format__when_no_fields__then_prints_only_id() {
+        var subject = new CliProjection(Set.of());
+
+        assertThat(subject.format()).isEqualTo("[{{json .Id}}]");
+    }
+
+    @Test
+    void to_source__should_map_values_to_inspect_document_shape() {
+        var subject = new CliProjection(Set.of(HtListContainersField.values()));
+
+        var container = new HtJsonContainer(subject.toSource(
+                "[\"someId\",\"/someName\",\"2024-01-02T03:04:05.123456789Z\",{\"key\":\"value\"},"
+                        + "{\"27017/tcp\":[{\"HostIp\":\"\",\"HostPort\":\"32768\"}]}]"
+        ));
+
+        assertThat(container.id()).isEqualTo("someId");
+        assertThat(container.name()).isEqualTo("/someName");
+        assertThat(container.createdAt()).isEqualTo(Instant.parse("2024-01-02T03:04:05.123456789Z"));
+        assertThat(container.config().labels()).containsExactly(Map.entry("key", "value"));
+        assertThat(container.ports()).containsExactly(new MappedPort(32768, 27017));
+    }
+
+    @Test
+    void to_source__when_labels_and_ports_are_null__then_maps_them_to_empty() {
+        var subject = new CliProjection(Set.of(HtListContainersField.LABELS, HtListContainersField.PORTS));
+
+        var container = new HtJsonContainer(subject.toSource("[\"someId\",null,null]"));
+
+        assertThat(container.config().labels()).isEmpty();
+        assertThat(container.ports()).isEmpty();
+    }
+
+    @Test
+    void to_source__when_value_count_does_not_match__then_fails() {
+        var subject = new CliProjection(Set.of(HtListContainersField.LABELS));
+
+        assertThatThrownBy(() -> subject.toSource("[\"someId\"]"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Expected [2] values for projection [LABELS], but got [[\"someId\"]]");
+    }
+}
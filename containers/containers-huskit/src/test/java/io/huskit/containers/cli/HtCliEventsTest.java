@@ -0,0 +1,108 @@
+package io.huskit.containers.cli;
+
+import io.huskit.containers.api.events.HtEvent;
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisabledOnOs(OS.WINDOWS)
+class HtCliEventsTest implements UnitTest {
+
+    private static final String EVENT = "{\"Type\":\"container\",\"Action\":\"health_status: healthy\","
+            + "\"Actor\":{\"ID\":\"c1\",\"Attributes\":{\"name\":\"mongo\"}},\"time\":1700000000,\"timeNano\":1700000000000000001}";
+
+    @Test
+    void subscribe__should_deliver_events_in_order() throws Exception {
+        var events = new ConcurrentLinkedQueue<HtEvent>();
+        var subject = events("echo '" + EVENT + "'; echo; echo '" + EVENT.replace("health_status: healthy", "die") + "'");
+
+        var subscription = subject.subscribe(events::add);
+
+        subscription.opened().get(5, TimeUnit.SECONDS);
+        subscription.completion().get(5, TimeUnit.SECONDS);
+        assertThat(events).extracting(HtEvent::action).containsExactly("health_status: healthy", "die");
+        var event = events.peek();
+        assertThat(event.type()).isEqualTo("container");
+        assertThat(event.actorId()).isEqualTo("c1");
+        assertThat(event.attributes()).containsEntry("name", "mongo");
+        assertThat(event.time()).isEqualTo(Instant.ofEpochSecond(1700000000, 1));
+    }
+
+    @Test
+    void subscribe__should_pass_filters_since_and_format_as_arguments() throws Exception {
+        var recorder = new ConcurrentLinkedQueue<List<String>>();
+        var recording = new HtCliEvents(
+                List.of("sh", "-c", "true", "sh"),
+                command -> recorder.add(command.value())
+        );
+
+        recording.subscribe(
+                spec -> spec.withTypeFilter("container")
+                        .withContainerFilter("c1")
+                        .withLabelFilter("key", "value")
+                        .withSince(Instant.ofEpochSecond(1700000000, 5)),
+                event -> {
+                }
+        ).completion().get(5, TimeUnit.SECONDS);
+
+        assertThat(recorder).singleElement().isEqualTo(List.of(
+                "sh", "-c", "true", "sh",
+                "--filter", "type=container",
+                "--filter", "container=c1",
+                "--filter", "label=key=value",
+                "--since", "1700000000.000000005",
+                "--format", "{{json .}}"
+        ));
+    }
+
+    @Test
+    void close__should_kill_process_and_complete_normally() throws Exception {
+        var subject = events("sleep 30");
+        var subscription = subject.subscribe(event -> {
+        });
+        subscription.opened().get(5, TimeUnit.SECONDS);
+
+        subscription.close();
+
+        subscription.completion().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void completion__when_process_fails__then_completes_exceptionally() {
+        var subject = events("exit 3");
+
+        var subscription = subject.subscribe(event -> {
+        });
+
+        assertThatThrownBy(() -> subscription.completion().get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("Docker events process exited with code [3]");
+    }
+
+    @Test
+    void completion__when_listener_throws__then_completes_exceptionally() {
+        var subject = events("echo '" + EVENT + "'; sleep 30");
+
+        var subscription = subject.subscribe(event -> {
+            throw new IllegalStateException("listener failed");
+        });
+
+        assertThatThrownBy(() -> subscription.completion().get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("listener failed");
+    }
+
+    private static HtCliEvents events(String script) {
+        return new HtCliEvents(List.of("sh", "-c", script, "sh"), CliRecorder.noop());
+    }
+}
@@ -0,0 +1,34 @@
+package io.huskit.containers.cli;
+
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HtCliExecTest implements UnitTest {
+
+    @Test
+    void toResult__should_read_exit_code_and_skip_echoed_marker_command() {
+        var subject = HtCliExec.toResult(List.of(
+                "2",
+                "4",
+                "C:\\\\>echo __HUSKIT_EXIT_CODE__%ERRORLEVEL%",
+                "__HUSKIT_EXIT_CODE__3"
+        ));
+
+        assertThat(subject.exitCode()).isEqualTo(3);
+        assertThat(subject.stdOut().collect(Collectors.toList())).containsExactly("2", "4");
+        assertThat(subject.stdErr()).isEmpty();
+    }
+
+    @Test
+    void toResult__when_no_exit_code__then_throw() {
+        assertThatThrownBy(() -> HtCliExec.toResult(List.of("output")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Exit code was not found");
+    }
+}
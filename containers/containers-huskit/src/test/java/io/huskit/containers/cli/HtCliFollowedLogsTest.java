@@ -0,0 +1,69 @@
+package io.huskit.containers.cli;
+
+import io.huskit.common.concurrent.IoExecutors;
+import io.huskit.containers.api.container.logs.LookFor;
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisabledOnOs(OS.WINDOWS)
+class HtCliFollowedLogsTest implements UnitTest {
+
+    @Test
+    void stream_std_out__should_yield_lines_lazily_and_kill_process_on_close() {
+        var subject = logs("i=0; while true; do i=$((i+1)); echo line-$i; echo err-$i >&2; done");
+
+        try (var lines = subject.streamStdOut()) {
+            assertThat(lines.limit(3).collect(Collectors.toList())).containsExactly("line-1", "line-2", "line-3");
+        }
+    }
+
+    @Test
+    void stream_std_err__should_read_only_std_err() {
+        var subject = logs("echo out-1; echo err-1 >&2; echo out-2; echo err-2 >&2");
+
+        try (var lines = subject.streamStdErr()) {
+            assertThat(lines.collect(Collectors.toList())).containsExactly("err-1", "err-2");
+        }
+    }
+
+    @Test
+    void look_for_async__when_line_logged__then_completes() throws Exception {
+        var subject = logs("yes noise | head -n 100000; echo ready >&2; sleep 30");
+
+        subject.lookForAsync(LookFor.word("ready").withTimeout(Duration.ofSeconds(10))).get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void look_for_async__when_only_std_out__then_ignores_std_err() {
+        var subject = logs("echo ready >&2; echo other");
+
+        assertThatThrownBy(() -> subject.lookForAsync(LookFor.word("ready").onlyInStdOut()).get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("Logs of container [c1] ended before matching line was logged");
+    }
+
+    @Test
+    void look_for_async__when_timeout_passes__then_fails() {
+        var subject = logs("echo starting; sleep 30");
+
+        assertThatThrownBy(() -> subject.lookForAsync(LookFor.word("ready").withTimeout(Duration.ofMillis(300)))
+                .get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("Container [c1] did not log matching line within PT0.3S");
+    }
+
+    private static HtCliFollowedLogs logs(String script) {
+        return new HtCliFollowedLogs("c1", List.of("sh", "-c", script), IoExecutors.shared(), CliRecorder.noop());
+    }
+}
@@ -0,0 +1,67 @@
+package io.huskit.containers.cli;
+
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HtFindCliCtrsByIdsTest implements UnitTest {
+
+    @Test
+    void chunks__when_few_ids__then_returns_single_chunk() {
+        var ids = ids(10);
+
+        var chunks = HtFindCliCtrsByIds.chunks(ids, HtFindCliCtrsByIds.INSPECT_ARGS, HtFindCliCtrsByIds.MAX_COMMAND_LENGTH, 4);
+
+        assertThat(chunks).containsExactly(ids);
+    }
+
+    @Test
+    void chunks__when_many_ids__then_splits_them_between_shells() {
+        var ids = ids(100);
+
+        var chunks = HtFindCliCtrsByIds.chunks(ids, HtFindCliCtrsByIds.INSPECT_ARGS, HtFindCliCtrsByIds.MAX_COMMAND_LENGTH, 4);
+
+        assertThat(chunks).hasSize(4).allSatisfy(chunk -> assertThat(chunk).hasSize(25));
+        assertThat(chunks.stream().flatMap(List::stream)).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void chunks__when_ids_do_not_fit_into_command_length__then_splits_by_length() {
+        var ids = ids(1000);
+
+        var chunks = HtFindCliCtrsByIds.chunks(ids, HtFindCliCtrsByIds.INSPECT_ARGS, HtFindCliCtrsByIds.MAX_COMMAND_LENGTH, 1);
+
+        assertThat(chunks).hasSizeGreaterThan(1)
+                .allSatisfy(chunk -> assertThat(("docker inspect --format \"{{json .}}\" " + String.join(" ", chunk)).length())
+                        .isLessThanOrEqualTo(HtFindCliCtrsByIds.MAX_COMMAND_LENGTH));
+        assertThat(chunks.stream().flatMap(List::stream)).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void chunks__when_parallel_chunk_would_be_too_small__then_keeps_min_chunk_size() {
+        var ids = ids(HtFindCliCtrsByIds.MIN_CHUNK_SIZE + 1);
+
+        var chunks = HtFindCliCtrsByIds.chunks(ids, HtFindCliCtrsByIds.INSPECT_ARGS, HtFindCliCtrsByIds.MAX_COMMAND_LENGTH, 4);
+
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0)).hasSize(HtFindCliCtrsByIds.MIN_CHUNK_SIZE);
+    }
+
+    @Test
+    void chunks__when_no_ids__then_returns_single_empty_chunk() {
+        var chunks = HtFindCliCtrsByIds.chunks(List.of(), HtFindCliCtrsByIds.INSPECT_ARGS, HtFindCliCtrsByIds.MAX_COMMAND_LENGTH, 4);
+
+        assertThat(chunks).containsExactly(List.of());
+    }
+
+    private static List<String> ids(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> String.format("%064d", i))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,99 @@
+package io.huskit.containers.cli;
+
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShellOutputScannerTest implements UnitTest {
+
+    @Test
+    void next__should_split_lines_and_trim_them() {
+        var subject = scanner("  first \r\n\nsecond\nlast");
+
+        assertThat(subject.next()).isTrue();
+        assertThat(subject.line()).isEqualTo("first");
+        assertThat(subject.next()).isTrue();
+        assertThat(subject.isBlank()).isTrue();
+        assertThat(subject.next()).isTrue();
+        assertThat(subject.line()).isEqualTo("second");
+        assertThat(subject.next()).isTrue();
+        assertThat(subject.line()).isEqualTo("last");
+        assertThat(subject.next()).isFalse();
+    }
+
+    @Test
+    void next__when_line_longer_than_buffers__then_reads_whole_line() {
+        var longLine = "x".repeat(20_000) + "__MARKER__";
+        var subject = scanner(longLine + "\nnext\n");
+        var marker = new ByteMarker("__MARKER__").matcher();
+
+        assertThat(subject.next(marker)).isTrue();
+        assertThat(subject.endsWith(marker)).isTrue();
+        assertThat(subject.line()).isEqualTo(longLine);
+        assertThat(subject.next(marker)).isTrue();
+        assertThat(subject.endsWith(marker)).isFalse();
+        assertThat(subject.line()).isEqualTo("next");
+    }
+
+    @Test
+    void ends_with__should_match_marker_only_at_end_of_trimmed_line() {
+        var subject = scanner("PS C:\\> echo __RUN__\n__RUN__ \r\n__RUN__ and more\n");
+        var marker = new ByteMarker("__RUN__").matcher();
+
+        subject.next(marker);
+        assertThat(subject.endsWith(marker)).isTrue();
+        assertThat(subject.isExactly(marker)).isFalse();
+        subject.next(marker);
+        assertThat(subject.endsWith(marker)).isTrue();
+        assertThat(subject.isExactly(marker)).isTrue();
+        subject.next(marker);
+        assertThat(subject.endsWith(marker)).isFalse();
+    }
+
+    @Test
+    void ends_with__when_marker_overlaps_with_itself__then_finds_match() {
+        var subject = scanner("aaaab\nabab\n");
+        var marker = new ByteMarker("aaab").matcher();
+        var other = new ByteMarker("abab").matcher();
+
+        subject.next(marker, other);
+        assertThat(subject.endsWith(marker)).isTrue();
+        assertThat(subject.endsWith(other)).isFalse();
+        subject.next(marker, other);
+        assertThat(subject.endsWith(marker)).isFalse();
+        assertThat(subject.endsWith(other)).isTrue();
+    }
+
+    @Test
+    void next__when_tee_given__then_prints_every_line() {
+        var printed = new ByteArrayOutputStream();
+        var subject = new ShellOutputScanner(
+                new ByteArrayInputStream("one\r\ntwo".getBytes(StandardCharsets.UTF_8)),
+                new PrintStream(printed, true, StandardCharsets.UTF_8)
+        );
+
+        while (subject.next()) {
+            subject.line();
+        }
+
+        assertThat(printed.toString(StandardCharsets.UTF_8).lines()).containsExactly("one", "two");
+    }
+
+    @Test
+    void byte_marker__when_empty__then_fails() {
+        assertThatThrownBy(() -> new ByteMarker(""))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Marker should not be empty");
+    }
+
+    private static ShellOutputScanner scanner(String output) {
+        return new ShellOutputScanner(new ByteArrayInputStream(output.getBytes(StandardCharsets.UTF_8)), null);
+    }
+}
@@ -0,0 +1,153 @@
+package io.huskit.containers.cli;
+
+import io.huskit.gradle.commontest.UnitTest;
+import lombok.experimental.NonFinal;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShellPoolTest implements UnitTest {
+
+    @Test
+    void with_shell__when_used_sequentially__then_reuses_one_shell() {
+        var created = new ArrayList<FakeShell>();
+        var subject = pool(2, created);
+
+        var first = subject.withShell(shell -> shell.id);
+        var second = subject.withShell(shell -> shell.id);
+
+        assertThat(first).isEqualTo(second);
+        assertThat(created).hasSize(1);
+        assertThat(subject.idleCount()).isEqualTo(1);
+    }
+
+    @Test
+    void with_shell__when_used_concurrently__then_runs_in_separate_shells_up_to_max_size() throws Exception {
+        var created = new ArrayList<FakeShell>();
+        var subject = pool(2, created);
+        var bothInside = new CountDownLatch(2);
+        var release = new CountDownLatch(1);
+        var concurrent = new AtomicInteger();
+        var maxConcurrent = new AtomicInteger();
+        var tasks = new ArrayList<CompletableFuture<Integer>>();
+        for (var i = 0; i < 3; i++) {
+            tasks.add(CompletableFuture.supplyAsync(() -> subject.withShell(shell -> {
+                maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                bothInside.countDown();
+                await(release);
+                concurrent.decrementAndGet();
+                return shell.id;
+            })));
+        }
+
+        assertThat(bothInside.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+        for (var task : tasks) {
+            task.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(maxConcurrent).hasValue(2);
+        assertThat(created).hasSize(2);
+        assertThat(subject.size()).isEqualTo(2);
+    }
+
+    @Test
+    void with_shell__when_shell_died__then_replaced_with_new_one() {
+        var created = new ArrayList<FakeShell>();
+        var subject = pool(1, created);
+        subject.withShell(shell -> shell.id);
+        created.get(0).isAlive = false;
+
+        var id = subject.withShell(shell -> shell.id);
+
+        assertThat(id).isEqualTo(1);
+        assertThat(created.get(0).isClosed).isTrue();
+        assertThat(subject.size()).isEqualTo(1);
+    }
+
+    @Test
+    void with_shell__when_action_fails__then_shell_closed_and_not_reused() {
+        var created = new ArrayList<FakeShell>();
+        var subject = pool(1, created);
+
+        assertThatThrownBy(() -> subject.withShell(shell -> {
+            throw new IllegalStateException("Docker shell exited");
+        })).hasMessage("Docker shell exited");
+
+        assertThat(created.get(0).isClosed).isTrue();
+        assertThat(subject.size()).isZero();
+        assertThat(subject.<Integer>withShell(shell -> shell.id)).isEqualTo(1);
+    }
+
+    @Test
+    void close__should_close_idle_shells_and_shells_returned_later() throws Exception {
+        var created = new ArrayList<FakeShell>();
+        var subject = pool(2, created);
+        var inside = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var busy = CompletableFuture.runAsync(() -> subject.withShell(shell -> {
+            inside.countDown();
+            await(release);
+            return shell.id;
+        }));
+        assertThat(inside.await(5, TimeUnit.SECONDS)).isTrue();
+        subject.withShell(shell -> shell.id);
+        var busyShell = created.get(0);
+        var idleShell = created.get(1);
+
+        subject.close();
+        assertThat(idleShell.isClosed).isTrue();
+        assertThat(busyShell.isClosed).isFalse();
+        release.countDown();
+        busy.get(5, TimeUnit.SECONDS);
+
+        assertThat(busyShell.isClosed).isTrue();
+        assertThatThrownBy(() -> subject.withShell(shell -> shell.id))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Shell pool is closed");
+    }
+
+    private static ShellPool<FakeShell> pool(int maxSize, List<FakeShell> created) {
+        return new ShellPool<>(
+                maxSize,
+                id -> {
+                    var shell = new FakeShell(id);
+                    synchronized (created) {
+                        created.add(shell);
+                    }
+                    return shell;
+                },
+                shell -> shell.isAlive,
+                shell -> shell.isClosed = true
+        );
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class FakeShell {
+
+        int id;
+        @NonFinal
+        volatile boolean isAlive = true;
+        @NonFinal
+        volatile boolean isClosed;
+
+        FakeShell(int id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package io.huskit.containers.http;
+
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ByteBufferPoolTest implements UnitTest {
+
+    @Test
+    void lease__should_round_capacity_up_to_size_class() {
+        var subject = new ByteBufferPool(4, false);
+
+        assertThat(subject.lease(1).buffer().capacity()).isEqualTo(ByteBufferPool.MIN_SIZE);
+        assertThat(subject.lease(4096).buffer().capacity()).isEqualTo(4096);
+        assertThat(subject.lease(4097).buffer().capacity()).isEqualTo(8192);
+        assertThat(subject.lease(ByteBufferPool.MAX_SIZE + 1).buffer().capacity()).isEqualTo(ByteBufferPool.MAX_SIZE + 1);
+    }
+
+    @Test
+    void lease__should_return_direct_buffer() {
+        var subject = new ByteBufferPool(4, false);
+
+        assertThat(subject.lease(100).buffer().isDirect()).isTrue();
+    }
+
+    @Test
+    void release__should_reuse_buffer_of_same_size_class() {
+        var subject = new ByteBufferPool(4, false);
+        var first = subject.lease(5000);
+        var buffer = first.buffer();
+        buffer.put((byte) 1);
+        first.release();
+
+        var second = subject.lease(6000);
+
+        assertThat(second.buffer()).isSameAs(buffer);
+        assertThat(second.buffer().position()).isZero();
+        assertThat(second.buffer().limit()).isEqualTo(8192);
+    }
+
+    @Test
+    void release__when_oversized_buffer__then_not_retained() {
+        var subject = new ByteBufferPool(4, false);
+
+        subject.lease(ByteBufferPool.MAX_SIZE * 2).release();
+
+        assertThat(subject.retainedCount()).isZero();
+    }
+
+    @Test
+    void release__should_retain_at_most_configured_buffers_per_class() {
+        var subject = new ByteBufferPool(1, false);
+        var first = subject.lease(10);
+        var second = subject.lease(10);
+
+        first.release();
+        second.release();
+
+        assertThat(subject.retainedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void release__when_released_twice__then_throw() {
+        var subject = new ByteBufferPool(4, false);
+        var lease = subject.lease(10);
+        lease.release();
+
+        assertThatThrownBy(lease::release)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Buffer is already released");
+        assertThatThrownBy(lease::buffer)
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void leaks__when_tracking_enabled__then_report_unreleased_leases() {
+        var subject = new ByteBufferPool(4, true);
+        var released = subject.lease(10);
+        subject.lease(10);
+        released.release();
+
+        var leaks = subject.leaks();
+
+        assertThat(subject.leasedCount()).isEqualTo(1);
+        assertThat(leaks).hasSize(1);
+        assertThat(leaks.get(0).getStackTrace()[1].getMethodName())
+                .isEqualTo("leaks__when_tracking_enabled__then_report_unreleased_leases");
+    }
+}
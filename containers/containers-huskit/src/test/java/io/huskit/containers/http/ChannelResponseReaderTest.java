@@ -0,0 +1,258 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.container.logs.Logs;
+import io.huskit.containers.api.container.logs.LookFor;
+import io.huskit.containers.internal.HtJson;
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChannelResponseReaderTest implements UnitTest {
+
+    @Test
+    void read__when_content_length_body__then_body_available() throws Exception {
+        var subject = subject("HTTP/1.1 200 OK\r\n"
+                + "Content-Type: application/json\r\n"
+                + "Content-Length: 13\r\n"
+                + "\r\n"
+                + "{\"Id\":\"abc\"}\n");
+
+        var response = subject.read(request());
+
+        assertThat(response.head().status()).isEqualTo(200);
+        assertThat(new BufferedReader(response.bodyReader()).readLine()).isEqualTo("{\"Id\":\"abc\"}");
+        assertThat(subject.isReusable()).isTrue();
+    }
+
+    @Test
+    void read__when_chunked_body__then_body_dechunked() throws Exception {
+        var subject = subject("HTTP/1.1 200 OK\r\n"
+                + "Transfer-Encoding: chunked\r\n"
+                + "\r\n"
+                + "5\r\nHello\r\n"
+                + "7;ext=1\r\n, World\r\n"
+                + "0\r\n"
+                + "\r\n");
+
+        var response = subject.read(request());
+
+        assertThat(new BufferedReader(response.bodyReader()).readLine()).isEqualTo("Hello, World");
+        assertThat(subject.isReusable()).isTrue();
+    }
+
+    @Test
+    void read__when_no_content__then_only_head() {
+        var subject = subject("HTTP/1.1 204 No Content\r\n"
+                + "Server: Docker\r\n"
+                + "\r\n");
+
+        var response = subject.read(request().withExpectedStatus(204));
+
+        assertThat(response).isInstanceOf(Http.RawResponse.OnlyHeadRawResponse.class);
+        assertThat(response.head().status()).isEqualTo(204);
+    }
+
+    @Test
+    void read__when_unexpected_status__then_throw_with_body() {
+        var subject = subject("HTTP/1.1 404 Not Found\r\n"
+                + "Content-Length: 29\r\n"
+                + "\r\n"
+                + "{\"message\":\"No such image\"}\r\n");
+
+        assertThatThrownBy(() -> subject.read(request().withExpectedStatus(201)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("'201'")
+                .hasMessageContaining("'404'")
+                .hasMessageContaining("No such image");
+    }
+
+    @Test
+    void read__when_multiplexed_stream__then_demultiplex_std_out_and_std_err() throws Exception {
+        var body = new ByteArrayOutputStream();
+        body.write(frame(1, "out line 1\n"));
+        body.write(frame(2, "err line\n"));
+        body.write(frame(1, "out line 2\n"));
+        var subject = subject(multiplexedHead(body.size()), body.toByteArray());
+
+        var response = subject.read(request());
+        var logs = new Logs.DfLogs(response.stdOut(), response.stdErr());
+
+        assertThat(logs.stdOut().collect(Collectors.toList())).containsExactly("out line 1", "out line 2");
+        assertThat(logs.stdErr().collect(Collectors.toList())).containsExactly("err line");
+    }
+
+    @Test
+    void read__when_raw_stream_until_eof_and_request_marked_multiplexed__then_demultiplex() throws Exception {
+        var body = new ByteArrayOutputStream();
+        body.write(frame(1, "2\n4\n"));
+        body.write(frame(2, "err\n"));
+        var subject = subject(
+                ("HTTP/1.1 200 OK\r\n"
+                        + "Content-Type: application/vnd.docker.raw-stream\r\n"
+                        + "\r\n").getBytes(StandardCharsets.UTF_8),
+                body.toByteArray()
+        );
+
+        var response = subject.read(request().withMultiplexedStream());
+        var logs = new Logs.DfLogs(response.stdOut(), response.stdErr());
+
+        assertThat(logs.stdOut().collect(Collectors.toList())).containsExactly("2", "4");
+        assertThat(logs.stdErr().collect(Collectors.toList())).containsExactly("err");
+        assertThat(subject.isReusable()).isFalse();
+    }
+
+    @Test
+    void read__when_follow_with_predicate__then_stop_on_matching_line() throws Exception {
+        var body = new ByteArrayOutputStream();
+        var first = frame(1, "starting\nwait");
+        var second = frame(1, "ing for connections\n");
+        body.write(chunk(first));
+        body.write(chunk(second));
+        var head = "HTTP/1.1 200 OK\r\n"
+                + "Content-Type: application/vnd.docker.multiplexed-stream\r\n"
+                + "Transfer-Encoding: chunked\r\n"
+                + "\r\n";
+        var subject = subject(head.getBytes(StandardCharsets.UTF_8), body.toByteArray());
+
+        var response = subject.read(request().withRepeatReadPredicate(LookFor.word("waiting for connections")));
+
+        assertThat(response.head().status()).isEqualTo(200);
+        assertThat(subject.isReusable()).isFalse();
+    }
+
+    @Test
+    void read__when_follow_stream_ends_without_match__then_throw() throws Exception {
+        var body = new ByteArrayOutputStream();
+        body.write(chunk(frame(1, "starting\n")));
+        body.write("0\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+        var head = "HTTP/1.1 200 OK\r\n"
+                + "Content-Type: application/vnd.docker.multiplexed-stream\r\n"
+                + "Transfer-Encoding: chunked\r\n"
+                + "\r\n";
+        var subject = subject(head.getBytes(StandardCharsets.UTF_8), body.toByteArray());
+
+        assertThatThrownBy(() -> subject.read(request().withRepeatReadPredicate(LookFor.word("ready"))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("ended before matching line");
+    }
+
+    @Test
+    void read__when_streamed_chunked_body__then_dechunked_while_reading_and_released_at_end() throws Exception {
+        var released = new AtomicInteger();
+        var subject = subject("HTTP/1.1 200 OK\r\n"
+                + "Transfer-Encoding: chunked\r\n"
+                + "\r\n"
+                + "5\r\nHello\r\n"
+                + "14\r\n, streaming World!!!\r\n"
+                + "0\r\n"
+                + "\r\n");
+
+        var response = subject.read(request().withStreamedBody(), released::incrementAndGet);
+
+        assertThat(response).isInstanceOf(Http.RawResponse.StreamRawResponse.class);
+        assertThat(subject.isStreaming()).isTrue();
+        assertThat(released).hasValue(0);
+        var body = response.<String>mapBody(reader -> new BufferedReader(reader).lines().collect(Collectors.joining()));
+
+        assertThat(body).isEqualTo("Hello, streaming World!!!");
+        assertThat(released).hasValue(1);
+        assertThat(subject.isReusable()).isTrue();
+    }
+
+    @Test
+    void read__when_streamed_body_closed_after_json__then_trailing_bytes_skipped_and_reusable() {
+        var released = new AtomicInteger();
+        var subject = subject(1024, "HTTP/1.1 200 OK\r\n"
+                + "Content-Type: application/json\r\n"
+                + "Content-Length: 13\r\n"
+                + "\r\n"
+                + "{\"Id\":\"abc\"}\n");
+
+        var response = subject.read(request().withStreamedBody(), released::incrementAndGet);
+
+        var body = response.<Map<String, Object>>mapBody(HtJson::toMap);
+
+        assertThat(body).containsEntry("Id", "abc");
+        assertThat(released).hasValue(1);
+        assertThat(subject.isReusable()).isTrue();
+    }
+
+    @Test
+    void read__when_streamed_body_closed_before_end__then_not_reusable() throws Exception {
+        var released = new AtomicInteger();
+        var subject = subject("HTTP/1.1 200 OK\r\n"
+                + "Content-Length: 40\r\n"
+                + "\r\n"
+                + "x".repeat(40));
+
+        var response = subject.read(request().withStreamedBody(), released::incrementAndGet);
+        var reader = response.bodyReader();
+        assertThat(reader.read()).isEqualTo('x');
+        reader.close();
+        reader.close();
+
+        assertThat(released).hasValue(1);
+        assertThat(subject.isReusable()).isFalse();
+    }
+
+    private Request request() {
+        return new Request(new DfHttpRequest("GET / HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private ChannelResponseReader subject(String response) {
+        return subject(response.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ChannelResponseReader subject(int bufferSize, String response) {
+        var bytes = response.getBytes(StandardCharsets.UTF_8);
+        return new ChannelResponseReader(Channels.newChannel(new ByteArrayInputStream(bytes)), bufferSize);
+    }
+
+    private ChannelResponseReader subject(byte[]... parts) {
+        var all = new ByteArrayOutputStream();
+        for (var part : parts) {
+            all.write(part, 0, part.length);
+        }
+        return new ChannelResponseReader(Channels.newChannel(new ByteArrayInputStream(all.toByteArray())), 16);
+    }
+
+    private byte[] multiplexedHead(int contentLength) {
+        return ("HTTP/1.1 200 OK\r\n"
+                + "Content-Type: application/vnd.docker.multiplexed-stream\r\n"
+                + "Content-Length: " + contentLength + "\r\n"
+                + "\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] frame(int streamType, String payload) {
+        var payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        var frame = new byte[8 + payloadBytes.length];
+        frame[0] = (byte) streamType;
+        frame[4] = (byte) (payloadBytes.length >>> 24);
+        frame[5] = (byte) (payloadBytes.length >>> 16);
+        frame[6] = (byte) (payloadBytes.length >>> 8);
+        frame[7] = (byte) payloadBytes.length;
+        System.arraycopy(payloadBytes, 0, frame, 8, payloadBytes.length);
+        return frame;
+    }
+
+    private byte[] chunk(byte[] data) {
+        var out = new ByteArrayOutputStream();
+        var size = (Integer.toHexString(data.length) + "\r\n").getBytes(StandardCharsets.UTF_8);
+        out.write(size, 0, size.length);
+        out.write(data, 0, data.length);
+        out.write('\r');
+        out.write('\n');
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,400 @@
+package io.huskit.containers.http;
+
+import io.huskit.common.FakeTestLog;
+import io.huskit.containers.api.container.logs.LookFor;
+import io.huskit.gradle.commontest.UnitTest;
+import lombok.experimental.NonFinal;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DockerConnectionPoolTest implements UnitTest {
+
+    private static final String NO_CONTENT_RESPONSE = "HTTP/1.1 204 No Content\r\nServer: Docker\r\n\r\n";
+
+    @Test
+    void exchange__when_sequential_requests__then_reuse_connection() {
+        var channels = new ArrayList<FakeChannel>();
+        var subject = subject(channels, new DockerConnectionPoolSpec());
+
+        subject.exchange(request());
+        subject.exchange(request());
+
+        assertThat(channels).hasSize(1);
+        assertThat(channels.get(0).writes).isEqualTo(2);
+        assertThat(subject.idleCount()).isEqualTo(1);
+        assertThat(subject.leasedCount()).isZero();
+    }
+
+    @Test
+    void exchange__when_dedicated_request__then_use_separate_connection_and_close_it() {
+        var channels = new ArrayList<FakeChannel>();
+        var subject = subject(channels, new DockerConnectionPoolSpec());
+
+        subject.exchange(request());
+        subject.exchange(request().withDedicatedConnection());
+
+        assertThat(channels).hasSize(2);
+        assertThat(channels.get(0).isOpen()).isTrue();
+        assertThat(channels.get(1).isOpen()).isFalse();
+        assertThat(subject.idleCount()).isEqualTo(1);
+    }
+
+    @Test
+    void exchange__when_follow_request__then_use_dedicated_connection() {
+        var request = request().withRepeatReadPredicate(LookFor.word("ready"));
+
+        assertThat(request.isDedicatedConnection()).isTrue();
+    }
+
+    @Test
+    void exchange__when_connection_not_reusable__then_close_it() {
+        var channels = new ArrayList<FakeChannel>();
+        var subject = subject(
+                channels,
+                new DockerConnectionPoolSpec(),
+                "HTTP/1.1 204 No Content\r\nConnection: close\r\n\r\n"
+        );
+
+        subject.exchange(request());
+
+        assertThat(channels.get(0).isOpen()).isFalse();
+        assertThat(subject.idleCount()).isZero();
+    }
+
+    @Test
+    void exchange__when_idle_connection_expired__then_evict_on_lease() throws Exception {
+        var channels = new ArrayList<FakeChannel>();
+        var subject = subject(channels, new DockerConnectionPoolSpec().withIdleTimeout(Duration.ofMillis(1)));
+
+        subject.exchange(request());
+        Thread.sleep(5);
+        subject.exchange(request());
+
+        assertThat(channels).hasSize(2);
+        assertThat(channels.get(0).isOpen()).isFalse();
+    }
+
+    @Test
+    void exchange__when_pool_exhausted__then_fail_after_lease_timeout() throws Exception {
+        var blockedChannel = new CountDownLatch(1);
+        var releaseChannel = new CountDownLatch(1);
+        var channels = new ArrayList<FakeChannel>();
+        channels.add(new FakeChannel(NO_CONTENT_RESPONSE, blockedChannel, releaseChannel));
+        var subject = subject(
+                channels,
+                new DockerConnectionPoolSpec()
+                        .withMaxSize(1)
+                        .withLeaseTimeout(Duration.ofMillis(50))
+        );
+        var first = CompletableFuture.runAsync(() -> subject.exchange(request()));
+        try {
+            assertThat(blockedChannel.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> subject.exchange(request()))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("all 1 connections are in use");
+        } finally {
+            releaseChannel.countDown();
+            first.join();
+        }
+    }
+
+    @Test
+    void close__should_close_idle_connections_and_reject_new_requests() {
+        var channels = new ArrayList<FakeChannel>();
+        var subject = subject(channels, new DockerConnectionPoolSpec());
+        subject.exchange(request());
+
+        subject.close();
+
+        assertThat(channels.get(0).isOpen()).isFalse();
+        assertThatThrownBy(() -> subject.exchange(request()))
+                .hasMessageContaining("closed");
+    }
+
+    @Test
+    void close__should_release_read_buffers_of_all_connections() {
+        var buffers = new ByteBufferPool(4, true);
+        var subject = subject(new ArrayList<>(), new DockerConnectionPoolSpec(), NO_CONTENT_RESPONSE, buffers);
+        subject.exchange(request());
+        subject.exchange(request().withDedicatedConnection());
+        assertThat(buffers.leasedCount()).isEqualTo(1);
+
+        subject.close();
+
+        assertThat(buffers.leaks()).isEmpty();
+        assertThat(buffers.leasedCount()).isZero();
+        assertThat(buffers.retainedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void close__when_dedicated_exchange_in_flight__then_release_its_buffer_only_after_reader_exits() throws Exception {
+        var buffers = new ByteBufferPool(4, true);
+        var channel = new BlockingChannel();
+        var subject = new DockerConnectionPool(() -> channel, new DockerConnectionPoolSpec(), new FakeTestLog(), buffers);
+        var exchange = CompletableFuture.runAsync(() -> subject.exchange(request().withDedicatedConnection()));
+        assertThat(channel.isReading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        subject.close();
+
+        assertThat(channel.isOpen()).isFalse();
+        assertThat(buffers.leasedCount()).isOne();
+        channel.unblockRead.countDown();
+        assertThatThrownBy(exchange::join).hasCauseInstanceOf(AsynchronousCloseException.class);
+        assertThat(buffers.leaks()).isEmpty();
+        assertThat(buffers.leasedCount()).isZero();
+    }
+
+    @Test
+    void connection_close__when_called_concurrently__then_release_buffer_once() throws Exception {
+        var buffers = new ByteBufferPool(4, true);
+        for (var i = 0; i < 100; i++) {
+            var connection = new DockerConnection(new FakeChannel(NO_CONTENT_RESPONSE), buffers.lease(ByteBufferPool.MIN_SIZE));
+            var start = new CountDownLatch(1);
+            var closes = new ArrayList<CompletableFuture<Void>>();
+            for (var j = 0; j < 4; j++) {
+                closes.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    connection.close();
+                }));
+            }
+            start.countDown();
+            CompletableFuture.allOf(closes.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(buffers.leaks()).isEmpty();
+        assertThat(buffers.leasedCount()).isZero();
+    }
+
+    @Test
+    void exchange__when_timeout_reached__then_abort_read_and_close_connection() {
+        var channels = new ArrayList<FakeChannel>();
+        channels.add(new FakeChannel(NO_CONTENT_RESPONSE, new CountDownLatch(0), new CountDownLatch(1)));
+        var subject = subject(channels, new DockerConnectionPoolSpec());
+
+        assertThatThrownBy(() -> subject.exchange(request().withTimeout(Duration.ofMillis(50))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Docker request did not complete within PT0.05S");
+        assertThat(channels.get(0).isOpen()).isFalse();
+        assertThat(subject.idleCount()).isZero();
+        assertThat(subject.leasedCount()).isZero();
+    }
+
+    @Test
+    void send_async__when_cancelled__then_abort_read_and_release_connection() throws Exception {
+        var written = new CountDownLatch(1);
+        var channels = new ArrayList<FakeChannel>();
+        channels.add(new FakeChannel(NO_CONTENT_RESPONSE, written, new CountDownLatch(1)));
+        var subject = subject(channels, new DockerConnectionPoolSpec());
+        var request = request();
+        var future = CancellableSend.sendAsync(socket(subject), request, command -> new Thread(command).start());
+        assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+
+        future.cancel(true);
+
+        assertThat(request.abortReason()).isEqualTo("Docker request was cancelled");
+        assertThat(channels.get(0).isOpen()).isFalse();
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (subject.leasedCount() != 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(subject.leasedCount()).isZero();
+        assertThat(subject.exchange(request()).head().status()).isEqualTo(204);
+    }
+
+    @Test
+    void abort__when_exchange_already_finished__then_keep_pooled_connection_open() {
+        var channels = new ArrayList<FakeChannel>();
+        var subject = subject(channels, new DockerConnectionPoolSpec());
+        var request = request();
+        subject.exchange(request);
+
+        request.abort("late");
+
+        assertThat(channels.get(0).isOpen()).isTrue();
+        subject.exchange(request());
+        assertThat(channels).hasSize(1);
+    }
+
+    @Test
+    void new_pool__when_min_idle_greater_than_max_size__then_fail() {
+        assertThatThrownBy(() -> subject(new ArrayList<>(), new DockerConnectionPoolSpec().withMinIdle(10).withMaxSize(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private DockerConnectionPool subject(List<FakeChannel> channels, DockerConnectionPoolSpec spec) {
+        return subject(channels, spec, NO_CONTENT_RESPONSE);
+    }
+
+    private DockerConnectionPool subject(List<FakeChannel> channels, DockerConnectionPoolSpec spec, String response) {
+        return subject(channels, spec, response, new ByteBufferPool(4, false));
+    }
+
+    private DockerConnectionPool subject(List<FakeChannel> channels,
+                                         DockerConnectionPoolSpec spec,
+                                         String response,
+                                         ByteBufferPool buffers) {
+        var prepared = new ArrayList<>(channels);
+        return new DockerConnectionPool(
+                () -> {
+                    synchronized (channels) {
+                        var channel = prepared.isEmpty() ? new FakeChannel(response) : prepared.remove(0);
+                        if (!channels.contains(channel)) {
+                            channels.add(channel);
+                        }
+                        return channel;
+                    }
+                },
+                spec,
+                new FakeTestLog(),
+                buffers
+        );
+    }
+
+    private DockerSocket socket(DockerConnectionPool pool) {
+        return new DockerSocket() {
+
+            @Override
+            public Http.RawResponse send(Request request) {
+                return pool.exchange(request);
+            }
+
+            @Override
+            public CompletableFuture<Http.RawResponse> sendAsync(Request request) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void release() {
+                pool.close();
+            }
+        };
+    }
+
+    private Request request() {
+        return new Request(new DfHttpRequest("GET /_ping HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Channel whose read blocks until released by test, even after channel is closed.
+     */
+    private static final class BlockingChannel implements ByteChannel {
+
+        CountDownLatch isReading = new CountDownLatch(1);
+        CountDownLatch unblockRead = new CountDownLatch(1);
+        @NonFinal
+        volatile boolean isOpen = true;
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            isReading.countDown();
+            try {
+                unblockRead.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new AsynchronousCloseException();
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            var count = src.remaining();
+            src.position(src.limit());
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return isOpen;
+        }
+
+        @Override
+        public void close() {
+            isOpen = false;
+        }
+    }
+
+    private static final class FakeChannel implements ByteChannel {
+
+        byte[] response;
+        CountDownLatch onWrite;
+        CountDownLatch beforeRead;
+        @NonFinal
+        ByteBuffer pending = ByteBuffer.allocate(0);
+        @NonFinal
+        int writes;
+        @NonFinal
+        volatile boolean isOpen = true;
+
+        FakeChannel(String response) {
+            this(response, new CountDownLatch(0), new CountDownLatch(0));
+        }
+
+        FakeChannel(String response, CountDownLatch onWrite, CountDownLatch beforeRead) {
+            this.response = response.getBytes(StandardCharsets.UTF_8);
+            this.onWrite = onWrite;
+            this.beforeRead = beforeRead;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            try {
+                beforeRead.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return -1;
+            }
+            if (!isOpen) {
+                throw new AsynchronousCloseException();
+            }
+            if (!pending.hasRemaining()) {
+                return -1;
+            }
+            var count = Math.min(dst.remaining(), pending.remaining());
+            var slice = pending.duplicate();
+            slice.limit(slice.position() + count);
+            dst.put(slice);
+            pending.position(pending.position() + count);
+            return count;
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            var count = src.remaining();
+            src.position(src.limit());
+            writes++;
+            pending = ByteBuffer.wrap(response);
+            onWrite.countDown();
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return isOpen;
+        }
+
+        @Override
+        public void close() {
+            isOpen = false;
+            beforeRead.countDown();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package io.huskit.containers.http;
+
+import io.huskit.common.FakeTestLog;
+import io.huskit.common.concurrent.IoExecutors;
+import lombok.Getter;
+import lombok.experimental.NonFinal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Daemon that answers requests by their method and path, like {@code POST /containers/create}, through real
+ * connection pool. Once response is read, or if response is {@code null}, further reads block until connection
+ * is closed, the way daemon keeps streams like events or attach open.
+ */
+final class FakeDockerDaemon implements DockerSocket {
+
+    Function<String, String> responses;
+    @Getter
+    List<String> issued = new CopyOnWriteArrayList<>();
+    @Getter
+    List<String> received = new CopyOnWriteArrayList<>();
+    List<FakeDaemonChannel> channels = new CopyOnWriteArrayList<>();
+    @Getter
+    DockerConnectionPool pool;
+
+    FakeDockerDaemon(Function<String, String> responses) {
+        this.responses = responses;
+        this.pool = new DockerConnectionPool(
+                () -> {
+                    var channel = new FakeDaemonChannel(this);
+                    channels.add(channel);
+                    return channel;
+                },
+                new DockerConnectionPoolSpec(),
+                new FakeTestLog()
+        );
+    }
+
+    static String response(int status, String body) {
+        return String.format("HTTP/1.1 %s Status\r\nContent-Length: %s\r\n\r\n%s", status, body.length(), body);
+    }
+
+    @Override
+    public Http.RawResponse send(Request request) {
+        return pool.exchange(request);
+    }
+
+    /**
+     * Records request in {@link #issued()} before it is sent, so order of calls is kept even for requests
+     * that reach daemon concurrently.
+     */
+    @Override
+    public CompletableFuture<Http.RawResponse> sendAsync(Request request) {
+        issued.add(requestLine(request.http().body()));
+        return CancellableSend.sendAsync(this, request, IoExecutors.shared());
+    }
+
+    @Override
+    public void release() {
+        pool.close();
+    }
+
+    FakeDaemonChannel channel(String request) {
+        return channels.stream()
+                .filter(channel -> request.equals(channel.request))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static String requestLine(byte[] request) {
+        var text = new String(request, StandardCharsets.ISO_8859_1);
+        var line = text.substring(0, text.indexOf(" HTTP/1.1"));
+        var query = line.indexOf('?');
+        return query == -1 ? line : line.substring(0, query);
+    }
+
+    static final class FakeDaemonChannel implements ByteChannel {
+
+        FakeDockerDaemon daemon;
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        @Getter
+        CountDownLatch isClosed = new CountDownLatch(1);
+        @NonFinal
+        ByteBuffer pending = ByteBuffer.allocate(0);
+        @NonFinal
+        volatile String request;
+
+        FakeDaemonChannel(FakeDockerDaemon daemon) {
+            this.daemon = daemon;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            if (!pending.hasRemaining() && written.size() > 0) {
+                request = requestLine(written.toByteArray());
+                written.reset();
+                daemon.received.add(request);
+                var response = daemon.responses.apply(request);
+                pending = ByteBuffer.wrap(response == null ? new byte[0] : response.getBytes(StandardCharsets.ISO_8859_1));
+            }
+            if (!pending.hasRemaining()) {
+                try {
+                    isClosed.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (!isOpen()) {
+                throw new AsynchronousCloseException();
+            }
+            if (!pending.hasRemaining()) {
+                return -1;
+            }
+            var count = Math.min(dst.remaining(), pending.remaining());
+            var slice = pending.duplicate();
+            slice.limit(slice.position() + count);
+            dst.put(slice);
+            pending.position(pending.position() + count);
+            return count;
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            var count = src.remaining();
+            var bytes = new byte[count];
+            src.get(bytes);
+            written.write(bytes, 0, count);
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return isClosed.getCount() > 0;
+        }
+
+        @Override
+        public void close() {
+            isClosed.countDown();
+        }
+    }
+}
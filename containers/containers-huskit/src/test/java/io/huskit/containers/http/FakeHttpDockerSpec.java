@@ -0,0 +1,57 @@
+package io.huskit.containers.http;
+
+import io.huskit.common.concurrent.IoExecutors;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+final class FakeHttpDockerSpec implements HtHttpDockerSpec {
+
+    DockerSocket socket;
+    HttpInspectCache inspectCache;
+
+    FakeHttpDockerSpec(DockerSocket socket) {
+        this(socket, new HttpInspectCache(Duration.ZERO, null));
+    }
+
+    FakeHttpDockerSpec(DockerSocket socket, HttpInspectCache inspectCache) {
+        this.socket = socket;
+        this.inspectCache = inspectCache;
+    }
+
+    @Override
+    public DockerSocket socket() {
+        return socket;
+    }
+
+    @Override
+    public Boolean isCleanOnClose() {
+        return false;
+    }
+
+    @Override
+    public HttpRequests requests() {
+        return new HttpRequests();
+    }
+
+    @Override
+    public Executor executor() {
+        return IoExecutors.shared();
+    }
+
+    @Override
+    public Optional<HttpContainerIndex> containerIndex() {
+        return Optional.empty();
+    }
+
+    @Override
+    public HttpInspectCache inspectCache() {
+        return inspectCache;
+    }
+
+    @Override
+    public Integer inspectParallelism() {
+        return 1;
+    }
+}
@@ -0,0 +1,56 @@
+package io.huskit.containers.http;
+
+import io.huskit.common.port.MappedPort;
+import io.huskit.containers.api.container.HtJsonContainer;
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HtHttpListContainersTest implements UnitTest {
+
+    @Test
+    void projected_source__should_reshape_summary_to_inspect_document() {
+        var summary = Map.<String, Object>of(
+                "Id", "someId",
+                "Names", List.of("/someName"),
+                "Created", 1700000000,
+                "Labels", Map.of("key", "value"),
+                "Ports", List.of(Map.of("PrivatePort", 27017, "PublicPort", 32768, "Type", "tcp")),
+                "HostConfig", Map.of("NetworkMode", "bridge")
+        );
+
+        var container = new HtJsonContainer(HtHttpListContainers.projectedSource(summary));
+
+        assertThat(container.id()).isEqualTo("someId");
+        assertThat(container.name()).isEqualTo("/someName");
+        assertThat(container.createdAt()).isEqualTo(Instant.ofEpochSecond(1700000000));
+        assertThat(container.config().labels()).containsExactly(Map.entry("key", "value"));
+        assertThat(container.ports()).containsExactly(new MappedPort(32768, 27017));
+    }
+
+    @Test
+    void projected_source__when_port_published_on_ipv4_and_ipv6__then_report_it_once() {
+        var summary = Map.<String, Object>of(
+                "Id", "someId",
+                "Ports", List.of(
+                        Map.of("IP", "0.0.0.0", "PrivatePort", 27017, "PublicPort", 32768, "Type", "tcp"),
+                        Map.of("IP", "::", "PrivatePort", 27017, "PublicPort", 32768, "Type", "tcp"),
+                        Map.of("PrivatePort", 8080, "Type", "tcp")
+                )
+        );
+
+        var source = HtHttpListContainers.projectedSource(summary);
+        var container = new HtJsonContainer(source);
+
+        assertThat(source.get("HostConfig")).isEqualTo(Map.of(
+                "PortBindings", Map.of("27017/tcp", List.of(Map.of("HostIp", "0.0.0.0", "HostPort", "32768")))
+        ));
+        assertThat(container.ports()).containsExactly(new MappedPort(32768, 27017));
+        assertThat(container.firstMappedPort()).isEqualTo(32768);
+    }
+}
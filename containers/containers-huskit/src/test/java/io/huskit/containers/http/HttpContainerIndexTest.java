@@ -0,0 +1,177 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.events.HtEvent;
+import io.huskit.containers.api.events.HtEventSubscription;
+import io.huskit.containers.api.events.HtEvents;
+import io.huskit.containers.api.events.HtEventsSpec;
+import io.huskit.containers.api.events.JsonHtEvent;
+import io.huskit.gradle.commontest.UnitTest;
+import lombok.experimental.NonFinal;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpContainerIndexTest implements UnitTest {
+
+    @Test
+    void find__should_load_containers_once_and_filter_locally() {
+        var lists = new AtomicInteger();
+        var subject = new HttpContainerIndex(
+                new FakeEvents(),
+                () -> {
+                    lists.incrementAndGet();
+                    return List.of(
+                            container("a1", "mongo", "running", Map.of("hash", "1")),
+                            container("b2", "redis", "exited", Map.of("hash", "2"))
+                    );
+                },
+                id -> Optional.empty()
+        );
+
+        assertThat(ids(subject.find(new HtHttpListContainersSpec()))).containsExactly("a1");
+        assertThat(ids(subject.find(new HtHttpListContainersSpec().withAll().withLabelFilter("hash", "2"))))
+                .containsExactly("b2");
+        assertThat(ids(subject.find(new HtHttpListContainersSpec().withAll().withNameFilter("mon"))))
+                .containsExactly("a1");
+        assertThat(lists).hasValue(1);
+    }
+
+    @Test
+    void find__when_container_events_received__then_index_updated() {
+        var events = new FakeEvents();
+        var loaded = new ConcurrentHashMap<String, Map<String, Object>>();
+        var subject = new HttpContainerIndex(
+                events,
+                () -> List.of(container("a1", "mongo", "running", Map.of())),
+                id -> Optional.ofNullable(loaded.get(id))
+        );
+        assertThat(subject.size()).isEqualTo(1);
+
+        loaded.put("c3", container("c3", "new", "running", Map.of("hash", "3")));
+        events.emit("start", "c3");
+        events.emit("destroy", "a1");
+
+        assertThat(ids(subject.find(new HtHttpListContainersSpec().withLabelFilter("hash")))).containsExactly("c3");
+        assertThat(subject.size()).isEqualTo(1);
+        assertThat(events.spec.url()).isEqualTo("/events?filters={\"type\":[\"container\"]}");
+    }
+
+    @Test
+    void find__when_event_stream_fails__then_start_again_on_next_use() {
+        var events = new FakeEvents();
+        var lists = new AtomicInteger();
+        var subject = new HttpContainerIndex(
+                events,
+                () -> {
+                    lists.incrementAndGet();
+                    return List.of();
+                },
+                id -> Optional.empty()
+        );
+        subject.find(new HtHttpListContainersSpec());
+
+        events.subscription.completion().completeExceptionally(new IllegalStateException("daemon restarted"));
+        subject.find(new HtHttpListContainersSpec());
+
+        assertThat(lists).hasValue(2);
+    }
+
+    @Test
+    void json_event__should_read_docker_event_fields() {
+        var event = new JsonHtEvent(Map.of(
+                "Type", "container",
+                "Action", "start",
+                "Actor", Map.of("ID", "a1", "Attributes", Map.of("name", "mongo")),
+                "time", 1700000000L,
+                "timeNano", 1700000000123456789L
+        ));
+
+        assertThat(event.type()).isEqualTo("container");
+        assertThat(event.action()).isEqualTo("start");
+        assertThat(event.actorId()).isEqualTo("a1");
+        assertThat(event.attributes()).containsEntry("name", "mongo");
+        assertThat(event.time()).isEqualTo(Instant.ofEpochSecond(1700000000L, 123456789L));
+    }
+
+    private static List<Object> ids(List<Map<String, Object>> containers) {
+        return containers.stream().map(container -> container.get("Id")).collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> container(String id, String name, String state, Map<String, String> labels) {
+        return Map.of(
+                "Id", id,
+                "Names", List.of("/" + name),
+                "State", state,
+                "Labels", labels
+        );
+    }
+
+    private static final class FakeEvents implements HtEvents {
+
+        @NonFinal
+        @Nullable
+        Consumer<HtEvent> listener;
+        @NonFinal
+        @Nullable
+        HttpEventsSpec spec;
+        @NonFinal
+        @Nullable
+        FakeSubscription subscription;
+
+        @Override
+        public HtEventSubscription subscribe(Consumer<HtEvent> listener) {
+            return subscribe(spec -> {
+            }, listener);
+        }
+
+        @Override
+        public HtEventSubscription subscribe(Consumer<HtEventsSpec> specAction, Consumer<HtEvent> listener) {
+            this.spec = new HttpEventsSpec();
+            specAction.accept(spec);
+            this.listener = listener;
+            this.subscription = new FakeSubscription();
+            return subscription;
+        }
+
+        void emit(String action, String id) {
+            listener.accept(new JsonHtEvent(Map.of(
+                    "Type", "container",
+                    "Action", action,
+                    "Actor", Map.of("ID", id),
+                    "time", 1L
+            )));
+        }
+    }
+
+    private static final class FakeSubscription implements HtEventSubscription {
+
+        CompletableFuture<Void> opened = CompletableFuture.completedFuture(null);
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        @Override
+        public CompletableFuture<Void> opened() {
+            return opened;
+        }
+
+        @Override
+        public CompletableFuture<Void> completion() {
+            return completion;
+        }
+
+        @Override
+        public void close() {
+            completion.complete(null);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.image.HtImgName;
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpImagesTest implements UnitTest {
+
+    @Test
+    void pull_spec__url__should_encode_image_and_platform() {
+        var subject = new HttpPullImagesSpec(HtImgName.of("ghcr.io/org/app:1.0"))
+                .withPlatformString("linux/amd64");
+
+        assertThat(subject.url())
+                .isEqualTo("/images/create?fromImage=ghcr.io%2Forg%2Fapp&tag=1.0&platform=linux%2Famd64");
+    }
+
+    @Test
+    void pull_spec__url__when_all_tags__then_omit_tag() {
+        var subject = new HttpPullImagesSpec(HtImgName.of("mongo:4.4")).withAllTags();
+
+        assertThat(subject.url()).isEqualTo("/images/create?fromImage=mongo");
+    }
+
+    @Test
+    void to_progress__should_read_layer_progress_detail() {
+        var progress = HttpPullImages.toProgress(
+                Map.of(
+                        "status", "Downloading",
+                        "id", "a1b2c3",
+                        "progressDetail", Map.of("current", 1024, "total", 4096)
+                ),
+                "Downloading"
+        );
+
+        assertThat(progress.layerId()).isEqualTo("a1b2c3");
+        assertThat(progress.current()).isEqualTo(1024L);
+        assertThat(progress.total()).isEqualTo(4096L);
+        assertThat(progress).hasToString("a1b2c3: Downloading");
+    }
+
+    @Test
+    void to_progress__when_no_layer_or_detail__then_empty_values() {
+        var progress = HttpPullImages.toProgress(Map.of("status", "Digest: sha256:abc"), "Digest: sha256:abc");
+
+        assertThat(progress.layerId()).isEmpty();
+        assertThat(progress.current()).isZero();
+        assertThat(progress.total()).isZero();
+    }
+
+    @Test
+    void list_spec__url__should_include_filters() {
+        var subject = new HttpListImagesSpec()
+                .withAll()
+                .withFilterByReference("mongo")
+                .withFilterByLabel("a", "b")
+                .withFilterByDangling(false);
+
+        assertThat(subject.url())
+                .startsWith("/images/json?all=true&filters={")
+                .contains("\"reference\":[\"mongo\"]", "\"label\":[\"a=b\"]", "\"dangling\":[\"false\"]");
+    }
+
+    @Test
+    void rm_spec__url__should_include_flags() {
+        var subject = new HttpRmImagesSpec(List.of(HtImgName.of("mongo:4.4"))).withForce().withNoPrune();
+
+        assertThat(subject.toUrl(subject.imageNames().get(0)).url())
+                .isEqualTo("/images/mongo:4.4?force=true&noprune=true");
+    }
+}
@@ -0,0 +1,198 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.container.HtContainer;
+import io.huskit.containers.api.container.HtJsonContainer;
+import io.huskit.containers.integration.HealthWatch;
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpInspectCacheTest implements UnitTest {
+
+    @Test
+    void get__when_inspect_in_flight__then_share_single_request() {
+        var pending = new CompletableFuture<HtContainer>();
+        var loads = new AtomicInteger();
+        var subject = new HttpInspectCache(Duration.ZERO, null);
+        Function<String, CompletableFuture<HtContainer>> loader = id -> {
+            loads.incrementAndGet();
+            return pending;
+        };
+
+        var first = subject.get("a1", loader);
+        var second = subject.get("a1", loader);
+        pending.complete(container("a1"));
+
+        assertThat(first.join().id()).isEqualTo("a1");
+        assertThat(second.join().id()).isEqualTo("a1");
+        assertThat(loads).hasValue(1);
+        assertThat(subject.hits()).isEqualTo(1);
+        assertThat(subject.misses()).isEqualTo(1);
+        subject.get("a1", loader);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get__when_ttl_passed__then_load_again() {
+        var clock = new AtomicLong();
+        var loads = new AtomicInteger();
+        var subject = new HttpInspectCache(Duration.ofSeconds(1), null, clock::get);
+        Function<String, CompletableFuture<HtContainer>> loader = id -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(container(id));
+        };
+
+        subject.get("a1", loader).join();
+        clock.addAndGet(Duration.ofMillis(999).toNanos());
+        subject.get("a1", loader).join();
+        assertThat(loads).hasValue(1);
+
+        clock.addAndGet(Duration.ofMillis(1).toNanos());
+        subject.get("a1", loader).join();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get__when_load_failed__then_do_not_cache_failure() {
+        var loads = new AtomicInteger();
+        var subject = new HttpInspectCache(Duration.ofMinutes(1), null);
+        Function<String, CompletableFuture<HtContainer>> failing = id -> {
+            loads.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("No such container"));
+        };
+
+        assertThatThrownBy(() -> subject.get("a1", failing).join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+        subject.get("a1", id -> CompletableFuture.completedFuture(container(id))).join();
+
+        assertThat(loads).hasValue(1);
+        assertThat(subject.misses()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidate__should_drop_results_requested_by_name_or_id_prefix() {
+        var loads = new AtomicInteger();
+        var subject = new HttpInspectCache(Duration.ofMinutes(1), null);
+        Function<String, CompletableFuture<HtContainer>> loader = key -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(container("a1b2c3"));
+        };
+        subject.get("mongo", loader).join();
+        subject.get("a1b2", loader).join();
+
+        subject.invalidate("a1b2c3");
+        subject.get("mongo", loader).join();
+        subject.get("a1b2", loader).join();
+
+        assertThat(loads).hasValue(4);
+        assertThat(subject.hits()).isZero();
+    }
+
+    @Test
+    void get__when_returned_future_cancelled__then_other_callers_not_affected() {
+        var pending = new CompletableFuture<HtContainer>();
+        var subject = new HttpInspectCache(Duration.ofMinutes(1), null);
+
+        subject.get("a1", id -> pending).cancel(true);
+        var second = subject.get("a1", id -> pending);
+        pending.complete(container("a1"));
+
+        assertThat(second.join().id()).isEqualTo("a1");
+    }
+
+    @Test
+    void invalidate__when_event_id_starts_like_cached_name__then_keep_result_of_other_container() {
+        var loads = new AtomicInteger();
+        var subject = new HttpInspectCache(Duration.ofMinutes(1), null);
+        Function<String, CompletableFuture<HtContainer>> loader = key -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(container("ffee00"));
+        };
+        subject.get("cafe", loader).join();
+
+        subject.invalidate("cafe0123");
+        subject.get("cafe", loader).join();
+
+        assertThat(loads).hasValue(1);
+        assertThat(subject.hits()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidate__when_inspect_by_id_prefix_in_flight__then_do_not_cache_its_result() {
+        var pending = new CompletableFuture<HtContainer>();
+        var loads = new AtomicInteger();
+        var subject = new HttpInspectCache(Duration.ofMinutes(1), null);
+        Function<String, CompletableFuture<HtContainer>> loader = key -> {
+            loads.incrementAndGet();
+            return pending;
+        };
+        var inFlight = subject.get("a1b2", loader);
+
+        subject.invalidate("a1b2c3");
+        pending.complete(container("a1b2c3"));
+        subject.get("a1b2", id -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(container("a1b2c3"));
+        }).join();
+
+        assertThat(inFlight.join().id()).isEqualTo("a1b2c3");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void default_docker_spec__should_only_share_in_flight_inspects() {
+        var subject = new DfHtHttpDockerSpec().inspectCache();
+        var loads = new AtomicInteger();
+
+        subject.get("a1", id -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(container("a1"));
+        }).join();
+        subject.get("a1", id -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(container("a1"));
+        }).join();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void health_watch__when_cached_inspect_is_stale_and_no_event_follows__then_reads_fresh_state() throws Exception {
+        var daemon = new FakeDockerDaemon(request -> {
+            switch (request) {
+                case "GET /events":
+                    return "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n";
+                case "GET /containers/c1/json":
+                    return FakeDockerDaemon.response(200, "{\"Id\":\"c1\",\"State\":"
+                            + "{\"Running\":true,\"Status\":\"running\",\"Health\":{\"Status\":\"healthy\"}}}");
+                default:
+                    throw new IllegalArgumentException(request);
+            }
+        });
+        var dockerSpec = new FakeHttpDockerSpec(daemon, new HttpInspectCache(Duration.ofMinutes(1), null));
+        dockerSpec.inspectCache().get("c1", id -> CompletableFuture.completedFuture(new HtJsonContainer(Map.of(
+                "Id", "c1",
+                "State", Map.of("Running", true, "Status", "running", "Health", Map.of("Status", "starting"))
+        )))).join();
+        var subject = new HealthWatch(new HttpEvents(dockerSpec), new HtHttpContainers(dockerSpec));
+
+        subject.await("c1", Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS);
+
+        assertThat(daemon.received()).contains("GET /containers/c1/json");
+        assertThat(new HttpInspect(dockerSpec).inspect("c1").state().healthStatus()).contains("starting");
+    }
+
+    private static HtContainer container(String id) {
+        return new HtJsonContainer(Map.of("Id", id));
+    }
+}
@@ -0,0 +1,93 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.container.logs.LookFor;
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpReadinessWatchTest implements UnitTest {
+
+    @Test
+    void start__when_line_matched__then_complete() {
+        var stream = new CompletableFuture<Void>();
+        var subject = new HttpReadinessWatch(
+                "c1",
+                LookFor.word("ready"),
+                () -> stream,
+                () -> CompletableFuture.completedFuture(Optional.empty())
+        );
+
+        var result = subject.start();
+        assertThat(result).isNotDone();
+        stream.complete(null);
+
+        assertThat(result).isCompleted();
+    }
+
+    @Test
+    void start__when_container_exits__then_fail_with_exit_code() {
+        var stream = new CompletableFuture<Void>();
+        var subject = new HttpReadinessWatch(
+                "c1",
+                LookFor.word("ready"),
+                () -> stream,
+                () -> CompletableFuture.completedFuture(Optional.of(137))
+        );
+
+        var result = subject.start();
+        stream.completeExceptionally(new IllegalStateException("Log stream ended before matching line was found"));
+
+        assertThatThrownBy(result::join)
+                .cause()
+                .hasMessage("Container [c1] exited with code [137] before matching line was logged")
+                .hasRootCauseMessage("Log stream ended before matching line was found");
+    }
+
+    @Test
+    void start__when_timeout_passes__then_fail_and_abort_stream() {
+        var stream = new CompletableFuture<Void>();
+        var subject = new HttpReadinessWatch(
+                "c1",
+                LookFor.word("ready").withTimeout(Duration.ofMillis(20)),
+                () -> stream,
+                () -> CompletableFuture.completedFuture(Optional.empty())
+        );
+
+        var result = subject.start();
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .cause()
+                .hasMessage("Container [c1] did not log matching line within PT0.02S");
+        assertThat(stream).isCancelled();
+    }
+
+    @Test
+    void start__when_cancelled__then_abort_stream() {
+        var stream = new CompletableFuture<Void>();
+        var subject = new HttpReadinessWatch(
+                "c1",
+                LookFor.word("ready"),
+                () -> stream,
+                () -> CompletableFuture.completedFuture(Optional.empty())
+        );
+
+        subject.start().cancel(true);
+
+        assertThat(stream).isCancelled();
+    }
+
+    @Test
+    void exit_code_if_stopped__should_read_state() {
+        assertThat(HttpReadinessWatch.exitCodeIfStopped(Map.of("State", Map.of("Running", true)))).isEmpty();
+        assertThat(HttpReadinessWatch.exitCodeIfStopped(Map.of("State", Map.of("Running", false, "ExitCode", 1))))
+                .contains(1);
+    }
+}
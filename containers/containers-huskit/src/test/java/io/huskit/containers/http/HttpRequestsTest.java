@@ -0,0 +1,90 @@
+package io.huskit.containers.http;
+
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpRequestsTest implements UnitTest {
+
+    HttpRequests subject = new HttpRequests();
+
+    @Test
+    void get__should_encode_request_without_body() {
+        var request = subject.get(HtUrl.of("/containers/json?all=true"));
+
+        assertThat(new String(request.body(), StandardCharsets.UTF_8)).isEqualTo(
+                "GET /containers/json?all=true HTTP/1.1\r\n"
+                        + "Host: localhost\r\n"
+                        + "Connection: keep-alive\r\n"
+                        + "Content-Type: application/json\r\n"
+                        + "\r\n"
+        );
+    }
+
+    @Test
+    void post__should_compute_content_length_from_encoded_body() {
+        var request = subject.post(new HtUrl() {
+
+            @Override
+            public String url() {
+                return "/containers/create";
+            }
+
+            @Override
+            public Map<String, Object> body() {
+                return Map.of("Image", "ałpine");
+            }
+        });
+
+        assertThat(new String(request.body(), StandardCharsets.UTF_8)).isEqualTo(
+                "POST /containers/create HTTP/1.1\r\n"
+                        + "Host: localhost\r\n"
+                        + "Connection: keep-alive\r\n"
+                        + "Content-Type: application/json\r\n"
+                        + "Content-Length: 19\r\n"
+                        + "\r\n"
+                        + "{\"Image\":\"ałpine\"}"
+        );
+    }
+
+    @Test
+    void post__buffers_should_share_body_without_copy() {
+        var body = "{}".getBytes(StandardCharsets.UTF_8);
+
+        var buffers = subject.post(HtUrl.of("/exec"), body).buffers();
+
+        var bodyBuffer = buffers[buffers.length - 1];
+        assertThat(bodyBuffer.remaining()).isEqualTo(2);
+        assertThat(bodyBuffer.isReadOnly()).isTrue();
+        body[0] = '[';
+        assertThat(bodyBuffer.get(0)).isEqualTo((byte) '[');
+    }
+
+    @Test
+    void buffers__should_be_fresh_for_each_call() {
+        var request = subject.get(HtUrl.of("/_ping"));
+        for (var buffer : request.buffers()) {
+            buffer.position(buffer.limit());
+        }
+
+        var total = 0;
+        for (ByteBuffer buffer : request.buffers()) {
+            total += buffer.remaining();
+        }
+
+        assertThat(total).isEqualTo(request.body().length);
+    }
+
+    @Test
+    void gathering_request__when_no_parts__then_fail() {
+        assertThatThrownBy(GatheringHttpRequest::new)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Request must have at least one part");
+    }
+}
@@ -0,0 +1,196 @@
+package io.huskit.containers.http;
+
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpResponseParserTest implements UnitTest {
+
+    String head = "HTTP/1.1 200 OK\r\n"
+            + "Api-Version: 1.46\r\n"
+            + "Content-Type: application/json\r\n"
+            + "Docker-Experimental: false\r\n"
+            + "Server: Docker/27.0.3 (linux)\r\n";
+
+    @Test
+    void parse_head__when_fed_whole__then_status_and_headers_parsed() {
+        var subject = new HttpResponseParser();
+
+        var parsed = subject.parseHead(bytes(head + "Content-Length: 0\r\n\r\n"));
+
+        assertThat(parsed).isTrue();
+        assertThat(subject.head().status()).isEqualTo(200);
+        assertThat(subject.head().headers())
+                .containsEntry("Api-Version", "1.46")
+                .containsEntry("Content-Type", "application/json")
+                .containsEntry("Docker-Experimental", "false")
+                .containsEntry("Server", "Docker/27.0.3 (linux)")
+                .containsEntry("Content-Length", "0")
+                .hasSize(5);
+        assertThat(subject.isComplete()).isTrue();
+        assertThat(subject.isDelimited()).isTrue();
+    }
+
+    @Test
+    void parse_head__headers_are_case_insensitive() {
+        var subject = new HttpResponseParser();
+
+        subject.parseHead(bytes("HTTP/1.1 200 OK\r\ntransfer-encoding: chunked\r\n\r\n"));
+
+        assertThat(subject.head().isChunked()).isTrue();
+    }
+
+    @Test
+    void parse_head__when_fed_byte_by_byte__then_same_result() {
+        var subject = new HttpResponseParser();
+        var bytes = (head + "Content-Length: 0\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        var parsed = false;
+
+        for (var b : bytes) {
+            assertThat(parsed).isFalse();
+            parsed = subject.parseHead(ByteBuffer.wrap(new byte[]{b}));
+        }
+
+        assertThat(parsed).isTrue();
+        assertThat(subject.head().status()).isEqualTo(200);
+        assertThat(subject.head().headers()).hasSize(5);
+    }
+
+    @Test
+    void parse_head__when_invalid_status_line__then_throw() {
+        var subject = new HttpResponseParser();
+
+        assertThatThrownBy(() -> subject.parseHead(bytes("1\r\n")))
+                .hasMessageContaining("Invalid status line: 1");
+    }
+
+    @Test
+    void parse_head__when_invalid_header_line__then_throw() {
+        var subject = new HttpResponseParser();
+
+        assertThatThrownBy(() -> subject.parseHead(bytes("HTTP/1.1 200 OK\r\nno colon here\r\n")))
+                .hasMessageContaining("Invalid header line: no colon here");
+    }
+
+    @Test
+    void body__when_content_length__then_return_slices_without_copy() {
+        var subject = new HttpResponseParser();
+        var buffer = bytes(head + "Content-Length: 5\r\n\r\nHello");
+        subject.parseHead(buffer);
+        var bodyStart = buffer.position();
+
+        var slice = subject.nextBodySlice(buffer);
+
+        assertThat(slice.remaining()).isEqualTo(5);
+        assertThat(slice.array()).isSameAs(buffer.array());
+        assertThat(slice.arrayOffset()).isEqualTo(bodyStart);
+        assertThat(StandardCharsets.UTF_8.decode(slice).toString()).isEqualTo("Hello");
+        assertThat(subject.isComplete()).isTrue();
+    }
+
+    @Test
+    void body__when_chunked_and_split_across_reads__then_dechunked() {
+        var subject = new HttpResponseParser();
+        var response = "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n"
+                + "5\r\nHello\r\n"
+                + "A;name=value\r\n, World!!!\r\n"
+                + "0\r\n"
+                + "Some-Trailer: value\r\n"
+                + "\r\n";
+
+        var body = feedInParts(subject, response.getBytes(StandardCharsets.UTF_8), 3);
+
+        assertThat(new String(body, StandardCharsets.UTF_8)).isEqualTo("Hello, World!!!");
+        assertThat(subject.isComplete()).isTrue();
+        assertThat(subject.isDelimited()).isTrue();
+    }
+
+    @Test
+    void body__when_invalid_chunk_size__then_throw() {
+        var subject = new HttpResponseParser();
+        var buffer = bytes("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\nzz\r\n");
+        subject.parseHead(buffer);
+
+        assertThatThrownBy(() -> subject.nextBodySlice(buffer))
+                .hasMessageContaining("Invalid chunk size: zz");
+    }
+
+    @Test
+    void body__when_no_length__then_read_until_eof() {
+        var subject = new HttpResponseParser();
+        var buffer = bytes("HTTP/1.1 200 OK\r\n\r\nsome");
+        subject.parseHead(buffer);
+
+        var slice = subject.nextBodySlice(buffer);
+        subject.onEof();
+
+        assertThat(slice.remaining()).isEqualTo(4);
+        assertThat(subject.isComplete()).isTrue();
+        assertThat(subject.isDelimited()).isFalse();
+    }
+
+    @Test
+    void body__when_eof_before_content_length__then_throw() {
+        var subject = new HttpResponseParser();
+        var buffer = bytes("HTTP/1.1 200 OK\r\nContent-Length: 10\r\n\r\nsome");
+        subject.parseHead(buffer);
+        subject.nextBodySlice(buffer);
+
+        assertThatThrownBy(subject::onEof)
+                .hasMessageContaining("closed connection");
+    }
+
+    @Test
+    void body__when_large_chunked_response__then_parsed_in_single_pass() {
+        var subject = new HttpResponseParser();
+        var payload = "x".repeat(1024 * 1024).getBytes(StandardCharsets.UTF_8);
+        var response = new ByteArrayOutputStream();
+        response.writeBytes("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+        for (var offset = 0; offset < payload.length; offset += 8000) {
+            var length = Math.min(8000, payload.length - offset);
+            response.writeBytes((Integer.toHexString(length) + "\r\n").getBytes(StandardCharsets.UTF_8));
+            response.write(payload, offset, length);
+            response.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+        }
+        response.writeBytes("0\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+
+        var body = feedInParts(subject, response.toByteArray(), 4096);
+
+        assertThat(body).isEqualTo(payload);
+    }
+
+    private byte[] feedInParts(HttpResponseParser subject, byte[] response, int partSize) {
+        var body = new ByteArrayOutputStream();
+        var buffer = ByteBuffer.allocate(partSize).flip();
+        var offset = 0;
+        var headParsed = false;
+        while (!subject.isComplete()) {
+            if (!buffer.hasRemaining()) {
+                assertThat(offset).isLessThan(response.length);
+                var length = Math.min(partSize, response.length - offset);
+                buffer.clear();
+                buffer.put(response, offset, length).flip();
+                offset += length;
+            }
+            if (!headParsed) {
+                headParsed = subject.parseHead(buffer);
+                continue;
+            }
+            var slice = subject.nextBodySlice(buffer);
+            var bytes = new byte[slice.remaining()];
+            slice.get(bytes);
+            body.writeBytes(bytes);
+        }
+        return body.toByteArray();
+    }
+
+    private ByteBuffer bytes(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,160 @@
+package io.huskit.containers.http;
+
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static io.huskit.containers.http.FakeDockerDaemon.response;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpRunTest implements UnitTest {
+
+    @Test
+    void exec__when_image_missing_and_pull_enabled__then_pull_and_repeat_create() {
+        var creates = new AtomicInteger();
+        var daemon = new FakeDockerDaemon(request -> {
+            switch (request) {
+                case "GET /images/alpine:latest/json":
+                    return response(404, "{\"message\":\"No such image\"}");
+                case "POST /containers/create":
+                    return creates.incrementAndGet() == 1
+                            ? response(404, "{\"message\":\"No such image\"}")
+                            : response(201, "{\"Id\":\"c1\"}");
+                case "POST /images/create":
+                    return response(200, "{\"status\":\"Downloaded newer image\"}\n");
+                case "POST /containers/c1/start":
+                    return response(204, "");
+                default:
+                    throw new IllegalArgumentException(request);
+            }
+        });
+
+        var container = subject(daemon, HttpRunSpec::withPullIfMissing).exec();
+
+        assertThat(container.id()).isEqualTo("c1");
+        assertThat(daemon.received()).containsSubsequence(
+                "POST /containers/create",
+                "POST /images/create",
+                "POST /containers/create",
+                "POST /containers/c1/start"
+        );
+        assertThat(daemon.pool().leasedCount()).isZero();
+    }
+
+    @Test
+    void exec__when_image_missing_and_pull_not_enabled__then_fail_like_create_and_release_connection() {
+        var daemon = new FakeDockerDaemon(request -> response(404, "{\"message\":\"No such image\"}"));
+
+        assertThatThrownBy(() -> subject(daemon, spec -> {
+        }).exec())
+                .hasMessageContaining("expected '201' but got '404'");
+        assertThat(daemon.received()).containsExactly("POST /containers/create");
+        assertThat(daemon.pool().leasedCount()).isZero();
+    }
+
+    @Test
+    void exec__should_attach_to_container_before_start() {
+        var daemon = new FakeDockerDaemon(request -> {
+            switch (request) {
+                case "POST /containers/create":
+                    return response(201, "{\"Id\":\"c1\"}");
+                case "POST /containers/c1/attach":
+                    return "HTTP/1.1 200 OK\r\n"
+                            + "Content-Type: application/vnd.docker.multiplexed-stream\r\n\r\n"
+                            + "\u0001\u0000\u0000\u0000\u0000\u0000\u0000\u0006ready\n";
+                case "POST /containers/c1/start":
+                    return response(204, "");
+                default:
+                    throw new IllegalArgumentException(request);
+            }
+        });
+
+        var container = subject(daemon, spec -> spec.withLookFor("ready")).exec();
+
+        assertThat(container.id()).isEqualTo("c1");
+        assertThat(daemon.issued()).containsSubsequence("POST /containers/c1/attach", "POST /containers/c1/start");
+        assertThat(daemon.pool().leasedCount()).isZero();
+    }
+
+    @Test
+    void exec__when_start_fails__then_cancel_readiness_watch_and_release_connections() throws Exception {
+        var isAttached = new CountDownLatch(1);
+        var daemon = new FakeDockerDaemon(request -> {
+            switch (request) {
+                case "POST /containers/create":
+                    return response(201, "{\"Id\":\"c1\"}");
+                case "POST /containers/c1/attach":
+                    isAttached.countDown();
+                    return null;
+                case "POST /containers/c1/start":
+                    await(isAttached);
+                    return response(500, "{\"message\":\"port is already allocated\"}");
+                default:
+                    throw new IllegalArgumentException(request);
+            }
+        });
+
+        assertThatThrownBy(() -> subject(daemon, spec -> spec.withLookFor("ready")).exec())
+                .hasMessageContaining("expected '204' but got '500'");
+        var attach = daemon.channel("POST /containers/c1/attach");
+        assertThat(attach.isClosed().await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(daemon.pool().leasedCount()).isZero();
+    }
+
+    @Test
+    void run_clock__should_measure_each_stage_from_its_start_to_its_end() throws Exception {
+        var subject = new HttpRun.RunClock();
+        var create = new CompletableFuture<String>();
+        var start = new CompletableFuture<Void>();
+
+        subject.measure(HttpRun.RunClock.CREATE, create);
+        Thread.sleep(20);
+        create.complete("c1");
+        subject.measure(HttpRun.RunClock.START, start);
+        start.complete(null);
+        var timings = subject.timings();
+
+        assertThat(timings.create()).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+        assertThat(timings.start()).isLessThan(timings.create());
+        assertThat(timings.total()).isGreaterThanOrEqualTo(timings.create());
+    }
+
+    @Test
+    void run_clock__when_stage_did_not_happen_or_did_not_end__then_zero() {
+        var subject = new HttpRun.RunClock();
+        subject.measure(HttpRun.RunClock.READY, new CompletableFuture<Void>());
+
+        var timings = subject.timings();
+
+        assertThat(timings.pull()).isZero();
+        assertThat(timings.ready()).isZero();
+        assertThat(timings.toString()).startsWith("imageCheck=0ms, pull=0ms, create=0ms");
+    }
+
+    private HttpRun subject(FakeDockerDaemon daemon, Consumer<HttpRunSpec> specAction) {
+        var dockerSpec = new FakeHttpDockerSpec(daemon);
+        var spec = new HttpRunSpec("alpine:latest");
+        specAction.accept(spec);
+        return new HttpRun(
+                dockerSpec,
+                new HttpCreate(dockerSpec, spec.createSpec(), new HttpInspect(dockerSpec)),
+                spec,
+                containerId -> new HttpStart(dockerSpec, new HttpStartSpec(), containerId)
+        );
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.huskit.containers.http;
+
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpVolumesTest implements UnitTest {
+
+    @Test
+    void list_spec__url__should_include_filters() {
+        var subject = new HttpListVolumesSpec()
+                .withFilterByDangling(true)
+                .withFilterByLabel("owner", "huskit");
+
+        assertThat(subject.url())
+                .startsWith("/volumes?filters={")
+                .contains("\"dangling\":[\"true\"]")
+                .contains("\"label\":[\"owner=huskit\"]");
+    }
+
+    @Test
+    void list_spec__url__when_no_filters__then_no_parameters() {
+        assertThat(new HttpListVolumesSpec().url()).isEqualTo("/volumes");
+    }
+
+    @Test
+    void prune_spec__url__when_all__then_add_all_filter() {
+        var subject = new HttpPruneVolumesSpec().withAll();
+
+        assertThat(subject.url()).isEqualTo("/volumes/prune?filters={\"all\":[\"true\"]}");
+    }
+
+    @Test
+    void create_spec__body__should_include_name_driver_options_and_labels() {
+        var subject = new HttpCreateVolumeSpec("data")
+                .withDriver("local")
+                .withDriverOpts("type", "tmpfs")
+                .withLabel("marker")
+                .withLabel("owner", "huskit");
+
+        assertThat(subject.url()).isEqualTo("/volumes/create");
+        assertThat(subject.body())
+                .containsEntry("Name", "data")
+                .containsEntry("Driver", "local")
+                .containsEntry("DriverOpts", Map.of("type", "tmpfs"))
+                .containsEntry("Labels", Map.of("marker", "", "owner", "huskit"));
+    }
+
+    @Test
+    void names__when_empty_or_blank__then_throw() {
+        assertThatThrownBy(() -> HttpVolumes.names(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HttpVolumes.names(List.of("a", " ")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void failure__should_list_failed_volumes_and_keep_causes() {
+        var failures = new LinkedHashMap<String, Throwable>();
+        failures.put("v1", new IllegalStateException("in use"));
+        failures.put("v3", new IllegalStateException("no such volume"));
+
+        var exception = HttpVolumes.failure("remove", 8, failures);
+
+        assertThat(exception).hasMessage("Failed to remove 2 of 10 volumes: [v1, v3]");
+        assertThat(exception.getSuppressed()).hasSize(2);
+    }
+}
@@ -0,0 +1,92 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.container.logs.LookFor;
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MultiplexedStreamDecoderTest implements UnitTest {
+
+    @Test
+    void decode__when_fed_byte_by_byte__then_payloads_split_by_stream() {
+        var subject = new MultiplexedStreamDecoder(16);
+        var bytes = frames(frame(1, "out1\n"), frame(2, "err1\n"), frame(1, ""), frame(1, "out2\n"));
+
+        for (var b : bytes) {
+            subject.decode(ByteBuffer.wrap(new byte[]{b}));
+        }
+
+        assertThat(subject.stdOut().toString()).isEqualTo("out1\nout2\n");
+        assertThat(subject.stdErr().toString()).isEqualTo("err1\n");
+    }
+
+    @Test
+    void decode__when_large_payload__then_copied_whole() {
+        var subject = new MultiplexedStreamDecoder(16);
+        var payload = "x".repeat(100_000);
+
+        subject.decode(ByteBuffer.wrap(frame(1, payload)));
+
+        assertThat(subject.stdOut().toString()).isEqualTo(payload);
+    }
+
+    @Test
+    void decode_until_match__when_line_split_across_frames__then_found() {
+        var subject = new MultiplexedStreamDecoder(16);
+        var slice = ByteBuffer.wrap(frames(frame(1, "starting\nre"), frame(1, "ady\r\n"), frame(1, "after\n")));
+
+        var found = subject.decodeUntilMatch(slice, LookFor.word("ready"));
+
+        assertThat(found).isTrue();
+        assertThat(subject.stdOut().toString()).isEqualTo("starting\nready\r\n");
+        assertThat(slice.hasRemaining()).isTrue();
+    }
+
+    @Test
+    void decode_until_match__when_match_only_in_other_stream__then_not_found() {
+        var subject = new MultiplexedStreamDecoder(16);
+
+        var found = subject.decodeUntilMatch(
+                ByteBuffer.wrap(frames(frame(2, "ready\n"), frame(1, "not yet\n"))),
+                LookFor.word("ready").onlyInStdOut()
+        );
+
+        assertThat(found).isFalse();
+        assertThat(subject.stdErr().toString()).isEqualTo("ready\n");
+    }
+
+    @Test
+    void decode__when_frame_size_overflows__then_throw() {
+        var subject = new MultiplexedStreamDecoder(16);
+        var header = new byte[]{1, 0, 0, 0, (byte) 0xFF, 0, 0, 0};
+
+        assertThatThrownBy(() -> subject.decode(ByteBuffer.wrap(header)))
+                .hasMessageContaining("Invalid multiplexed stream frame size");
+    }
+
+    private byte[] frames(byte[]... frames) {
+        var out = new ByteArrayOutputStream();
+        for (var frame : frames) {
+            out.write(frame, 0, frame.length);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] frame(int streamType, String payload) {
+        var payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        var frame = new byte[8 + payloadBytes.length];
+        frame[0] = (byte) streamType;
+        frame[4] = (byte) (payloadBytes.length >>> 24);
+        frame[5] = (byte) (payloadBytes.length >>> 16);
+        frame[6] = (byte) (payloadBytes.length >>> 8);
+        frame[7] = (byte) payloadBytes.length;
+        System.arraycopy(payloadBytes, 0, frame, 8, payloadBytes.length);
+        return frame;
+    }
+}
@@ -0,0 +1,90 @@
+package io.huskit.containers.http;
+
+import io.huskit.containers.api.container.HtContainer;
+import io.huskit.containers.api.container.HtInspectException;
+import io.huskit.containers.api.container.HtJsonContainer;
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelBatchTest implements UnitTest {
+
+    @Test
+    void start__when_completed_out_of_order__then_keep_input_order_and_limit_in_flight() {
+        var pending = new ConcurrentHashMap<String, CompletableFuture<HtContainer>>();
+        var inFlight = new AtomicInteger();
+        var maxInFlight = new AtomicInteger();
+        var ids = IntStream.range(0, 10).mapToObj(i -> "c" + i).collect(Collectors.toList());
+        var subject = new ParallelBatch<HtContainer>(ids, id -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            var future = new CompletableFuture<HtContainer>();
+            pending.put(id, future);
+            return future;
+        }, 3, HtInspectException::new);
+
+        var result = subject.start();
+        while (!result.isDone()) {
+            var started = new ArrayList<>(pending.keySet());
+            started.sort(null);
+            var last = started.get(started.size() - 1);
+            inFlight.decrementAndGet();
+            pending.remove(last).complete(container(last));
+        }
+
+        assertThat(ids(result.join())).isEqualTo(ids);
+        assertThat(maxInFlight).hasValue(3);
+    }
+
+    @Test
+    void start__when_some_inspects_fail__then_report_each_failure_with_other_results() {
+        var subject = new ParallelBatch<HtContainer>(List.of("a", "missing", "b"), id -> "missing".equals(id)
+                ? CompletableFuture.failedFuture(new IllegalStateException("No such container"))
+                : CompletableFuture.completedFuture(container(id)), 2, HtInspectException::new);
+
+        assertThatThrownBy(() -> subject.start().join())
+                .cause()
+                .isInstanceOfSatisfying(HtInspectException.class, e -> {
+                    assertThat(ids(e.containers())).containsExactly("a", "b");
+                    assertThat(e.failures()).containsOnlyKeys("missing");
+                    assertThat(e.failures().get("missing")).hasMessage("No such container");
+                });
+    }
+
+    @Test
+    void start__when_results_available_right_away__then_complete_large_batch_without_deep_recursion() {
+        var ids = IntStream.range(0, 100_000).mapToObj(String::valueOf).collect(Collectors.toList());
+        var subject = new ParallelBatch<HtContainer>(
+                ids, id -> CompletableFuture.completedFuture(container(id)), 1, HtInspectException::new
+        );
+
+        assertThat(subject.start().join()).hasSize(ids.size());
+    }
+
+    @Test
+    void start__when_no_ids__then_empty_list() {
+        var subject = new ParallelBatch<HtContainer>(List.of(), id -> {
+            throw new IllegalStateException("Should not be called");
+        }, 4, HtInspectException::new);
+
+        assertThat(subject.start().join()).isEmpty();
+    }
+
+    private static List<String> ids(List<HtContainer> containers) {
+        return containers.stream().map(HtContainer::id).collect(Collectors.toList());
+    }
+
+    private static HtContainer container(String id) {
+        return new HtJsonContainer(Map.of("Id", id));
+    }
+}
@@ -0,0 +1,193 @@
+package io.huskit.containers.integration;
+
+import io.huskit.containers.api.container.HtContainerState;
+import io.huskit.containers.api.container.JsonHtContainerState;
+import io.huskit.containers.api.events.HtEvent;
+import io.huskit.containers.api.events.HtEventSubscription;
+import io.huskit.containers.api.events.JsonHtEvent;
+import io.huskit.gradle.commontest.UnitTest;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HealthWatchTest implements UnitTest {
+
+    @Test
+    void await__when_healthy_event_received__then_completes_and_closes_subscription() throws Exception {
+        var subscription = new FakeSubscription();
+        var listener = new CompletableFuture<Consumer<HtEvent>>();
+        var subject = new HealthWatch(
+                (id, l) -> {
+                    listener.complete(l);
+                    return subscription;
+                },
+                id -> CompletableFuture.completedFuture(state(true, "starting")),
+                Duration.ofMillis(10),
+                Duration.ofMillis(50)
+        );
+
+        var result = subject.await("c1", Duration.ofSeconds(5));
+        assertThat(result).isNotDone();
+        listener.join().accept(event("health_status: healthy", Map.of()));
+
+        result.get(5, TimeUnit.SECONDS);
+        assertThat(subscription.completion()).isDone();
+    }
+
+    @Test
+    void await__when_already_healthy__then_completes_after_first_inspect() throws Exception {
+        var subject = new HealthWatch(
+                (id, l) -> new FakeSubscription(),
+                id -> CompletableFuture.completedFuture(state(true, "healthy")),
+                Duration.ofMillis(10),
+                Duration.ofMillis(50)
+        );
+
+        subject.await("c1", Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void await__when_subscribe_fails__then_polls_until_healthy() throws Exception {
+        var inspects = new AtomicInteger();
+        var statuses = new ConcurrentLinkedQueue<>(List.of("starting", "starting", "starting", "healthy"));
+        var subject = new HealthWatch(
+                (id, l) -> {
+                    throw new IllegalStateException("Cannot connect to the Docker daemon");
+                },
+                id -> {
+                    inspects.incrementAndGet();
+                    return CompletableFuture.completedFuture(state(true, next(statuses)));
+                },
+                Duration.ofMillis(10),
+                Duration.ofMillis(50)
+        );
+
+        subject.await("c1", Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS);
+
+        assertThat(inspects).hasValue(4);
+    }
+
+    @Test
+    void await__when_event_stream_fails__then_falls_back_to_polling() throws Exception {
+        var subscription = new FakeSubscription();
+        var statuses = new ConcurrentLinkedQueue<>(List.of("starting", "starting", "healthy"));
+        var subject = new HealthWatch(
+                (id, l) -> subscription,
+                id -> CompletableFuture.completedFuture(state(true, next(statuses))),
+                Duration.ofMillis(10),
+                Duration.ofMillis(50)
+        );
+        var result = subject.await("c1", Duration.ofSeconds(5));
+        assertThat(result).isNotDone();
+
+        subscription.completion().completeExceptionally(new IllegalStateException("daemon restarted"));
+
+        result.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void await__when_container_has_no_health_check__then_fails() {
+        var subject = new HealthWatch(
+                (id, l) -> new FakeSubscription(),
+                id -> CompletableFuture.completedFuture(state(true, null)),
+                Duration.ofMillis(10),
+                Duration.ofMillis(50)
+        );
+
+        assertThatThrownBy(() -> subject.await("c1", Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("Container [c1] has no health check");
+    }
+
+    @Test
+    void await__when_container_dies__then_fails_with_exit_code() {
+        var listener = new CompletableFuture<Consumer<HtEvent>>();
+        var subject = new HealthWatch(
+                (id, l) -> {
+                    listener.complete(l);
+                    return new FakeSubscription();
+                },
+                id -> CompletableFuture.completedFuture(state(true, "starting")),
+                Duration.ofMillis(10),
+                Duration.ofMillis(50)
+        );
+        var result = subject.await("c1", Duration.ofSeconds(5));
+
+        listener.join().accept(event("die", Map.of("exitCode", "137")));
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("Container [c1] exited with code [137] before becoming healthy");
+    }
+
+    @Test
+    void await__when_not_healthy_in_time__then_fails_with_last_status() {
+        var subject = new HealthWatch(
+                (id, l) -> new FakeSubscription(),
+                id -> CompletableFuture.completedFuture(state(true, "unhealthy")),
+                Duration.ofMillis(10),
+                Duration.ofMillis(50)
+        );
+
+        assertThatThrownBy(() -> subject.await("c1", Duration.ofMillis(200)).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("did not become healthy within PT0.2S, last health status was [unhealthy]");
+    }
+
+    private static String next(Queue<String> statuses) {
+        return statuses.size() > 1 ? statuses.poll() : statuses.peek();
+    }
+
+    private static HtContainerState state(boolean isRunning, @Nullable String healthStatus) {
+        var source = new HashMap<String, Object>();
+        source.put("Running", isRunning);
+        source.put("ExitCode", 0);
+        if (healthStatus != null) {
+            source.put("Health", Map.of("Status", healthStatus));
+        }
+        return new JsonHtContainerState(source);
+    }
+
+    private static HtEvent event(String action, Map<String, Object> attributes) {
+        return new JsonHtEvent(Map.of(
+                "Type", "container",
+                "Action", action,
+                "Actor", Map.of("ID", "c1", "Attributes", attributes),
+                "time", 1L
+        ));
+    }
+
+    private static final class FakeSubscription implements HtEventSubscription {
+
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        @Override
+        public CompletableFuture<Void> opened() {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> completion() {
+            return completion;
+        }
+
+        @Override
+        public void close() {
+            completion.complete(null);
+        }
+    }
+}
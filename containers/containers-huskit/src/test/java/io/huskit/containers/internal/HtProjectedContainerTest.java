@@ -0,0 +1,76 @@
+package io.huskit.containers.internal;
+
+import io.huskit.common.port.MappedPort;
+import io.huskit.containers.api.container.HtContainer;
+import io.huskit.containers.api.container.HtJsonContainer;
+import io.huskit.containers.api.container.HtProjectedContainer;
+import io.huskit.containers.api.container.list.HtListContainersField;
+import io.huskit.gradle.commontest.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HtProjectedContainerTest implements UnitTest {
+
+    Map<String, Object> source = Map.of(
+            "Id", "someId",
+            "Created", 1700000000,
+            "Config", Map.of("Labels", Map.of("key", "value")),
+            "HostConfig", Map.of("PortBindings", Map.of("27017/tcp", List.of(Map.of("HostIp", "", "HostPort", "32768"))))
+    );
+
+    @Test
+    void projected_fields__should_not_run_full_inspect() {
+        var inspections = new AtomicInteger();
+        var subject = new HtProjectedContainer(
+                source,
+                Set.of(HtListContainersField.CREATED_AT, HtListContainersField.LABELS, HtListContainersField.PORTS),
+                () -> {
+                    inspections.incrementAndGet();
+                    return full();
+                }
+        );
+
+        assertThat(subject.id()).isEqualTo("someId");
+        assertThat(subject.createdAt()).isEqualTo(Instant.ofEpochSecond(1700000000));
+        assertThat(subject.config().labels()).containsExactly(Map.entry("key", "value"));
+        assertThat(subject.ports()).containsExactly(new MappedPort(32768, 27017));
+        assertThat(subject.firstMappedPort()).isEqualTo(32768);
+        assertThat(inspections).hasValue(0);
+    }
+
+    @Test
+    void other_fields__should_run_full_inspect_once() {
+        var inspections = new AtomicInteger();
+        var subject = new HtProjectedContainer(
+                source,
+                Set.of(HtListContainersField.LABELS),
+                () -> {
+                    inspections.incrementAndGet();
+                    return full();
+                }
+        );
+
+        assertThat(subject.name()).isEqualTo("/someName");
+        assertThat(subject.path()).isEqualTo("mongod");
+        assertThat(subject.config().hostname()).isEqualTo("someHost");
+        assertThat(subject.createdAt()).isEqualTo(Instant.ofEpochSecond(1600000000));
+        assertThat(inspections).hasValue(1);
+    }
+
+    private static HtContainer full() {
+        return new HtJsonContainer(Map.of(
+                "Id", "someId",
+                "Name", "/someName",
+                "Path", "mongod",
+                "Created", 1600000000,
+                "Config", Map.of("Hostname", "someHost", "Labels", Map.of("key", "value"))
+        ));
+    }
+}